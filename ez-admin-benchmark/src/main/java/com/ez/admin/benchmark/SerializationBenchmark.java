@@ -0,0 +1,326 @@
+package com.ez.admin.benchmark;
+
+import com.ez.admin.core.config.JacksonConfig;
+import com.ez.admin.core.config.SmileConfig;
+import com.ez.admin.core.entity.R;
+import com.ez.admin.system.api.vo.RolePermissionVO;
+import com.ez.admin.system.api.vo.UserAuthenticationVO;
+import com.ez.admin.system.entity.SysDept;
+import com.ez.admin.system.entity.SysMenu;
+import com.ez.admin.system.entity.SysRole;
+import com.ez.admin.system.entity.SysUser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson 序列化基准测试
+ * <p>
+ * 对比 Blackbird 访问器加速模块在服务间主要载荷上的效果：
+ * <ul>
+ *   <li>{@code R<UserAuthenticationVO>}：登录认证的单对象响应</li>
+ *   <li>{@code List<SysUser>} / {@code List<SysRole>} / {@code List<SysMenu>} / {@code List<SysDept>}：管理端列表查询</li>
+ *   <li>{@code List<RolePermissionVO>}：IAM 全量加载角色权限</li>
+ * </ul>
+ * 参数组合为 {JSON, Smile} × {启用, 不启用 Blackbird}，Mapper 直接由
+ * {@link JacksonConfig#configureJson}（JSON）和 {@link SmileConfig#smileMapper}（Smile）构建，与生产配置一致。
+ * </p>
+ * <p>
+ * 本模块不在默认构建中，通过 {@code benchmark} Profile 启用。运行方式：
+ * <pre>
+ * mvn -Pbenchmark -pl ez-admin-benchmark -am package -DskipTests
+ * java -jar ez-admin-benchmark/target/benchmarks.jar SerializationBenchmark -prof gc
+ * </pre>
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SerializationBenchmark {
+
+    /**
+     * 数据格式：json / smile
+     */
+    @Param({"json", "smile"})
+    public String format;
+
+    /**
+     * 是否注册 Blackbird 模块
+     */
+    @Param({"true", "false"})
+    public boolean blackbird;
+
+    private Payload<R<UserAuthenticationVO>> authentication;
+    private Payload<List<SysUser>> users;
+    private Payload<List<SysRole>> roles;
+    private Payload<List<SysMenu>> menus;
+    private Payload<List<SysDept>> depts;
+    private Payload<List<RolePermissionVO>> rolePermissions;
+
+    @Setup
+    public void setup() {
+        ObjectMapper mapper = mapper(format, blackbird);
+        authentication = new Payload<>(mapper,
+                mapper.getTypeFactory().constructParametricType(R.class, UserAuthenticationVO.class),
+                R.ok(userAuthentication()));
+        users = new Payload<>(mapper, mapper.getTypeFactory().constructCollectionType(List.class, SysUser.class),
+                users(200));
+        roles = new Payload<>(mapper, mapper.getTypeFactory().constructCollectionType(List.class, SysRole.class),
+                roles(50));
+        menus = new Payload<>(mapper, mapper.getTypeFactory().constructCollectionType(List.class, SysMenu.class),
+                menus(300));
+        depts = new Payload<>(mapper, mapper.getTypeFactory().constructCollectionType(List.class, SysDept.class),
+                depts(100));
+        rolePermissions = new Payload<>(mapper,
+                mapper.getTypeFactory().constructCollectionType(List.class, RolePermissionVO.class),
+                rolePermissions(50, 40));
+    }
+
+    @Benchmark
+    public byte[] serializeAuthentication() {
+        return authentication.serialize();
+    }
+
+    @Benchmark
+    public Object deserializeAuthentication() {
+        return authentication.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeUsers() {
+        return users.serialize();
+    }
+
+    @Benchmark
+    public Object deserializeUsers() {
+        return users.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeRoles() {
+        return roles.serialize();
+    }
+
+    @Benchmark
+    public Object deserializeRoles() {
+        return roles.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeMenus() {
+        return menus.serialize();
+    }
+
+    @Benchmark
+    public Object deserializeMenus() {
+        return menus.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeDepts() {
+        return depts.serialize();
+    }
+
+    @Benchmark
+    public Object deserializeDepts() {
+        return depts.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeRolePermissions() {
+        return rolePermissions.serialize();
+    }
+
+    @Benchmark
+    public Object deserializeRolePermissions() {
+        return rolePermissions.deserialize();
+    }
+
+    /**
+     * 按生产配置构建 Mapper，只有 Blackbird 模块按参数决定是否注册
+     */
+    private static ObjectMapper mapper(String format, boolean blackbird) {
+        if ("smile".equals(format)) {
+            return SmileConfig.smileMapper(blackbird);
+        }
+        JsonMapper.Builder builder = JsonMapper.builder();
+        JacksonConfig.configureJson(builder, blackbird);
+        return builder.build();
+    }
+
+    private static UserAuthenticationVO userAuthentication() {
+        return UserAuthenticationVO.builder()
+                .userId(1001L)
+                .username("admin")
+                .nickname("管理员")
+                .status(1)
+                .password("$2a$10$7JB720yubVSZvUI0rEqK/.VqGOZTH.ulu33dHOiBE8ByOhJIrdAu2")
+                .build();
+    }
+
+    private static List<SysUser> users(int count) {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 22, 10, 30, 0);
+        List<SysUser> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            SysUser user = new SysUser();
+            user.setUserId(100000L + i);
+            user.setDeptId(200L + i % 20);
+            user.setUsername("user" + i);
+            user.setPassword("$2a$10$7JB720yubVSZvUI0rEqK/.VqGOZTH.ulu33dHOiBE8ByOhJIrdAu2");
+            user.setNickname("用户" + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setPhoneNumber("1380000" + String.format("%04d", i));
+            user.setGender(i % 2);
+            user.setAvatar("https://cdn.example.com/avatar/" + i + ".png");
+            user.setStatus(1);
+            user.setLoginIp("10.0.0." + (i % 255));
+            user.setLoginDate(now.minusMinutes(i));
+            user.setCreateBy("admin");
+            user.setCreateTime(now.minusDays(i));
+            user.setUpdateBy("admin");
+            user.setUpdateTime(now.minusHours(i));
+            user.setDescription("基准测试用户");
+            user.setIsDeleted(0);
+            list.add(user);
+        }
+        return list;
+    }
+
+    private static List<SysRole> roles(int count) {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 22, 10, 30, 0);
+        List<SysRole> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            SysRole role = new SysRole();
+            role.setRoleId(300L + i);
+            role.setRoleName("角色" + i);
+            role.setRoleLabel("role_" + i);
+            role.setRoleSort(i);
+            role.setDataScope(1 + i % 5);
+            role.setStatus(1);
+            role.setCreateBy("admin");
+            role.setCreateTime(now.minusDays(i));
+            role.setUpdateBy("admin");
+            role.setUpdateTime(now.minusHours(i));
+            role.setDescription("基准测试角色");
+            role.setIsDeleted(0);
+            list.add(role);
+        }
+        return list;
+    }
+
+    private static List<SysMenu> menus(int count) {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 22, 10, 30, 0);
+        List<SysMenu> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            SysMenu menu = new SysMenu();
+            menu.setMenuId(400L + i);
+            menu.setMenuName("菜单" + i);
+            menu.setMenuIcon("icon-" + i);
+            menu.setMenuLabel("menu_" + i);
+            menu.setParentId(i < 10 ? 0L : 400L + i % 10);
+            menu.setMenuSort(i);
+            menu.setMenuType(1 + i % 3);
+            menu.setMenuPerm("system:module" + i % 10 + ":action" + i);
+            menu.setRoutePath("/system/module" + i);
+            menu.setRouteName("Module" + i);
+            menu.setComponentPath("system/module" + i + "/index");
+            menu.setStatus(1);
+            menu.setCreateBy("admin");
+            menu.setCreateTime(now.minusDays(i));
+            menu.setUpdateBy("admin");
+            menu.setUpdateTime(now.minusHours(i));
+            menu.setDescription("基准测试菜单");
+            menu.setIsDeleted(0);
+            list.add(menu);
+        }
+        return list;
+    }
+
+    private static List<SysDept> depts(int count) {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 22, 10, 30, 0);
+        List<SysDept> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            SysDept dept = new SysDept();
+            dept.setDeptId(200L + i);
+            dept.setDeptName("部门" + i);
+            dept.setDeptSort(i);
+            dept.setParentId(i < 10 ? 0L : 200L + i % 10);
+            dept.setAncestors(i < 10 ? "0" : "0," + (200 + i % 10));
+            dept.setStatus(1);
+            dept.setDescription("基准测试部门");
+            dept.setCreateBy("admin");
+            dept.setUpdateBy("admin");
+            dept.setCreateTime(now.minusDays(i));
+            dept.setUpdateTime(now.minusHours(i));
+            dept.setIsDeleted(0);
+            list.add(dept);
+        }
+        return list;
+    }
+
+    private static List<RolePermissionVO> rolePermissions(int roleCount, int permissionsPerRole) {
+        List<RolePermissionVO> list = new ArrayList<>(roleCount);
+        for (int i = 0; i < roleCount; i++) {
+            List<String> permissions = new ArrayList<>(permissionsPerRole);
+            for (int j = 0; j < permissionsPerRole; j++) {
+                permissions.add("system:module" + j % 10 + ":action" + j);
+            }
+            list.add(RolePermissionVO.builder()
+                    .roleId(300L + i)
+                    .roleLabel("role_" + i)
+                    .permissions(permissions)
+                    .build());
+        }
+        return list;
+    }
+
+    /**
+     * 单个载荷：预先构建的 Reader / Writer 与序列化结果，基准方法只测编解码本身
+     */
+    private static final class Payload<T> {
+
+        private final ObjectWriter writer;
+        private final ObjectReader reader;
+        private final T value;
+        private final byte[] bytes;
+
+        Payload(ObjectMapper mapper, JavaType type, T value) {
+            this.writer = mapper.writerFor(type);
+            this.reader = mapper.readerFor(type);
+            this.value = value;
+            this.bytes = writer.writeValueAsBytes(value);
+        }
+
+        byte[] serialize() {
+            return writer.writeValueAsBytes(value);
+        }
+
+        Object deserialize() {
+            return reader.readValue(bytes);
+        }
+    }
+}
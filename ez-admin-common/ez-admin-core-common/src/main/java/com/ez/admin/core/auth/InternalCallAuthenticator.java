@@ -0,0 +1,55 @@
+package com.ez.admin.core.auth;
+
+import com.ez.admin.core.constant.HttpHeaderConstants;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * 内部调用认证器
+ * <p>
+ * {@value HttpHeaderConstants#INTERNAL_CALL} 只是调用方自称的标记，任何能访问服务端口的客户端都可以添加。
+ * 需要信任内部调用传递的请求头（截止时间、操作用户）时，以本类校验
+ * {@value HttpHeaderConstants#INTERNAL_TOKEN} 与本服务配置的共享密钥一致为准。
+ * </p>
+ * <p>
+ * 未配置密钥时所有请求都不被认可（失败即拒绝），此时内部调用按外部请求处理。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Slf4j
+public class InternalCallAuthenticator {
+
+    private final byte[] secret;
+
+    /**
+     * @param secret 服务间共享密钥，为空时不认可任何请求
+     */
+    public InternalCallAuthenticator(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("未配置内部调用密钥 ez.internal-call.secret，内部调用传递的截止时间、操作用户等请求头将被忽略");
+            this.secret = null;
+        } else {
+            this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * 判断请求是否为经过认证的内部调用
+     *
+     * @param request HTTP 请求
+     * @return 携带内部调用标记且凭证与共享密钥一致时返回 true
+     */
+    public boolean isAuthenticated(HttpServletRequest request) {
+        if (secret == null || !Boolean.parseBoolean(request.getHeader(HttpHeaderConstants.INTERNAL_CALL))) {
+            return false;
+        }
+        String token = request.getHeader(HttpHeaderConstants.INTERNAL_TOKEN);
+        // 定长时间比较，避免按响应时间逐字节猜测密钥
+        return token != null && MessageDigest.isEqual(secret, token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,36 @@
+package com.ez.admin.core.config;
+
+import com.ez.admin.core.response.ConstantRHttpMessageConverter;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * 常量返回结果配置类
+ * <p>
+ * 注册 {@link ConstantRHttpMessageConverter}。自定义转换器排在默认转换器之前，
+ * 返回 {@link com.ez.admin.core.entity.ConstantR} 且接受 JSON 的请求直接写出预编码内容。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(WebMvcConfigurer.class)
+public class ConstantResponseConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    public ConstantResponseConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.addCustomConverter(new ConstantRHttpMessageConverter(objectMapper));
+    }
+}
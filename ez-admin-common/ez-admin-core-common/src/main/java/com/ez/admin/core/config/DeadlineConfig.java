@@ -0,0 +1,48 @@
+package com.ez.admin.core.config;
+
+import com.ez.admin.core.auth.InternalCallAuthenticator;
+import com.ez.admin.core.deadline.DeadlineFilter;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * 请求截止时间配置类
+ * <p>
+ * 注册 {@link DeadlineFilter}，使入站请求携带的截止时间对本服务的 Feign 调用和数据库查询生效。
+ * 过滤器排在最前，尽早拒绝已经超时的请求。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@AutoConfiguration(after = InternalCallConfig.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(value = "ez.deadline.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(DeadlineProperties.class)
+public class DeadlineConfig {
+
+    /**
+     * 截止时间过滤器注册
+     *
+     * @param properties                截止时间配置
+     * @param internalCallAuthenticator 内部调用认证器
+     * @param objectMapper              JSON 序列化
+     * @return 过滤器注册
+     */
+    @Bean
+    public FilterRegistrationBean<DeadlineFilter> deadlineFilter(DeadlineProperties properties,
+                                                                 InternalCallAuthenticator internalCallAuthenticator,
+                                                                 ObjectMapper objectMapper) {
+        DeadlineFilter filter = new DeadlineFilter(properties.getDefaultTimeout(), properties.getPaths(),
+                properties.getMaxPropagatedTimeout(), internalCallAuthenticator, objectMapper);
+        FilterRegistrationBean<DeadlineFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
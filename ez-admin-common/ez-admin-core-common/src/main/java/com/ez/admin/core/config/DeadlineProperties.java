@@ -0,0 +1,54 @@
+package com.ez.admin.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 请求截止时间配置属性
+ * <p>
+ * 配置前缀：{@code ez.deadline}。
+ * 处理时间本身较长的接口（如全量刷新缓存）可按路径单独放宽，避免被默认超时截断。
+ * </p>
+ * <p>
+ * 配置示例：
+ * <pre>
+ * ez:
+ *   deadline:
+ *     default-timeout: 10s
+ *     paths:
+ *       "[/api/v1/iam/cache/role-permissions/refresh]": 20s
+ * </pre>
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Data
+@ConfigurationProperties(prefix = "ez.deadline")
+public class DeadlineProperties {
+
+    /**
+     * 是否启用截止时间过滤器
+     */
+    private boolean enabled = true;
+
+    /**
+     * 未携带截止时间请求头的入站请求使用的默认处理时限；不配置时这类请求没有截止时间
+     */
+    private Duration defaultTimeout;
+
+    /**
+     * 按路径覆盖默认处理时限，Key 为 Ant 风格路径模式（匹配请求 URI），按配置顺序取第一个匹配项；
+     * 只作用于未携带截止时间请求头的请求
+     */
+    private Map<String, Duration> paths = new LinkedHashMap<>();
+
+    /**
+     * 内部调用传递的剩余时间上限；请求头取值为负数或超过该值时视为未携带，改用路径超时或默认超时
+     */
+    private Duration maxPropagatedTimeout = Duration.ofMinutes(1);
+}
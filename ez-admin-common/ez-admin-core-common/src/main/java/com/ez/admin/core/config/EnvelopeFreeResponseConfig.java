@@ -0,0 +1,36 @@
+package com.ez.admin.core.config;
+
+import com.ez.admin.core.response.EnvelopeFreeResponseBodyAdvice;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 内部调用无信封响应配置类
+ * <p>
+ * 注册 {@link EnvelopeFreeResponseBodyAdvice}。{@code ez.response.envelope-free.enabled=false} 时
+ * 服务端忽略调用方的无信封请求，始终返回 R。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(ResponseBodyAdvice.class)
+@ConditionalOnProperty(value = "ez.response.envelope-free.enabled", havingValue = "true", matchIfMissing = true)
+public class EnvelopeFreeResponseConfig {
+
+    /**
+     * 无信封响应处理
+     *
+     * @return ResponseBodyAdvice
+     */
+    @Bean
+    public EnvelopeFreeResponseBodyAdvice envelopeFreeResponseBodyAdvice() {
+        return new EnvelopeFreeResponseBodyAdvice();
+    }
+}
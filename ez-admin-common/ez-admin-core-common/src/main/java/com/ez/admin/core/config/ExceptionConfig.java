@@ -0,0 +1,112 @@
+package com.ez.admin.core.config;
+
+import com.ez.admin.core.enums.ErrorCode;
+import com.ez.admin.core.enums.ErrorCodeRegistry;
+import com.ez.admin.core.exception.ExceptionLogLimiter;
+import com.ez.admin.core.exception.GlobalExceptionHandler;
+import com.ez.admin.core.exception.StackTraceSampler;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 异常处理配置类
+ * <p>
+ * 启动时完成两件与业务异常相关的静态初始化（异常和错误码在容器之外使用，只能读取静态配置）：
+ * <ul>
+ *   <li>把 {@code ez.exception.stack-trace-sample-rate} 写入 {@link StackTraceSampler}</li>
+ *   <li>扫描 {@code ez.exception.error-code-packages} 下实现了 {@link ErrorCode} 的枚举，
+ *       注册到 {@link ErrorCodeRegistry}；错误码冲突时启动失败</li>
+ * </ul>
+ * Servlet Web 应用中同时注册 {@link GlobalExceptionHandler}，业务异常、参数校验异常和未捕获异常
+ * 经此转换为 R 并按（错误码, URI 模板）限流记录日志。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Slf4j
+@AutoConfiguration
+@EnableConfigurationProperties(ExceptionProperties.class)
+public class ExceptionConfig {
+
+    public ExceptionConfig(ExceptionProperties properties) {
+        StackTraceSampler.setSampleRate(properties.getStackTraceSampleRate());
+        Set<Class<? extends ErrorCode>> errorCodeTypes = scanErrorCodeTypes(properties);
+        ErrorCodeRegistry.register(errorCodeTypes);
+        log.info("错误码注册完成: 枚举类型={}, 错误码数量={}", errorCodeTypes.size(), ErrorCodeRegistry.size());
+    }
+
+    /**
+     * 全局异常处理器注册
+     * <p>
+     * 处理器依赖 Servlet API 和 Spring MVC，单独放在按类存在判断的内部配置中，非 Web 应用引入本模块时不加载。
+     * </p>
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(DispatcherServlet.class)
+    static class GlobalExceptionHandlerConfig {
+
+        /**
+         * 异常日志限流器
+         * <p>
+         * 全局异常处理器和其他模块的异常处理器（如 Feign 远程业务异常）共用，按（错误码, URI 模板）统一限流和计数。
+         * </p>
+         *
+         * @param properties    异常处理配置（日志限流窗口、放行条数）
+         * @param meterRegistry 指标注册表（可选）
+         * @return 异常日志限流器
+         */
+        @Bean
+        public ExceptionLogLimiter exceptionLogLimiter(ExceptionProperties properties,
+                                                       ObjectProvider<MeterRegistry> meterRegistry) {
+            ExceptionProperties.Log logConfig = properties.getLog();
+            return new ExceptionLogLimiter(logConfig.getWindow(), logConfig.getPermitsPerWindow(),
+                    logConfig.getMaxKeys(), meterRegistry.getIfAvailable());
+        }
+
+        /**
+         * 全局异常处理器
+         *
+         * @param exceptionLogLimiter 异常日志限流器
+         * @return 全局异常处理器
+         */
+        @Bean
+        public GlobalExceptionHandler globalExceptionHandler(ExceptionLogLimiter exceptionLogLimiter) {
+            return new GlobalExceptionHandler(exceptionLogLimiter);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Class<? extends ErrorCode>> scanErrorCodeTypes(ExceptionProperties properties) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AssignableTypeFilter(ErrorCode.class));
+        ClassLoader classLoader = ExceptionConfig.class.getClassLoader();
+
+        Set<Class<? extends ErrorCode>> types = new LinkedHashSet<>();
+        for (String basePackage : properties.getErrorCodePackages()) {
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                Class<?> type = ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader);
+                if (type.isEnum()) {
+                    types.add((Class<? extends ErrorCode>) type);
+                }
+            }
+        }
+        return types;
+    }
+}
@@ -0,0 +1,70 @@
+package com.ez.admin.core.config;
+
+import com.ez.admin.core.exception.StackTraceSampler;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 异常处理配置属性
+ * <p>
+ * 配置前缀：{@code ez.exception}。
+ * </p>
+ * <p>
+ * 配置示例：
+ * <pre>
+ * ez:
+ *   exception:
+ *     stack-trace-sample-rate: 0.01
+ *     error-code-packages:
+ *       - com.ez.admin
+ *     log:
+ *       window: 1m
+ *       permits-per-window: 5
+ * </pre>
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Data
+@ConfigurationProperties(prefix = "ez.exception")
+public class ExceptionProperties {
+
+    /**
+     * 用户端业务异常填充堆栈的采样率（0 ~ 1）；需告警级别的异常始终填充，不受此配置影响
+     */
+    private double stackTraceSampleRate = StackTraceSampler.DEFAULT_SAMPLE_RATE;
+
+    /**
+     * 启动时扫描 ErrorCode 枚举的包，扫描结果注册到 ErrorCodeRegistry 并检查错误码冲突
+     */
+    private List<String> errorCodePackages = new ArrayList<>(List.of("com.ez.admin"));
+
+    /**
+     * 异常日志限流配置
+     */
+    private Log log = new Log();
+
+    @Data
+    public static class Log {
+
+        /**
+         * 限流窗口长度
+         */
+        private Duration window = Duration.ofMinutes(1);
+
+        /**
+         * 每个（错误码, URI 模板）在一个窗口内最多输出的日志条数，超出部分只计数
+         */
+        private int permitsPerWindow = 5;
+
+        /**
+         * 最多单独统计的（错误码, URI 模板）组合数，超出后归入同一个溢出分组，防止指标标签无限增长
+         */
+        private int maxKeys = 1000;
+    }
+}
@@ -0,0 +1,34 @@
+package com.ez.admin.core.config;
+
+import com.ez.admin.core.auth.InternalCallAuthenticator;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 内部调用认证配置类
+ * <p>
+ * 注册 {@link InternalCallAuthenticator}，供截止时间过滤器、数据范围过滤器等
+ * 在信任内部调用请求头之前校验调用方凭证。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(InternalCallProperties.class)
+public class InternalCallConfig {
+
+    /**
+     * 内部调用认证器
+     *
+     * @param properties 内部调用认证配置
+     * @return 内部调用认证器
+     */
+    @Bean
+    public InternalCallAuthenticator internalCallAuthenticator(InternalCallProperties properties) {
+        return new InternalCallAuthenticator(properties.getSecret());
+    }
+}
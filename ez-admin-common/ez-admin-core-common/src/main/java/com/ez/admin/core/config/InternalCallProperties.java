@@ -0,0 +1,33 @@
+package com.ez.admin.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 内部调用认证配置属性
+ * <p>
+ * 配置前缀：{@code ez.internal-call}。调用方与被调用方配置相同的共享密钥，
+ * Feign 客户端在请求头 {@code X-Ez-Internal-Token} 中携带，服务端校验通过后才信任
+ * 内部调用传递的截止时间、操作用户等请求头。
+ * </p>
+ * <p>
+ * 配置示例：
+ * <pre>
+ * ez:
+ *   internal-call:
+ *     secret: ${EZ_INTERNAL_CALL_SECRET}
+ * </pre>
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Data
+@ConfigurationProperties(prefix = "ez.internal-call")
+public class InternalCallProperties {
+
+    /**
+     * 服务间共享密钥；不配置时不发送也不认可任何内部调用凭证，所有请求按外部请求处理
+     */
+    private String secret;
+}
@@ -1,15 +1,18 @@
 package com.ez.admin.core.config;
 
 
+import com.ez.admin.core.jackson.CachedLocalDateTimeSerializer;
+import com.ez.admin.core.jackson.LongAsStringSerializer;
 import org.springframework.boot.jackson.autoconfigure.JsonMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import tools.jackson.databind.DeserializationFeature;
 import tools.jackson.databind.cfg.DateTimeFeature;
+import tools.jackson.databind.cfg.MapperBuilder;
 import tools.jackson.databind.ext.javatime.deser.LocalDateTimeDeserializer;
-import tools.jackson.databind.ext.javatime.ser.LocalDateTimeSerializer;
+import tools.jackson.databind.json.JsonMapper;
 import tools.jackson.databind.module.SimpleModule;
-import tools.jackson.databind.ser.std.ToStringSerializer;
+import tools.jackson.module.blackbird.BlackbirdModule;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -30,6 +33,7 @@ import java.time.format.DateTimeFormatter;
  *   <li>解决前端 Long 类型精度丢失问题（JavaScript 最大安全整数是 2^53-1）</li>
  *   <li>统一全局时间格式（yyyy-MM-dd HH:mm:ss）</li>
  *   <li>忽略未知属性，提高容错性</li>
+ *   <li>注册 Blackbird 模块，属性读写走生成的访问器而非反射</li>
  * </ol>
  * </p>
  *
@@ -54,22 +58,81 @@ public class JacksonConfig {
      */
     @Bean
     public JsonMapperBuilderCustomizer jsonMapperBuilderCustomizer() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DATETIME_FORMAT);
-        return builder -> {
-            // ========== 时间模块配置 ==========
-            // 注册 Java Time 模块，支持 LocalDateTime、LocalDate 等类型
-            // 1. 直接通过 SimpleModule 覆盖 LocalDateTime 的序列化逻辑
-            builder.addModule(new SimpleModule()
-                    .addSerializer(LocalDateTime.class, new LocalDateTimeSerializer(formatter))
-                    .addDeserializer(LocalDateTime.class, new LocalDateTimeDeserializer(formatter))
-                    .addSerializer(Long.class, ToStringSerializer.instance)
-                    .addSerializer(Long.TYPE, ToStringSerializer.instance));
+        return builder -> configureJson(builder, true);
+    }
+
+    /**
+     * 按全局 JSON 配置设置 Mapper 构建器
+     * <p>
+     * 除 Spring 管理的 JsonMapper 外，需要与之保持一致的场景（如基准测试）也通过此方法构建，
+     * 避免复制一份配置后逐渐走样。
+     * </p>
+     *
+     * @param builder        JsonMapper 构建器
+     * @param accessorModule 是否注册 {@link #accessorModule()}
+     */
+    public static void configureJson(JsonMapper.Builder builder, boolean accessorModule) {
+        // Long 序列化为字符串，避免前端精度丢失（数字直接写入生成器，不分配中间 String）
+        builder.addModule(new SimpleModule()
+                .addSerializer(Long.class, LongAsStringSerializer.INSTANCE)
+                .addSerializer(Long.TYPE, LongAsStringSerializer.INSTANCE));
+        configureShared(builder, accessorModule);
+    }
+
+    /**
+     * 设置各数据格式（JSON、Smile）共用的配置
+     * <p>
+     * 包括时间格式模块、访问器加速模块（可选）、禁止日期序列化为时间戳以及忽略未知属性。
+     * </p>
+     *
+     * @param builder        任意数据格式的 Mapper 构建器
+     * @param accessorModule 是否注册 {@link #accessorModule()}
+     */
+    public static void configureShared(MapperBuilder<?, ?> builder, boolean accessorModule) {
+        // ========== 模块配置 ==========
+        // 1. 直接通过 SimpleModule 覆盖 LocalDateTime 的序列化逻辑
+        builder.addModule(dateTimeModule());
+        // 2. 属性访问器加速（R、Sys* 实体、VO 等 Lombok 生成的 getter/setter）
+        if (accessorModule) {
+            builder.addModule(accessorModule());
+        }
 
-            // ========== 全局序列化配置 ==========
-            // 禁止将日期序列化为时间戳（使用配置的格式化字符串）
-            builder.disable(DateTimeFeature.WRITE_DATES_AS_TIMESTAMPS);
-            // 遇到未知属性时不报错（提高容错性，避免字段新增导致反序列化失败）
-            builder.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        };
+        // ========== 全局序列化配置 ==========
+        // 禁止将日期序列化为时间戳（使用配置的格式化字符串）
+        builder.disable(DateTimeFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // 遇到未知属性时不报错（提高容错性，避免字段新增导致反序列化失败）
+        builder.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    /**
+     * 属性访问器加速模块
+     * <p>
+     * Blackbird 在首次构建序列化器 / 反序列化器时，用 {@code LambdaMetafactory} 为每个 getter、setter
+     * 和默认构造器生成直接调用的函数对象，之后的读写不再经过 {@code Method.invoke}，可被 JIT 内联。
+     * 无法生成访问器的属性（如非 public 类的成员）自动回退为反射，不影响正确性。
+     * JSON 以外的数据格式（如 Smile）也应注册此模块。
+     * </p>
+     *
+     * @return 访问器加速模块
+     */
+    public static BlackbirdModule accessorModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * 全局时间格式模块
+     * <p>
+     * LocalDateTime 统一按 {@link #DATETIME_FORMAT} 序列化和反序列化。
+     * 序列化使用按秒缓存渲染结果的 {@link CachedLocalDateTimeSerializer}，不再每次经过 DateTimeFormatter。
+     * JSON 以外的数据格式（如 Smile）也需注册此模块，保证服务间时间格式一致。
+     * </p>
+     *
+     * @return 时间格式模块
+     */
+    public static SimpleModule dateTimeModule() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DATETIME_FORMAT);
+        return new SimpleModule()
+                .addSerializer(LocalDateTime.class, new CachedLocalDateTimeSerializer(formatter))
+                .addDeserializer(LocalDateTime.class, new LocalDateTimeDeserializer(formatter));
     }
 }
@@ -0,0 +1,90 @@
+package com.ez.admin.core.config;
+
+import com.ez.admin.core.response.InternalSmileNegotiationStrategy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.util.List;
+
+/**
+ * Smile 二进制格式配置类
+ * <p>
+ * 为服务间内部调用提供 Smile（二进制 JSON）编解码能力，减小报文体积和解析耗时：
+ * <ul>
+ *   <li>服务端：注册 Smile 消息转换器，内部调用（携带
+ *       {@value com.ez.admin.core.constant.HttpHeaderConstants#INTERNAL_CALL}）的请求头 Accept 为
+ *       {@value com.ez.admin.core.constant.HttpHeaderConstants#APPLICATION_SMILE} 时返回 Smile</li>
+ *   <li>客户端：Feign 对内部调用声明优先接受 Smile，并由 FeignResultDecoder 按 Content-Type 选择解码器</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Smile 转换器排在 JSON 之后，且内容协商由 {@link InternalSmileNegotiationStrategy} 完成：
+ * 外部调用方即使在 Accept 中声明 Smile 也只会得到 JSON。
+ * 时间格式与 JSON 保持一致；Long 保留数值形式（二进制格式无前端精度问题，且更紧凑），
+ * 解码端的 Long 反序列化同时兼容数值和字符串。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(SmileMapper.class)
+public class SmileConfig {
+
+    /**
+     * 服务间调用专用的 SmileMapper
+     *
+     * @return SmileMapper 实例
+     */
+    @Bean
+    public SmileMapper internalSmileMapper() {
+        return smileMapper(true);
+    }
+
+    /**
+     * 按服务间调用的配置构建 SmileMapper
+     * <p>
+     * 与 JSON 共用 {@link JacksonConfig#configureShared} 的时间格式和容错配置，Long 保留数值形式。
+     * </p>
+     *
+     * @param accessorModule 是否注册 {@link JacksonConfig#accessorModule()}
+     * @return SmileMapper 实例
+     */
+    public static SmileMapper smileMapper(boolean accessorModule) {
+        SmileMapper.Builder builder = SmileMapper.builder();
+        JacksonConfig.configureShared(builder, accessorModule);
+        return builder.build();
+    }
+
+    /**
+     * 服务端 Smile 消息转换器注册
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(WebMvcConfigurer.class)
+    static class SmileWebMvcConfiguration implements WebMvcConfigurer {
+
+        private final SmileMapper smileMapper;
+
+        SmileWebMvcConfiguration(SmileMapper internalSmileMapper) {
+            this.smileMapper = internalSmileMapper;
+        }
+
+        @Override
+        public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+            builder.withSmileConverter(new JacksonSmileHttpMessageConverter(smileMapper));
+        }
+
+        @Override
+        public void configureContentNegotiation(ContentNegotiationConfigurer configurer) {
+            configurer.strategies(List.of(new InternalSmileNegotiationStrategy()));
+        }
+    }
+}
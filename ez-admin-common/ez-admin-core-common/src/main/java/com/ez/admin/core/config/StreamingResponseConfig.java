@@ -0,0 +1,40 @@
+package com.ez.admin.core.config;
+
+import com.ez.admin.core.response.StreamingRHttpMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * 流式列表返回结果配置类
+ * <p>
+ * 注册 {@link StreamingRHttpMessageConverter}，返回 {@link com.ez.admin.core.entity.StreamingR}
+ * 的接口按请求的 Accept 以 JSON 或 Smile 流式输出。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@AutoConfiguration(after = SmileConfig.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(WebMvcConfigurer.class)
+public class StreamingResponseConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<SmileMapper> smileMapper;
+
+    public StreamingResponseConfig(ObjectMapper objectMapper, ObjectProvider<SmileMapper> smileMapper) {
+        this.objectMapper = objectMapper;
+        this.smileMapper = smileMapper;
+    }
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.addCustomConverter(new StreamingRHttpMessageConverter(objectMapper, smileMapper.getIfAvailable()));
+    }
+}
@@ -0,0 +1,37 @@
+package com.ez.admin.core.config;
+
+import com.ez.admin.core.trace.TraceIdFilter;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+/**
+ * 链路追踪配置类
+ * <p>
+ * 注册 {@link TraceIdFilter}。过滤器排在截止时间过滤器之前，
+ * 被直接拒绝的超时请求、过滤器链中的日志同样带有追踪 ID。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(value = "ez.trace.enabled", havingValue = "true", matchIfMissing = true)
+public class TraceConfig {
+
+    /**
+     * 追踪 ID 过滤器注册
+     *
+     * @return 过滤器注册
+     */
+    @Bean
+    public FilterRegistrationBean<TraceIdFilter> traceIdFilter() {
+        FilterRegistrationBean<TraceIdFilter> registration = new FilterRegistrationBean<>(new TraceIdFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
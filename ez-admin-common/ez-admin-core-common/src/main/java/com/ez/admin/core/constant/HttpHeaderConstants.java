@@ -0,0 +1,107 @@
+package com.ez.admin.core.constant;
+
+/**
+ * 服务间调用 HTTP 头常量
+ * <p>
+ * 统一定义微服务之间约定的自定义请求头/响应头，避免各模块硬编码字符串。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public final class HttpHeaderConstants {
+
+    /**
+     * 内部调用标记
+     * <p>
+     * 由 Feign 客户端在服务间调用时添加，值为 {@code true}。
+     * 服务端可据此为内部调用启用更紧凑的传输方式，外部调用方不受影响。
+     * 该标记任何客户端都能添加，不能作为信任依据；需要信任内部调用传递的请求头时，
+     * 还要校验 {@link #INTERNAL_TOKEN}。
+     * </p>
+     */
+    public static final String INTERNAL_CALL = "X-Ez-Internal";
+
+    /**
+     * 内部调用凭证
+     * <p>
+     * 由 Feign 客户端按 {@code ez.internal-call.secret} 添加，服务端与本服务配置的共享密钥比对，
+     * 一致时才信任 {@link #REQUEST_TIMEOUT}、{@link #USER_ID} 等由上游服务传递的请求头。
+     * </p>
+     */
+    public static final String INTERNAL_TOKEN = "X-Ez-Internal-Token";
+
+    /**
+     * Smile 二进制 JSON 媒体类型
+     */
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+
+    /**
+     * 降级响应标记
+     * <p>
+     * 由 Feign 降级实现构造的合成响应携带，值为 {@code true}，
+     * 调用方可据此区分真实的远程响应和熔断兜底响应。
+     * </p>
+     */
+    public static final String FALLBACK = "X-Ez-Fallback";
+
+    /**
+     * 请求剩余处理时间（毫秒）
+     * <p>
+     * 由 Feign 客户端按当前请求的截止时间计算后添加，服务端收到后据此还原本地截止时间。
+     * 传递相对时长而非绝对时间戳，不受服务器之间时钟偏差影响。
+     * 只在内部调用凭证校验通过、且取值不超过 {@code ez.deadline.max-propagated-timeout} 时生效。
+     * </p>
+     */
+    public static final String REQUEST_TIMEOUT = "X-Ez-Request-Timeout";
+
+    /**
+     * 链路追踪 ID
+     * <p>
+     * 入站请求携带时沿用，否则由服务端生成；Feign 客户端向下游传递当前请求的追踪 ID，
+     * 服务端同时在响应头中返回，便于按追踪 ID 关联各服务日志。
+     * </p>
+     */
+    public static final String TRACE_ID = "X-Ez-Trace-Id";
+
+    /**
+     * 响应信封模式
+     * <p>
+     * 内部调用在请求头中携带 {@value #ENVELOPE_NONE}，表示希望直接接收 data；
+     * 服务端确实按无信封模式输出时，在响应头中回写同样的值，调用方据此决定是否解析 R 信封。
+     * 未升级的服务端忽略该请求头、仍返回 R，调用方照常解包。
+     * </p>
+     */
+    public static final String ENVELOPE = "X-Ez-Envelope";
+
+    /**
+     * 无信封模式取值
+     */
+    public static final String ENVELOPE_NONE = "none";
+
+    /**
+     * 无信封模式下的业务错误码
+     * <p>
+     * 业务失败时响应体为空，错误码与提示信息通过该响应头和 {@link #ERROR_MESSAGE} 传递。
+     * </p>
+     */
+    public static final String ERROR_CODE = "X-Ez-Error-Code";
+
+    /**
+     * 无信封模式下的业务错误提示信息（UTF-8 URL 编码，响应头只能承载 ISO-8859-1 字符）
+     */
+    public static final String ERROR_MESSAGE = "X-Ez-Error-Message";
+
+    /**
+     * 当前操作用户ID
+     * <p>
+     * 由代表用户发起调用的上游服务添加，服务端据此按用户角色的数据范围过滤查询和修改。
+     * 只在 {@link #INTERNAL_TOKEN} 与服务端共享密钥一致的内部调用中生效；
+     * 不持有密钥的调用方即使同时携带 {@link #INTERNAL_CALL} 也无法借此冒充用户。
+     * </p>
+     */
+    public static final String USER_ID = "X-Ez-User-Id";
+
+    private HttpHeaderConstants() {
+    }
+}
@@ -0,0 +1,74 @@
+package com.ez.admin.core.deadline;
+
+import java.time.Duration;
+
+/**
+ * 请求截止时间
+ * <p>
+ * 基于单调时钟（{@link System#nanoTime()}），只在本进程内有意义；
+ * 跨服务传递时换算为剩余时长（见 {@link com.ez.admin.core.constant.HttpHeaderConstants#REQUEST_TIMEOUT}）。
+ * </p>
+ *
+ * @param deadlineNanos 截止时刻（nanoTime）
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public record Deadline(long deadlineNanos) {
+
+    /**
+     * 从现在起经过指定时长后截止
+     *
+     * @param timeout 时长
+     * @return 截止时间
+     */
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * 从现在起经过指定毫秒数后截止
+     *
+     * @param timeoutMillis 毫秒数
+     * @return 截止时间
+     */
+    public static Deadline afterMillis(long timeoutMillis) {
+        return new Deadline(System.nanoTime() + Duration.ofMillis(timeoutMillis).toNanos());
+    }
+
+    /**
+     * 剩余时长，已截止时为 0 或负数
+     *
+     * @return 剩余时长
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(deadlineNanos - System.nanoTime());
+    }
+
+    /**
+     * 剩余毫秒数，已截止时为 0 或负数
+     *
+     * @return 剩余毫秒数
+     */
+    public long remainingMillis() {
+        return remaining().toMillis();
+    }
+
+    /**
+     * 是否已截止
+     *
+     * @return true=已截止
+     */
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * 取两个截止时间中较早的一个
+     *
+     * @param other 另一个截止时间，可为 null
+     * @return 较早的截止时间
+     */
+    public Deadline min(Deadline other) {
+        return other == null || deadlineNanos - other.deadlineNanos <= 0 ? this : other;
+    }
+}
@@ -0,0 +1,88 @@
+package com.ez.admin.core.deadline;
+
+import com.ez.admin.core.exception.DeadlineExceededException;
+
+import java.util.function.Supplier;
+
+/**
+ * 当前线程的请求截止时间上下文
+ * <p>
+ * 入站请求由 {@link DeadlineFilter} 设置，出站 Feign 调用、数据库查询读取后缩短各自的超时。
+ * 切换线程执行（异步调用、线程池）时需用 {@link #wrap(Supplier)} 把截止时间带过去。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public final class DeadlineContext {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private DeadlineContext() {
+    }
+
+    /**
+     * 获取当前线程的截止时间
+     *
+     * @return 截止时间，没有时返回 null
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 设置当前线程的截止时间
+     *
+     * @param deadline 截止时间，为 null 时清除
+     */
+    public static void set(Deadline deadline) {
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+    }
+
+    /**
+     * 清除当前线程的截止时间
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 已截止时抛出异常，用于在开始耗时操作前放弃注定超时的工作
+     *
+     * @param operation 操作描述（用于异常信息）
+     * @throws DeadlineExceededException 已超过截止时间
+     */
+    public static void checkNotExpired(String operation) {
+        Deadline deadline = CURRENT.get();
+        if (deadline != null && deadline.isExpired()) {
+            throw new DeadlineExceededException(operation);
+        }
+    }
+
+    /**
+     * 把当前线程的截止时间绑定到任务上，在其他线程执行时恢复
+     *
+     * @param task 任务
+     * @param <T>  返回值类型
+     * @return 携带截止时间的任务
+     */
+    public static <T> Supplier<T> wrap(Supplier<T> task) {
+        Deadline captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            Deadline previous = CURRENT.get();
+            CURRENT.set(captured);
+            try {
+                return task.get();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,124 @@
+package com.ez.admin.core.deadline;
+
+import com.ez.admin.core.auth.InternalCallAuthenticator;
+import com.ez.admin.core.constant.HttpHeaderConstants;
+import com.ez.admin.core.entity.R;
+import com.ez.admin.core.enums.BusinessErrorCode;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 请求截止时间过滤器
+ * <p>
+ * 为每个入站请求建立截止时间并放入 {@link DeadlineContext}：
+ * <ul>
+ *   <li>经 {@link InternalCallAuthenticator} 认证的内部调用携带
+ *       {@value HttpHeaderConstants#REQUEST_TIMEOUT}（上游服务传递的剩余毫秒数），且取值在 [0, 上限] 内：按其还原</li>
+ *   <li>否则按路径超时或默认超时建立（如网关进入 IAM 的外部请求）；未认证请求携带的截止时间请求头、
+ *       超出范围的取值都被忽略，避免客户端借此绕过服务端时限</li>
+ *   <li>都没有：不设截止时间，行为与之前一致</li>
+ * </ul>
+ * 到达时剩余时间已经用完的请求直接返回 504，不进入业务处理。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Slf4j
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private final Duration defaultTimeout;
+    private final Map<String, Duration> pathTimeouts;
+    private final long maxPropagatedTimeoutMillis;
+    private final InternalCallAuthenticator internalCallAuthenticator;
+    private final ObjectMapper objectMapper;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * @param defaultTimeout 未携带截止时间的请求使用的默认超时，为 null 时不设置
+     * @param pathTimeouts              按路径覆盖的默认超时，Key 为 Ant 风格路径模式
+     * @param maxPropagatedTimeout      内部调用传递的剩余时间上限
+     * @param internalCallAuthenticator 内部调用认证器，认证通过才读取截止时间请求头
+     * @param objectMapper              写出超时响应使用的 ObjectMapper
+     */
+    public DeadlineFilter(Duration defaultTimeout, Map<String, Duration> pathTimeouts, Duration maxPropagatedTimeout,
+                          InternalCallAuthenticator internalCallAuthenticator, ObjectMapper objectMapper) {
+        this.defaultTimeout = defaultTimeout;
+        this.pathTimeouts = pathTimeouts != null ? new LinkedHashMap<>(pathTimeouts) : Map.of();
+        this.maxPropagatedTimeoutMillis = maxPropagatedTimeout.toMillis();
+        this.internalCallAuthenticator = internalCallAuthenticator;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Deadline deadline = resolveDeadline(request);
+        if (deadline == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (deadline.isExpired()) {
+            log.warn("请求到达时已超过截止时间，直接放弃: uri={}", request.getRequestURI());
+            response.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), R.fail(BusinessErrorCode.DEADLINE_EXCEEDED));
+            return;
+        }
+
+        DeadlineContext.set(deadline);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DeadlineContext.clear();
+        }
+    }
+
+    private Deadline resolveDeadline(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaderConstants.REQUEST_TIMEOUT);
+        if (header != null && internalCallAuthenticator.isAuthenticated(request)) {
+            Long timeoutMillis = parseTimeout(header);
+            if (timeoutMillis != null) {
+                return Deadline.afterMillis(timeoutMillis);
+            }
+            log.warn("忽略非法的截止时间请求头: {}={}", HttpHeaderConstants.REQUEST_TIMEOUT, header);
+        }
+        Duration timeout = timeoutFor(request.getRequestURI());
+        return timeout != null ? Deadline.after(timeout) : null;
+    }
+
+    /**
+     * 解析剩余毫秒数，非数字或不在 [0, 上限] 内时返回 null
+     */
+    private Long parseTimeout(String header) {
+        try {
+            long timeoutMillis = Long.parseLong(header.trim());
+            return timeoutMillis >= 0 && timeoutMillis <= maxPropagatedTimeoutMillis ? timeoutMillis : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Duration timeoutFor(String uri) {
+        for (Map.Entry<String, Duration> entry : pathTimeouts.entrySet()) {
+            if (pathMatcher.match(entry.getKey(), uri)) {
+                return entry.getValue();
+            }
+        }
+        return defaultTimeout;
+    }
+}
@@ -0,0 +1,140 @@
+package com.ez.admin.core.entity;
+
+import com.ez.admin.core.enums.BusinessErrorCode;
+import com.ez.admin.core.enums.ErrorCode;
+import com.ez.admin.core.trace.TraceContext;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 常量返回结果
+ * <p>
+ * 用于除时间戳和链路追踪 ID 外内容固定的响应，如登出成功、缓存已删除、按错误码默认提示返回的错误：
+ * <ul>
+ *   <li>声明为静态常量复用，不再每次请求构造 R</li>
+ *   <li>由 {@code ConstantRHttpMessageConverter} 写出：固定部分按当前 ObjectMapper 预先编码为字节，
+ *       每次只拼接 timestamp 和 traceId</li>
+ *   <li>其他转换器（如 Smile）按普通 R 序列化，
+ *       {@link #getTimestamp()} / {@link #getTraceId()} 返回当前时间和当前请求的追踪 ID，结果一致</li>
+ * </ul>
+ * 继承 R，Controller 方法签名和接口文档保持 {@code R<Void>} 不变。实例不可修改，setter 一律抛出异常。
+ * </p>
+ * <p>
+ * 使用示例：
+ * <pre>
+ * private static final ConstantR LOGOUT_SUCCESS = ConstantR.ok("登出成功");
+ *
+ * public R&lt;Void&gt; logout() {
+ *     authService.logout();
+ *     return LOGOUT_SUCCESS;
+ * }
+ * </pre>
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public final class ConstantR extends R<Void> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 错误码 -> 使用默认提示的常量结果
+     */
+    private static final Map<ErrorCode, ConstantR> BY_ERROR_CODE = new ConcurrentHashMap<>();
+
+    private ConstantR(Integer code, String message) {
+        super.setCode(code);
+        super.setMessage(message);
+        super.setSuccess(BusinessErrorCode.SUCCESS.getCode().equals(code));
+    }
+
+    /**
+     * 成功返回 - 固定提示信息
+     *
+     * @param message 提示信息
+     * @return 常量结果
+     */
+    public static ConstantR ok(String message) {
+        return new ConstantR(BusinessErrorCode.SUCCESS.getCode(), message);
+    }
+
+    /**
+     * 失败返回 - 固定提示信息
+     *
+     * @param code    状态码
+     * @param message 提示信息
+     * @return 常量结果
+     */
+    public static ConstantR fail(Integer code, String message) {
+        return new ConstantR(code, message);
+    }
+
+    /**
+     * 按错误码默认提示返回，同一错误码复用同一实例
+     *
+     * @param errorCode 错误码
+     * @return 常量结果
+     */
+    public static ConstantR of(ErrorCode errorCode) {
+        return BY_ERROR_CODE.computeIfAbsent(errorCode, e -> new ConstantR(e.getCode(), e.getMessage()));
+    }
+
+    // ========== 动态字段 ==========
+
+    @Override
+    public Long getTimestamp() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public String getTraceId() {
+        return TraceContext.currentOrGenerate();
+    }
+
+    // ========== 不可修改 ==========
+
+    @Override
+    public void setSuccess(Boolean success) {
+        throw new UnsupportedOperationException("ConstantR 不可修改");
+    }
+
+    @Override
+    public void setCode(Integer code) {
+        throw new UnsupportedOperationException("ConstantR 不可修改");
+    }
+
+    @Override
+    public void setMessage(String message) {
+        throw new UnsupportedOperationException("ConstantR 不可修改");
+    }
+
+    @Override
+    public void setData(Void data) {
+        throw new UnsupportedOperationException("ConstantR 不可修改");
+    }
+
+    @Override
+    public void setTimestamp(Long timestamp) {
+        throw new UnsupportedOperationException("ConstantR 不可修改");
+    }
+
+    @Override
+    public void setTraceId(String traceId) {
+        throw new UnsupportedOperationException("ConstantR 不可修改");
+    }
+
+    /**
+     * 常量结果按实例区分，便于转换器按实例缓存预编码内容
+     */
+    @Override
+    public boolean equals(Object o) {
+        return this == o;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+}
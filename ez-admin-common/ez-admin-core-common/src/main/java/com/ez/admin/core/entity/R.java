@@ -2,6 +2,7 @@ package com.ez.admin.core.entity;
 
 import com.ez.admin.core.enums.BusinessErrorCode;
 import com.ez.admin.core.enums.ErrorCode;
+import com.ez.admin.core.trace.TraceContext;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,7 +10,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
-import java.util.UUID;
 
 /**
  * 统一返回结果对象
@@ -101,7 +101,7 @@ public class R<T> implements Serializable {
      * 链路追踪ID
      * <p>
      * 用于分布式系统中追踪请求链路，问题排查神器。
-     * 建议接入分布式追踪系统（如 Skywalking、Sleuth）后替换为真实 TraceId。
+     * 取自当前请求的 {@link TraceContext}，与日志 MDC、响应头及上下游服务使用同一个追踪 ID。
      * </p>
      */
     @Schema(description = "链路追踪ID")
@@ -121,8 +121,8 @@ public class R<T> implements Serializable {
         this.data = data;
         this.success = BusinessErrorCode.SUCCESS.getCode().equals(code);
         this.timestamp = System.currentTimeMillis();
-        // TODO: 接入分布式追踪系统后，替换为真实 TraceId
-        this.traceId = UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        // 复用当前请求的追踪 ID，请求上下文之外（如定时任务）才生成新的
+        this.traceId = TraceContext.currentOrGenerate();
     }
 
     // ========== 成功返回 ==========
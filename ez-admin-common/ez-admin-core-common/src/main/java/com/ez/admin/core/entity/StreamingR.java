@@ -0,0 +1,85 @@
+package com.ez.admin.core.entity;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 流式列表返回结果
+ * <p>
+ * 用于数据量大的列表接口：Controller 不再先查出完整 List 再包装为 {@code R.ok(list)}，
+ * 而是返回一个数据源，由 {@code StreamingRHttpMessageConverter} 在写响应时逐个元素拉取并直接序列化到响应流，
+ * 单个请求占用的堆内存与结果集大小无关。
+ * </p>
+ * <p>
+ * 输出仍是 R 的 JSON 结构，只是 data 在前，状态字段在后：
+ * <pre>
+ * {"data":[...],"success":true,"code":200,"message":"操作成功","timestamp":"...","traceId":"..."}
+ * </pre>
+ * 数据源中途抛出异常时，已写出的元素无法撤回，转换器会结束 data 数组，并在尾部写入失败的 success / code / message。
+ * 调用方与普通 R 一样以 code 判断结果即可（Feign 解码器按字段名读取，不依赖字段顺序）。
+ * 写响应流本身失败（如客户端断开）时直接中断，不再写尾部。
+ * </p>
+ * <p>
+ * StreamingR 继承 {@code R<List<T>>}：Controller 方法声明返回 {@code R<List<T>>}，OpenAPI 文档和 Feign 契约
+ * 与普通列表接口完全一致，流式输出只是实现细节。继承自 R 的字段不会被使用，状态字段由转换器在写出时生成。
+ * </p>
+ * <p>
+ * 数据源通常是基于 MyBatis Cursor 的 {@code @Transactional(readOnly = true)} Service 方法，
+ * 事务和数据库连接在写响应期间保持：
+ * <pre>
+ * return StreamingR.of(RolePermissionVO.class, roleService::streamAllRolePermissions);
+ * </pre>
+ * </p>
+ *
+ * @param <T> 元素类型
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public final class StreamingR<T> extends R<List<T>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Class<T> elementType;
+    private final transient Source<T> source;
+
+    private StreamingR(Class<T> elementType, Source<T> source) {
+        this.elementType = elementType;
+        this.source = source;
+    }
+
+    /**
+     * 创建流式列表返回结果
+     *
+     * @param elementType 元素类型（用于选择序列化器）
+     * @param source      数据源，写响应时调用一次
+     * @param <T>         元素类型
+     * @return 流式列表返回结果
+     */
+    public static <T> StreamingR<T> of(Class<T> elementType, Source<T> source) {
+        return new StreamingR<>(elementType, source);
+    }
+
+    public Class<T> elementType() {
+        return elementType;
+    }
+
+    public Source<T> source() {
+        return source;
+    }
+
+    /**
+     * 流式数据源：把元素逐个交给 sink
+     *
+     * @param <T> 元素类型
+     */
+    @FunctionalInterface
+    public interface Source<T> {
+
+        /**
+         * 遍历所有元素
+         *
+         * @param sink 元素接收者，每个元素写入响应流后返回
+         */
+        void forEach(Consumer<T> sink);
+    }
+}
@@ -98,6 +98,11 @@ public enum BusinessErrorCode implements ErrorCode {
      */
     PERMISSION_DENIED(1000105, "权限不足"),
 
+    /**
+     * 缺少角色
+     */
+    ROLE_DENIED(1000106, "缺少角色"),
+
     // ==================== 全局服务端错误 (错误级别2 + 服务代码000) ====================
 
     /**
@@ -125,6 +130,11 @@ public enum BusinessErrorCode implements ErrorCode {
      */
     CACHE_ERROR(2000004, "缓存操作失败"),
 
+    /**
+     * 请求处理超时（超过调用方传递的截止时间）
+     */
+    DEADLINE_EXCEEDED(2000005, "请求处理超时"),
+
     // ==================== 全局第三方服务错误 (错误级别3 + 服务代码000) ====================
 
     /**
@@ -59,8 +59,7 @@ public interface ErrorCode {
      * @return 错误级别枚举
      */
     default ErrorCodeLevel getLevel() {
-        int levelCode = Integer.parseInt(String.valueOf(getCode()).charAt(0) + "");
-        return ErrorCodeLevel.valueOf(levelCode);
+        return ErrorCodeLevel.ofErrorCode(getCode());
     }
 
     /**
@@ -99,6 +98,7 @@ public interface ErrorCode {
      * @return true=需要告警，false=不需要告警
      */
     default boolean needAlert() {
-        return isServerError() || isThirdPartyError();
+        ErrorCodeLevel level = getLevel();
+        return level != null && level.needAlert();
     }
 }
@@ -89,6 +89,35 @@ public enum ErrorCodeLevel {
      */
     private final String description;
 
+    /**
+     * 是否需要告警
+     * <p>
+     * 服务端错误和第三方服务错误需要告警，业务异常在这两个级别下始终保留堆栈。
+     * </p>
+     *
+     * @return true=需要告警
+     */
+    public boolean needAlert() {
+        return this == SERVER || this == THIRD_PARTY;
+    }
+
+    /**
+     * 根据错误码的首位数字获取错误级别
+     *
+     * @param errorCode 错误码（如 1001001）
+     * @return ErrorCodeLevel 枚举，错误码为空或首位无对应级别时返回 null
+     */
+    public static ErrorCodeLevel ofErrorCode(Integer errorCode) {
+        if (errorCode == null || errorCode <= 0) {
+            return null;
+        }
+        int first = errorCode;
+        while (first >= 10) {
+            first /= 10;
+        }
+        return valueOf(first);
+    }
+
     /**
      * 根据代码获取枚举
      *
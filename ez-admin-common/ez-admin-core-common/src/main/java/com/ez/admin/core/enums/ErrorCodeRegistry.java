@@ -0,0 +1,190 @@
+package com.ez.admin.core.enums;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 错误码注册表
+ * <p>
+ * 以 int 错误码为键、开放寻址（线性探测）数组实现的只读索引，支持 O(1) 地把远程服务返回的错误码还原为
+ * {@link ErrorCode} 枚举及其 {@link ErrorCodeLevel}，不做线性遍历、不做字符串解析，查找过程无装箱、无分配。
+ * </p>
+ * <p>
+ * 启动时由 {@code ExceptionConfig} 扫描各模块中实现了 ErrorCode 的枚举并调用 {@link #register(Collection)} 重建；
+ * 在此之前（或不在 Spring 环境中）只包含 {@link BusinessErrorCode}。
+ * 不同枚举常量使用同一错误码时注册失败并抛出 {@link IllegalStateException}，让冲突在启动阶段暴露。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public final class ErrorCodeRegistry {
+
+    /**
+     * 空槽位标记（错误码均为正数）
+     */
+    private static final int EMPTY = 0;
+
+    private static volatile Table table = Table.build(List.of(BusinessErrorCode.class));
+
+    private ErrorCodeRegistry() {
+    }
+
+    /**
+     * 用给定的错误码枚举重建注册表（始终包含 {@link BusinessErrorCode}）
+     *
+     * @param enumTypes 实现了 ErrorCode 的枚举类型
+     * @throws IllegalStateException 错误码冲突或不合法
+     */
+    public static void register(Collection<Class<? extends ErrorCode>> enumTypes) {
+        List<Class<? extends ErrorCode>> types = new ArrayList<>();
+        types.add(BusinessErrorCode.class);
+        for (Class<? extends ErrorCode> type : enumTypes) {
+            if (!types.contains(type)) {
+                types.add(type);
+            }
+        }
+        table = Table.build(types);
+    }
+
+    /**
+     * 根据错误码查找枚举
+     *
+     * @param code 错误码
+     * @return 错误码枚举，未注册时返回 null
+     */
+    public static ErrorCode find(int code) {
+        return table.find(code);
+    }
+
+    /**
+     * 根据错误码获取错误级别
+     * <p>
+     * 已注册的错误码直接返回缓存的级别；未注册的按首位数字推断（{@link ErrorCodeLevel#ofErrorCode(Integer)}）。
+     * </p>
+     *
+     * @param code 错误码
+     * @return 错误级别，无法识别时返回 null
+     */
+    public static ErrorCodeLevel levelOf(int code) {
+        ErrorCodeLevel level = table.levelOf(code);
+        return level != null ? level : ErrorCodeLevel.ofErrorCode(code);
+    }
+
+    /**
+     * 错误码是否需要告警（未知级别视为需要）
+     *
+     * @param code 错误码
+     * @return true=需要告警
+     */
+    public static boolean needAlert(int code) {
+        ErrorCodeLevel level = levelOf(code);
+        return level == null || level.needAlert();
+    }
+
+    /**
+     * 已注册的错误码数量
+     *
+     * @return 数量
+     */
+    public static int size() {
+        return table.size;
+    }
+
+    /**
+     * 不可变的开放寻址表
+     */
+    private static final class Table {
+
+        private final int[] codes;
+        private final ErrorCode[] errorCodes;
+        private final ErrorCodeLevel[] levels;
+        private final int mask;
+        private final int size;
+
+        private Table(int capacity, int size) {
+            this.codes = new int[capacity];
+            this.errorCodes = new ErrorCode[capacity];
+            this.levels = new ErrorCodeLevel[capacity];
+            this.mask = capacity - 1;
+            this.size = size;
+        }
+
+        static Table build(List<Class<? extends ErrorCode>> enumTypes) {
+            Map<Integer, ErrorCode> byCode = new LinkedHashMap<>();
+            for (Class<? extends ErrorCode> type : enumTypes) {
+                ErrorCode[] constants = type.getEnumConstants();
+                if (constants == null) {
+                    throw new IllegalStateException("错误码类型必须是枚举: " + type.getName());
+                }
+                for (ErrorCode errorCode : constants) {
+                    Integer code = errorCode.getCode();
+                    if (code == null || code <= EMPTY) {
+                        throw new IllegalStateException("错误码必须为正数: " + describe(errorCode));
+                    }
+                    ErrorCode existing = byCode.putIfAbsent(code, errorCode);
+                    if (existing != null) {
+                        throw new IllegalStateException(String.format("错误码冲突: %d 同时被 %s 和 %s 使用",
+                                code, describe(existing), describe(errorCode)));
+                    }
+                }
+            }
+
+            // 负载因子不超过 0.5，探测链保持很短
+            int capacity = Integer.highestOneBit(Math.max(byCode.size(), 1) * 4 - 1);
+            Table table = new Table(Math.max(capacity, 16), byCode.size());
+            byCode.forEach((code, errorCode) -> table.put(code, errorCode));
+            return table;
+        }
+
+        private void put(int code, ErrorCode errorCode) {
+            int slot = slot(code);
+            while (codes[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            codes[slot] = code;
+            errorCodes[slot] = errorCode;
+            levels[slot] = ErrorCodeLevel.ofErrorCode(code);
+        }
+
+        ErrorCode find(int code) {
+            int slot = indexOf(code);
+            return slot < 0 ? null : errorCodes[slot];
+        }
+
+        ErrorCodeLevel levelOf(int code) {
+            int slot = indexOf(code);
+            return slot < 0 ? null : levels[slot];
+        }
+
+        private int indexOf(int code) {
+            if (code <= EMPTY) {
+                return -1;
+            }
+            int slot = slot(code);
+            int current;
+            while ((current = codes[slot]) != EMPTY) {
+                if (current == code) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        /**
+         * 错误码按段连续分配，乘以黄金分割常数打散后取高位，避免相邻错误码聚集在同一段槽位
+         */
+        private int slot(int code) {
+            return (code * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(codes.length)) & mask;
+        }
+
+        private static String describe(ErrorCode errorCode) {
+            Enum<?> constant = (Enum<?>) errorCode;
+            return constant.getDeclaringClass().getSimpleName() + "." + constant.name();
+        }
+    }
+}
@@ -15,6 +15,7 @@ import lombok.Getter;
  *   <li>异常必须携带 {@link ErrorCode} 错误码</li>
  *   <li>支持自定义错误提示信息（如需动态拼接参数）</li>
  *   <li>异常堆栈应在全局异常处理器中统一记录，避免业务代码重复记录</li>
+ *   <li>堆栈是否填充由 {@link StackTraceSampler} 按错误级别决定：需告警的级别始终填充，用户端错误按比例采样</li>
  * </ul>
  * </p>
  *
@@ -42,7 +43,7 @@ public class BaseException extends RuntimeException {
      * @param errorCode 错误码枚举
      */
     public BaseException(ErrorCode errorCode) {
-        super(errorCode.getMessage());
+        super(errorCode.getMessage(), null, true, StackTraceSampler.shouldCapture(errorCode.getLevel()));
         this.errorCode = errorCode;
         this.message = errorCode.getMessage();
     }
@@ -54,7 +55,7 @@ public class BaseException extends RuntimeException {
      * @param message   自定义错误提示信息
      */
     public BaseException(ErrorCode errorCode, String message) {
-        super(message);
+        super(message, null, true, StackTraceSampler.shouldCapture(errorCode.getLevel()));
         this.errorCode = errorCode;
         this.message = message;
     }
@@ -67,7 +68,7 @@ public class BaseException extends RuntimeException {
      * @param cause     原始异常
      */
     public BaseException(ErrorCode errorCode, String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, true, StackTraceSampler.shouldCapture(errorCode.getLevel()));
         this.errorCode = errorCode;
         this.message = message;
     }
@@ -79,7 +80,7 @@ public class BaseException extends RuntimeException {
      * @param cause     原始异常
      */
     public BaseException(ErrorCode errorCode, Throwable cause) {
-        super(errorCode.getMessage(), cause);
+        super(errorCode.getMessage(), cause, true, StackTraceSampler.shouldCapture(errorCode.getLevel()));
         this.errorCode = errorCode;
         this.message = errorCode.getMessage();
     }
@@ -0,0 +1,47 @@
+package com.ez.admin.core.exception;
+
+import com.ez.admin.core.enums.BusinessErrorCode;
+
+/**
+ * 请求截止时间已过异常
+ * <p>
+ * 调用方传递的截止时间已经用完，继续处理（发起远程调用、执行 SQL）的结果也不会再被使用，
+ * 因此直接放弃。对应错误码 {@link BusinessErrorCode#DEADLINE_EXCEEDED}。
+ * </p>
+ * <p>
+ * 在 Feign 解码器、MyBatis 拦截器中抛出时会被框架包装（DecodeException、MyBatisSystemException 等），
+ * 判断失败原因时应使用 {@link #find(Throwable)} 沿异常链查找。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public class DeadlineExceededException extends BaseException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param operation 被放弃的操作描述
+     */
+    public DeadlineExceededException(String operation) {
+        super(BusinessErrorCode.DEADLINE_EXCEEDED, BusinessErrorCode.DEADLINE_EXCEEDED.getMessage() + ": " + operation);
+    }
+
+    /**
+     * 沿异常链查找截止时间已过异常
+     *
+     * @param throwable 调用抛出的异常
+     * @return 异常链中的第一个截止时间已过异常，不存在时返回 null
+     */
+    public static DeadlineExceededException find(Throwable throwable) {
+        Throwable current = throwable;
+        // 限制深度，避免异常链成环时死循环
+        for (int depth = 0; current != null && depth < 16; depth++) {
+            if (current instanceof DeadlineExceededException deadlineExceeded) {
+                return deadlineExceeded;
+            }
+            current = current.getCause();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,159 @@
+package com.ez.admin.core.exception;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 异常日志限流器
+ * <p>
+ * 按（错误码, URI 模板）分组，每组在一个固定窗口内最多放行 {@code permitsPerWindow} 条日志，超出部分只计数。
+ * 下游故障引发的大量同类异常因此只产生少量日志，不会拖垮磁盘 IO 和日志 Appender：
+ * <ul>
+ *   <li>{@link #tryAcquire(int, String)} 返回 -1 表示本次不输出日志</li>
+ *   <li>新窗口中第一条放行的日志会带上之前窗口被抑制的条数（"另有 N 条未输出"）</li>
+ *   <li>分组数超过上限后，新出现的组合统一归入溢出分组</li>
+ * </ul>
+ * 抑制统计在下一次同组异常出现时输出；此后再无同组异常时，被抑制的条数只体现在指标中。
+ * </p>
+ * <p>
+ * 指标（传入 MeterRegistry 时注册）：
+ * <ul>
+ *   <li>{@code ez.exception.occurrences}：异常次数，标签 code / uri</li>
+ *   <li>{@code ez.exception.log.suppressed}：被抑制的日志条数，标签 code / uri</li>
+ * </ul>
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public class ExceptionLogLimiter {
+
+    /**
+     * 未匹配到 Controller 的请求（如 404）使用的 URI 模板，避免把原始路径作为标签
+     */
+    public static final String UNMATCHED_URI = "UNMATCHED";
+
+    private static final String OVERFLOW = "OVERFLOW";
+    private static final String METRIC_OCCURRENCES = "ez.exception.occurrences";
+    private static final String METRIC_SUPPRESSED = "ez.exception.log.suppressed";
+
+    private final long windowNanos;
+    private final int permitsPerWindow;
+    private final int maxKeys;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Key, Window> windows = new ConcurrentHashMap<>();
+    private final Window overflow;
+
+    /**
+     * @param window           限流窗口长度
+     * @param permitsPerWindow 每组每个窗口放行的日志条数
+     * @param maxKeys          最多单独统计的分组数
+     * @param meterRegistry    指标注册表，为 null 时不记录指标
+     */
+    public ExceptionLogLimiter(Duration window, int permitsPerWindow, int maxKeys, MeterRegistry meterRegistry) {
+        this.windowNanos = window.toNanos();
+        this.permitsPerWindow = permitsPerWindow;
+        this.maxKeys = maxKeys;
+        this.meterRegistry = meterRegistry;
+        this.overflow = new Window(OVERFLOW, OVERFLOW);
+    }
+
+    /**
+     * 记录一次异常并判断是否输出日志
+     *
+     * @param code        错误码
+     * @param uriTemplate URI 模板（如 /api/v1/system/user/{id}）
+     * @return -1 表示抑制本次日志；否则为之前窗口被抑制、尚未报告的条数（通常为 0）
+     */
+    public long tryAcquire(int code, String uriTemplate) {
+        return windowFor(code, uriTemplate).tryAcquire(System.nanoTime());
+    }
+
+    /**
+     * 生成附加在日志末尾的抑制说明
+     *
+     * @param suppressed {@link #tryAcquire(int, String)} 的返回值
+     * @return 没有被抑制的日志时返回空串
+     */
+    public static String suppressedNote(long suppressed) {
+        return suppressed > 0 ? "（此前另有 " + suppressed + " 条相同异常日志未输出）" : "";
+    }
+
+    private Window windowFor(int code, String uriTemplate) {
+        Key key = new Key(code, uriTemplate);
+        Window window = windows.get(key);
+        if (window != null) {
+            return window;
+        }
+        if (windows.size() >= maxKeys) {
+            return overflow;
+        }
+        return windows.computeIfAbsent(key, k -> new Window(String.valueOf(k.code()), k.uriTemplate()));
+    }
+
+    private record Key(int code, String uriTemplate) {
+    }
+
+    /**
+     * 单个分组的固定窗口计数
+     */
+    private final class Window {
+
+        private final Counter occurrences;
+        private final Counter suppressedCounter;
+
+        private long windowStart;
+        private int logged;
+        private long suppressed;
+        private long unreported;
+
+        Window(String code, String uri) {
+            this.windowStart = System.nanoTime();
+            if (meterRegistry != null) {
+                this.occurrences = Counter.builder(METRIC_OCCURRENCES)
+                        .description("异常次数")
+                        .tag("code", code)
+                        .tag("uri", uri)
+                        .register(meterRegistry);
+                this.suppressedCounter = Counter.builder(METRIC_SUPPRESSED)
+                        .description("被限流抑制的异常日志条数")
+                        .tag("code", code)
+                        .tag("uri", uri)
+                        .register(meterRegistry);
+            } else {
+                this.occurrences = null;
+                this.suppressedCounter = null;
+            }
+        }
+
+        long tryAcquire(long now) {
+            if (occurrences != null) {
+                occurrences.increment();
+            }
+            synchronized (this) {
+                if (now - windowStart >= windowNanos) {
+                    windowStart = now;
+                    logged = 0;
+                    unreported += suppressed;
+                    suppressed = 0;
+                }
+                if (logged < permitsPerWindow) {
+                    logged++;
+                    long report = unreported;
+                    unreported = 0;
+                    return report;
+                }
+                suppressed++;
+            }
+            if (suppressedCounter != null) {
+                suppressedCounter.increment();
+            }
+            return -1;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.ez.admin.core.exception;
 
+import com.ez.admin.core.entity.ConstantR;
 import com.ez.admin.core.entity.R;
 import com.ez.admin.core.enums.BusinessErrorCode;
 import com.ez.admin.core.enums.ErrorCode;
@@ -7,7 +8,8 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
@@ -17,6 +19,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
 import java.util.stream.Collectors;
@@ -33,6 +36,9 @@ import java.util.stream.Collectors;
  *   <li>参数校验异常：返回参数错误信息，记录 debug 级别日志</li>
  *   <li>系统异常（Exception）：返回系统内部错误，记录 error 级别日志并告警</li>
  *   <li>所有响应均包含链路追踪ID，便于问题排查</li>
+ *   <li>提示信息固定的错误（错误码默认提示、系统异常）返回 {@link ConstantR}，只拼接时间戳和追踪ID</li>
+ *   <li>业务异常和系统异常的日志按（错误码, URI 模板）限流，见 {@link ExceptionLogLimiter}，
+ *       下游故障时不会产生日志风暴；异常次数和被抑制的日志条数导出为指标</li>
  * </ul>
  * </p>
  * <p>
@@ -48,7 +54,9 @@ import java.util.stream.Collectors;
  * <p>
  * <b>注意事项：</b>
  * <ul>
- *   <li>使用 {@code @ConditionalOnWebApplication} 确保仅在 Web 环境中生效</li>
+ *   <li>由 {@code ExceptionConfig} 在 Servlet Web 应用中注册，不依赖组件扫描</li>
+ *   <li>排在最后（{@link Ordered#LOWEST_PRECEDENCE}）：其他模块的异常处理器（如 Sa-Token 认证异常）只处理各自的异常类型，
+ *       其余异常都由本处理器兜底；其他处理器不应再声明 {@code Exception} 兜底方法，否则会抢先拦截业务异常</li>
  *   <li>日志中记录完整堆栈，便于问题排查</li>
  *   <li>生产环境注意敏感信息脱敏</li>
  * </ul>
@@ -59,9 +67,18 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 @RestControllerAdvice
-@ConditionalOnWebApplication
+@Order(Ordered.LOWEST_PRECEDENCE)
 public class GlobalExceptionHandler {
 
+    private final ExceptionLogLimiter logLimiter;
+
+    /**
+     * @param logLimiter 异常日志限流器（与其他模块的异常处理器共用，同一错误码、同一接口共享配额）
+     */
+    public GlobalExceptionHandler(ExceptionLogLimiter logLimiter) {
+        this.logLimiter = logLimiter;
+    }
+
     /**
      * 处理基础业务异常
      * <p>
@@ -80,15 +97,25 @@ public class GlobalExceptionHandler {
         String message = ex.getMessage();
         String uri = getRequestUri(request);
 
-        // 根据错误级别决定日志级别和是否告警
-        if (errorCode.needAlert()) {
-            // 服务端错误和第三方服务错误需要告警
-            log.error("[业务异常] URI: {}, 错误码: {}, 错误信息: {}", uri, code, message, ex);
-        } else {
-            // 用户端错误只记录 info 日志
-            log.info("[业务异常] URI: {}, 错误码: {}, 错误信息: {}", uri, code, message);
+        // 同一错误码、同一接口的日志按窗口限流
+        long suppressed = logLimiter.tryAcquire(code, getUriTemplate(request));
+        if (suppressed >= 0) {
+            // 根据错误级别决定日志级别和是否告警
+            if (errorCode.needAlert()) {
+                // 服务端错误和第三方服务错误需要告警
+                log.error("[业务异常] URI: {}, 错误码: {}, 错误信息: {}{}", uri, code, message,
+                        ExceptionLogLimiter.suppressedNote(suppressed), ex);
+            } else {
+                // 用户端错误只记录 info 日志
+                log.info("[业务异常] URI: {}, 错误码: {}, 错误信息: {}{}", uri, code, message,
+                        ExceptionLogLimiter.suppressedNote(suppressed));
+            }
         }
 
+        // 未自定义提示信息时复用错误码对应的常量结果
+        if (message == null || message.equals(errorCode.getMessage())) {
+            return ConstantR.of(errorCode);
+        }
         return R.fail(code, message);
     }
 
@@ -204,6 +231,10 @@ public class GlobalExceptionHandler {
      * 兜底处理，捕获所有未被上述方法处理的异常。
      * 此类异常通常是系统级别的严重错误，需要记录 error 日志并告警。
      * </p>
+     * <p>
+     * 截止时间已过异常在 MyBatis 拦截器等框架代码中抛出时会被包装（如 MyBatisSystemException），
+     * 异常链中存在时按 {@link BusinessErrorCode#DEADLINE_EXCEEDED} 返回，不当作系统异常。
+     * </p>
      *
      * @param ex      异常
      * @param request HTTP 请求
@@ -211,15 +242,23 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(Exception.class)
     public R<Void> handleException(Exception ex, HttpServletRequest request) {
+        DeadlineExceededException deadlineExceeded = DeadlineExceededException.find(ex);
+        if (deadlineExceeded != null) {
+            return handleBaseException(deadlineExceeded, request);
+        }
+
         String uri = getRequestUri(request);
-        String message = BusinessErrorCode.INTERNAL_ERROR.getMessage();
 
-        // 记录完整的异常堆栈
-        log.error("[系统异常] URI: {}, 异常类型: {}, 错误信息: {}",
-                uri, ex.getClass().getSimpleName(), ex.getMessage(), ex);
+        // 记录完整的异常堆栈（按窗口限流）
+        long suppressed = logLimiter.tryAcquire(BusinessErrorCode.INTERNAL_ERROR.getCode(), getUriTemplate(request));
+        if (suppressed >= 0) {
+            log.error("[系统异常] URI: {}, 异常类型: {}, 错误信息: {}{}",
+                    uri, ex.getClass().getSimpleName(), ex.getMessage(),
+                    ExceptionLogLimiter.suppressedNote(suppressed), ex);
+        }
 
         // 返回通用错误信息，避免暴露敏感的系统细节
-        return R.fail(BusinessErrorCode.INTERNAL_ERROR.getCode(), message);
+        return ConstantR.of(BusinessErrorCode.INTERNAL_ERROR);
     }
 
     // ========== 私有辅助方法 ==========
@@ -233,4 +272,15 @@ public class GlobalExceptionHandler {
     private String getRequestUri(HttpServletRequest request) {
         return request.getRequestURI();
     }
+
+    /**
+     * 获取匹配到的 URI 模板（用于日志限流分组和指标标签，不含路径变量的具体值）
+     *
+     * @param request HTTP 请求
+     * @return URI 模板，未匹配到 Controller 时返回 {@link ExceptionLogLimiter#UNMATCHED_URI}
+     */
+    public static String getUriTemplate(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : ExceptionLogLimiter.UNMATCHED_URI;
+    }
 }
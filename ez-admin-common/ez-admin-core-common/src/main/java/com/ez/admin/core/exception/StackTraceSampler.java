@@ -0,0 +1,69 @@
+package com.ez.admin.core.exception;
+
+import com.ez.admin.core.enums.ErrorCodeLevel;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 业务异常堆栈采样器
+ * <p>
+ * 业务异常（密码错误、用户已禁用等）属于预期内的流程分支，由全局异常处理器转换为 R 返回，
+ * 堆栈对排查几乎没有价值，而 {@code fillInStackTrace} 遍历调用栈的开销在登录风暴等场景下会成倍放大。
+ * 因此业务异常默认不填充堆栈：
+ * <ul>
+ *   <li>错误级别需要告警（{@link ErrorCodeLevel#needAlert()}，服务端 / 第三方错误）或无法识别：始终填充</li>
+ *   <li>其他（用户端错误）：按 {@code ez.exception.stack-trace-sample-rate} 概率采样填充，保留少量样本用于排查</li>
+ * </ul>
+ * 异常在 Spring 容器之外构造，采样率由 {@code ExceptionConfig} 启动时写入静态配置。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public final class StackTraceSampler {
+
+    /**
+     * 默认采样率：1%
+     */
+    public static final double DEFAULT_SAMPLE_RATE = 0.01;
+
+    private static volatile double sampleRate = DEFAULT_SAMPLE_RATE;
+
+    private StackTraceSampler() {
+    }
+
+    /**
+     * 设置用户端错误的堆栈采样率
+     *
+     * @param rate 采样率，0 表示从不填充，1 表示始终填充
+     */
+    public static void setSampleRate(double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("堆栈采样率需在 0 ~ 1 之间: " + rate);
+        }
+        sampleRate = rate;
+    }
+
+    /**
+     * 获取当前采样率
+     *
+     * @return 采样率
+     */
+    public static double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * 判断本次构造的异常是否填充堆栈
+     *
+     * @param level 错误级别，为 null 时视为无法识别
+     * @return true=填充堆栈
+     */
+    public static boolean shouldCapture(ErrorCodeLevel level) {
+        if (level == null || level.needAlert()) {
+            return true;
+        }
+        double rate = sampleRate;
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
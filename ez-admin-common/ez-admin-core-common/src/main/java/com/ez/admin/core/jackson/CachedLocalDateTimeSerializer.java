@@ -0,0 +1,106 @@
+package com.ez.admin.core.jackson;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.type.WritableTypeId;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.jsontype.TypeSerializer;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 按秒缓存渲染结果的 LocalDateTime 序列化器
+ * <p>
+ * 输出格式固定为 {@code yyyy-MM-dd HH:mm:ss}（与 {@code JacksonConfig.DATETIME_FORMAT} 一致），不再经过 DateTimeFormatter：
+ * <ul>
+ *   <li>以"本地纪元秒"为键查直接映射缓存，命中时把缓存的 19 个字符直接写入生成器</li>
+ *   <li>未命中时按数字运算渲染并放入缓存，只分配一个 char[19] 和一个缓存条目</li>
+ *   <li>同一列表中的 create_time / update_time 常集中在少数几秒内，命中率很高</li>
+ * </ul>
+ * 缓存条目不可变，多线程覆盖同一槽位只会导致一次额外渲染，不需要加锁。
+ * 年份超出 1~9999 时回退到 DateTimeFormatter。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public class CachedLocalDateTimeSerializer extends StdSerializer<LocalDateTime> {
+
+    private static final int CACHE_SIZE = 4096;
+    private static final int LENGTH = 19;
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private final DateTimeFormatter fallbackFormatter;
+
+    private final Entry[] cache = new Entry[CACHE_SIZE];
+
+    /**
+     * @param fallbackFormatter 超出缓存渲染范围时使用的格式化器，需与 yyyy-MM-dd HH:mm:ss 等价
+     */
+    public CachedLocalDateTimeSerializer(DateTimeFormatter fallbackFormatter) {
+        super(LocalDateTime.class);
+        this.fallbackFormatter = fallbackFormatter;
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator gen, SerializationContext ctxt) {
+        int year = value.getYear();
+        if (year < 1 || year > 9999) {
+            gen.writeString(fallbackFormatter.format(value));
+            return;
+        }
+        long second = value.toLocalDate().toEpochDay() * SECONDS_PER_DAY + value.toLocalTime().toSecondOfDay();
+        int slot = (int) (second & (CACHE_SIZE - 1));
+        Entry entry = cache[slot];
+        if (entry == null || entry.second != second) {
+            entry = new Entry(second, render(value));
+            cache[slot] = entry;
+        }
+        gen.writeString(entry.chars, 0, LENGTH);
+    }
+
+    @Override
+    public void serializeWithType(LocalDateTime value, JsonGenerator gen, SerializationContext ctxt,
+                                  TypeSerializer typeSer) {
+        WritableTypeId typeIdDef = typeSer.writeTypePrefix(gen, ctxt, typeSer.typeId(value, JsonToken.VALUE_STRING));
+        serialize(value, gen, ctxt);
+        typeSer.writeTypeSuffix(gen, ctxt, typeIdDef);
+    }
+
+    private static char[] render(LocalDateTime value) {
+        char[] chars = new char[LENGTH];
+        int year = value.getYear();
+        chars[0] = digit(year / 1000);
+        chars[1] = digit(year / 100 % 10);
+        chars[2] = digit(year / 10 % 10);
+        chars[3] = digit(year % 10);
+        chars[4] = '-';
+        twoDigits(chars, 5, value.getMonthValue());
+        chars[7] = '-';
+        twoDigits(chars, 8, value.getDayOfMonth());
+        chars[10] = ' ';
+        twoDigits(chars, 11, value.getHour());
+        chars[13] = ':';
+        twoDigits(chars, 14, value.getMinute());
+        chars[16] = ':';
+        twoDigits(chars, 17, value.getSecond());
+        return chars;
+    }
+
+    private static void twoDigits(char[] chars, int pos, int value) {
+        chars[pos] = digit(value / 10);
+        chars[pos + 1] = digit(value % 10);
+    }
+
+    private static char digit(int value) {
+        return (char) ('0' + value);
+    }
+
+    /**
+     * 缓存条目：本地纪元秒及其渲染结果
+     */
+    private record Entry(long second, char[] chars) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.ez.admin.core.jackson;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.type.WritableTypeId;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.jsontype.TypeSerializer;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Long 按字符串序列化（无中间 String 分配）
+ * <p>
+ * 输出与 {@code ToStringSerializer} 相同（{@code "1883412345678901234"}），用于避免前端 Long 精度丢失。
+ * 区别在于不调用 {@code Long.toString}：数字直接写入线程内复用的 char 缓冲区，
+ * 再由 {@link JsonGenerator#writeString(char[], int, int)} 复制进生成器的输出缓冲区。
+ * 列表接口每行都有多个雪花 ID，省去的是每个 ID 一个 String 及其底层数组。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public class LongAsStringSerializer extends StdSerializer<Long> {
+
+    public static final LongAsStringSerializer INSTANCE = new LongAsStringSerializer();
+
+    /**
+     * Long 最长 20 个字符（含负号）
+     */
+    private static final int MAX_LENGTH = 20;
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+
+    public LongAsStringSerializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public void serialize(Long value, JsonGenerator gen, SerializationContext ctxt) {
+        long v = value;
+        if (v == Long.MIN_VALUE) {
+            // 取反会溢出，极少出现，直接走 String
+            gen.writeString(Long.toString(v));
+            return;
+        }
+        char[] buffer = BUFFER.get();
+        int pos = MAX_LENGTH;
+        boolean negative = v < 0;
+        if (negative) {
+            v = -v;
+        }
+        do {
+            buffer[--pos] = (char) ('0' + (int) (v % 10));
+            v /= 10;
+        } while (v != 0);
+        if (negative) {
+            buffer[--pos] = '-';
+        }
+        gen.writeString(buffer, pos, MAX_LENGTH - pos);
+    }
+
+    @Override
+    public void serializeWithType(Long value, JsonGenerator gen, SerializationContext ctxt, TypeSerializer typeSer) {
+        // 与 ToStringSerializer 一致：按字符串值写类型信息
+        WritableTypeId typeIdDef = typeSer.writeTypePrefix(gen, ctxt, typeSer.typeId(value, JsonToken.VALUE_STRING));
+        serialize(value, gen, ctxt);
+        typeSer.writeTypeSuffix(gen, ctxt, typeIdDef);
+    }
+}
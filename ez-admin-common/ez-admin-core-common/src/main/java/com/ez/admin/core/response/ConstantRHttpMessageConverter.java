@@ -0,0 +1,199 @@
+package com.ez.admin.core.response;
+
+import com.ez.admin.core.entity.ConstantR;
+import com.ez.admin.core.entity.R;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 常量返回结果 JSON 转换器
+ * <p>
+ * 专门写出 {@link ConstantR}：首次写出某个实例时，用与 Web 层相同的 ObjectMapper 序列化一个
+ * timestamp、traceId 为占位值的 R，按占位值位置切成三段字节并缓存；之后每次请求只拼接这两个动态字段，
+ * 字段顺序、Long 转字符串等格式与普通 R 完全一致，且不再经过 Jackson 序列化。
+ * </p>
+ * <p>
+ * 追踪 ID 含有需要 JSON 转义的字符、或占位值在序列化结果中找不到（如 ObjectMapper 配置了忽略字段）时，
+ * 回退为直接用 ObjectMapper 序列化。该转换器只处理 JSON，其他格式仍由后续转换器按普通 R 处理。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public class ConstantRHttpMessageConverter extends AbstractHttpMessageConverter<ConstantR> {
+
+    private static final long TIMESTAMP_PLACEHOLDER = Long.MIN_VALUE;
+    private static final String TRACE_ID_PLACEHOLDER = "__ez_trace_id_placeholder__";
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 常量结果实例 -> 预编码模板（ConstantR 按实例判等）
+     */
+    private final Map<ConstantR, Template> templates = new ConcurrentHashMap<>();
+
+    /**
+     * @param objectMapper Web 层使用的 ObjectMapper
+     */
+    public ConstantRHttpMessageConverter(ObjectMapper objectMapper) {
+        super(StandardCharsets.UTF_8, MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ConstantR.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ConstantR readInternal(Class<? extends ConstantR> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ConstantR 仅用于响应输出", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(ConstantR result, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long timestamp = result.getTimestamp();
+        String traceId = result.getTraceId();
+        Template template = templates.computeIfAbsent(result, this::compile);
+
+        byte[] body = template != null && isPlainAscii(traceId)
+                ? template.render(timestamp, traceId)
+                : objectMapper.writeValueAsBytes(snapshot(result, timestamp, traceId));
+        outputMessage.getHeaders().setContentLength(body.length);
+        outputMessage.getBody().write(body);
+    }
+
+    /**
+     * 生成预编码模板，占位值找不到时返回 null（ConcurrentHashMap 不缓存 null，每次回退序列化）
+     */
+    private Template compile(ConstantR result) {
+        byte[] encoded = objectMapper.writeValueAsBytes(snapshot(result, TIMESTAMP_PLACEHOLDER, TRACE_ID_PLACEHOLDER));
+        byte[] timestampMarker = Long.toString(TIMESTAMP_PLACEHOLDER).getBytes(StandardCharsets.US_ASCII);
+        byte[] traceIdMarker = TRACE_ID_PLACEHOLDER.getBytes(StandardCharsets.US_ASCII);
+        int timestampAt = indexOf(encoded, timestampMarker);
+        int traceIdAt = indexOf(encoded, traceIdMarker);
+        if (timestampAt < 0 || traceIdAt < 0) {
+            return null;
+        }
+
+        boolean timestampFirst = timestampAt < traceIdAt;
+        int firstAt = timestampFirst ? timestampAt : traceIdAt;
+        int firstEnd = firstAt + (timestampFirst ? timestampMarker.length : traceIdMarker.length);
+        int secondAt = timestampFirst ? traceIdAt : timestampAt;
+        int secondEnd = secondAt + (timestampFirst ? traceIdMarker.length : timestampMarker.length);
+        return new Template(
+                slice(encoded, 0, firstAt),
+                slice(encoded, firstEnd, secondAt),
+                slice(encoded, secondEnd, encoded.length),
+                timestampFirst);
+    }
+
+    private static R<Void> snapshot(ConstantR result, long timestamp, String traceId) {
+        return R.<Void>builder()
+                .success(result.getSuccess())
+                .code(result.getCode())
+                .message(result.getMessage())
+                .timestamp(timestamp)
+                .traceId(traceId)
+                .build();
+    }
+
+    /**
+     * 追踪 ID 只含无需 JSON 转义的 ASCII 字符时才能直接拼接（TraceIdFilter 生成和校验的 ID 均满足）
+     */
+    private static boolean isPlainAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c >= 0x7F || c == '"' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(byte[] source, byte[] target) {
+        outer:
+        for (int i = 0; i <= source.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (source[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static byte[] slice(byte[] source, int from, int to) {
+        byte[] slice = new byte[to - from];
+        System.arraycopy(source, from, slice, 0, slice.length);
+        return slice;
+    }
+
+    /**
+     * 预编码模板：head + 动态字段 + middle + 动态字段 + tail
+     */
+    private record Template(byte[] head, byte[] middle, byte[] tail, boolean timestampFirst) {
+
+        byte[] render(long timestamp, String traceId) {
+            byte[] digits = new byte[20];
+            int digitsAt = writeDigits(timestamp, digits);
+            int digitsLength = digits.length - digitsAt;
+
+            byte[] body = new byte[head.length + middle.length + tail.length + digitsLength + traceId.length()];
+            int pos = 0;
+            System.arraycopy(head, 0, body, pos, head.length);
+            pos += head.length;
+            pos = timestampFirst
+                    ? copy(digits, digitsAt, digitsLength, body, pos)
+                    : copyAscii(traceId, body, pos);
+            System.arraycopy(middle, 0, body, pos, middle.length);
+            pos += middle.length;
+            pos = timestampFirst
+                    ? copyAscii(traceId, body, pos)
+                    : copy(digits, digitsAt, digitsLength, body, pos);
+            System.arraycopy(tail, 0, body, pos, tail.length);
+            return body;
+        }
+
+        /**
+         * 从缓冲区末尾向前写入十进制数字，返回起始下标（时间戳为正数）
+         */
+        private static int writeDigits(long value, byte[] buffer) {
+            int pos = buffer.length;
+            do {
+                buffer[--pos] = (byte) ('0' + (value % 10));
+                value /= 10;
+            } while (value > 0);
+            return pos;
+        }
+
+        private static int copy(byte[] source, int from, int length, byte[] target, int pos) {
+            System.arraycopy(source, from, target, pos, length);
+            return pos + length;
+        }
+
+        private static int copyAscii(String value, byte[] target, int pos) {
+            for (int i = 0; i < value.length(); i++) {
+                target[pos++] = (byte) value.charAt(i);
+            }
+            return pos;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.ez.admin.core.response;
+
+import com.ez.admin.core.constant.HttpHeaderConstants;
+import com.ez.admin.core.entity.R;
+import com.ez.admin.core.entity.StreamingR;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 内部调用无信封响应处理
+ * <p>
+ * 请求同时携带内部调用标记 {@value HttpHeaderConstants#INTERNAL_CALL} 和
+ * {@value HttpHeaderConstants#ENVELOPE}: {@value HttpHeaderConstants#ENVELOPE_NONE} 时，
+ * Controller 及全局异常处理器返回的 {@link R} 不再整体序列化：
+ * <ul>
+ *   <li>成功：响应体只有 data（data 为 null 时响应体为空）</li>
+ *   <li>失败：响应体为空，错误码和提示信息写入响应头
+ *       {@value HttpHeaderConstants#ERROR_CODE} / {@value HttpHeaderConstants#ERROR_MESSAGE}</li>
+ *   <li>两种情况都回写 {@value HttpHeaderConstants#ENVELOPE} 响应头，告知调用方跳过信封解析</li>
+ * </ul>
+ * HTTP 状态码保持不变，与 R 契约下业务失败仍为 200 一致。
+ * 外部调用方不带这两个请求头，仍然得到完整的 R；流式列表（{@link com.ez.admin.core.entity.StreamingR}）不受影响。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@RestControllerAdvice
+public class EnvelopeFreeResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        // 流式列表由转换器在写出时生成状态字段，没有可解包的 data
+        if (!(body instanceof R<?> result) || body instanceof StreamingR<?> || !isEnvelopeFreeRequest(request.getHeaders())) {
+            return body;
+        }
+
+        HttpHeaders headers = response.getHeaders();
+        headers.set(HttpHeaderConstants.ENVELOPE, HttpHeaderConstants.ENVELOPE_NONE);
+        if (result.isSuccess()) {
+            return result.getData();
+        }
+        headers.set(HttpHeaderConstants.ERROR_CODE, String.valueOf(result.getCode()));
+        if (result.getMessage() != null) {
+            headers.set(HttpHeaderConstants.ERROR_MESSAGE, URLEncoder.encode(result.getMessage(), StandardCharsets.UTF_8));
+        }
+        return null;
+    }
+
+    private boolean isEnvelopeFreeRequest(HttpHeaders headers) {
+        return HttpHeaderConstants.ENVELOPE_NONE.equals(headers.getFirst(HttpHeaderConstants.ENVELOPE))
+                && Boolean.parseBoolean(headers.getFirst(HttpHeaderConstants.INTERNAL_CALL));
+    }
+}
@@ -0,0 +1,40 @@
+package com.ez.admin.core.response;
+
+import com.ez.admin.core.constant.HttpHeaderConstants;
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.List;
+
+/**
+ * 仅对内部调用协商 Smile 的内容协商策略
+ * <p>
+ * 按请求头 Accept 解析可接受的媒体类型；请求未携带 {@value HttpHeaderConstants#INTERNAL_CALL}: true 时，
+ * 去掉其中的 {@value HttpHeaderConstants#APPLICATION_SMILE}，网关、浏览器等外部调用方只会得到 JSON。
+ * 外部调用方只接受 Smile 时返回 406。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public class InternalSmileNegotiationStrategy extends HeaderContentNegotiationStrategy {
+
+    private static final MediaType SMILE = MediaType.parseMediaType(HttpHeaderConstants.APPLICATION_SMILE);
+
+    @Override
+    public List<MediaType> resolveMediaTypes(NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        List<MediaType> mediaTypes = super.resolveMediaTypes(request);
+        if (Boolean.parseBoolean(request.getHeader(HttpHeaderConstants.INTERNAL_CALL))) {
+            return mediaTypes;
+        }
+        List<MediaType> external = mediaTypes.stream()
+                .filter(mediaType -> !SMILE.equalsTypeAndSubtype(mediaType))
+                .toList();
+        if (external.isEmpty()) {
+            throw new HttpMediaTypeNotAcceptableException(List.of(MediaType.APPLICATION_JSON));
+        }
+        return external;
+    }
+}
@@ -0,0 +1,152 @@
+package com.ez.admin.core.response;
+
+import com.ez.admin.core.constant.HttpHeaderConstants;
+import com.ez.admin.core.entity.StreamingR;
+import com.ez.admin.core.enums.BusinessErrorCode;
+import com.ez.admin.core.exception.BaseException;
+import com.ez.admin.core.trace.TraceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 流式列表返回结果转换器
+ * <p>
+ * 写出 {@link StreamingR}：直接在响应流上创建 Jackson 生成器，依次写出
+ * <ol>
+ *   <li>{@code {"data":[}}</li>
+ *   <li>数据源交付的每个元素（生成器缓冲区写满即刷到响应流，不在内存中累积）</li>
+ *   <li>{@code ],"success":..,"code":..,"message":..,"timestamp":..,"traceId":..}}</li>
+ * </ol>
+ * 数据源中途抛出异常时按 {@link BaseException} 的错误码（其他异常按系统内部错误）写入尾部；
+ * 写元素失败（客户端断开、序列化失败）时生成器状态已不可用，直接向上抛出，连接以不完整的响应结束。
+ * </p>
+ * <p>
+ * 支持 JSON 和 Smile：内部调用优先接受 Smile，若不处理 Smile，后续的 Smile 转换器会把 StreamingR 当作普通 Bean 序列化。
+ * 是否协商为 Smile 由 {@link InternalSmileNegotiationStrategy} 决定，外部调用不会选中 Smile。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Slf4j
+public class StreamingRHttpMessageConverter extends AbstractHttpMessageConverter<StreamingR<?>> {
+
+    private static final MediaType SMILE = MediaType.parseMediaType(HttpHeaderConstants.APPLICATION_SMILE);
+
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper smileMapper;
+
+    /**
+     * @param objectMapper JSON 使用的 ObjectMapper
+     * @param smileMapper  Smile 使用的 ObjectMapper，为 null 时只支持 JSON
+     */
+    public StreamingRHttpMessageConverter(ObjectMapper objectMapper, ObjectMapper smileMapper) {
+        this.objectMapper = objectMapper;
+        this.smileMapper = smileMapper;
+        List<MediaType> mediaTypes = new ArrayList<>();
+        mediaTypes.add(MediaType.APPLICATION_JSON);
+        if (smileMapper != null) {
+            mediaTypes.add(SMILE);
+        }
+        setSupportedMediaTypes(mediaTypes);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return StreamingR.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected StreamingR<?> readInternal(Class<? extends StreamingR<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("StreamingR 仅用于响应输出", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(StreamingR<?> result, HttpOutputMessage outputMessage) throws IOException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        ObjectMapper mapper = smileMapper != null && SMILE.isCompatibleWith(contentType) ? smileMapper : objectMapper;
+        long timestamp = System.currentTimeMillis();
+
+        try (JsonGenerator generator = mapper.createGenerator(outputMessage.getBody())) {
+            generator.writeStartObject();
+            generator.writeName("data");
+            generator.writeStartArray();
+            Failure failure = writeElements(result, mapper.writerFor(result.elementType()), generator);
+            generator.writeEndArray();
+
+            boolean success = failure == null;
+            generator.writeBooleanProperty("success", success);
+            generator.writeNumberProperty("code", success ? BusinessErrorCode.SUCCESS.getCode() : failure.code());
+            generator.writeStringProperty("message", success ? BusinessErrorCode.SUCCESS.getMessage() : failure.message());
+            generator.writeName("timestamp");
+            // 与 R 一致，经 ObjectMapper 写出（JSON 下 Long 为字符串）
+            mapper.writeValue(generator, timestamp);
+            generator.writeStringProperty("traceId", TraceContext.currentOrGenerate());
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * 拉取并写出所有元素
+     *
+     * @return 数据源失败时的错误信息，成功返回 null
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Failure writeElements(StreamingR<?> result, ObjectWriter writer, JsonGenerator generator) {
+        int[] count = {0};
+        try {
+            ((StreamingR.Source) result.source()).forEach(element -> {
+                try {
+                    writer.writeValue(generator, element);
+                } catch (JacksonException e) {
+                    throw new WriteFailedException(e);
+                }
+                count[0]++;
+            });
+            log.debug("流式列表输出完成: 元素数量={}", count[0]);
+            return null;
+        } catch (WriteFailedException e) {
+            log.warn("流式列表写出中断: 已写出元素数量={}, 原因={}", count[0], e.getCause().getMessage());
+            throw (JacksonException) e.getCause();
+        } catch (BaseException e) {
+            log.warn("流式列表数据源异常: 已写出元素数量={}, 错误码={}, 错误信息={}", count[0], e.getCode(), e.getMessage());
+            return new Failure(e.getCode(), e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("流式列表数据源异常: 已写出元素数量={}", count[0], e);
+            return new Failure(BusinessErrorCode.INTERNAL_ERROR.getCode(), BusinessErrorCode.INTERNAL_ERROR.getMessage());
+        }
+    }
+
+    /**
+     * 数据源失败时写入尾部的状态
+     */
+    private record Failure(int code, String message) {
+    }
+
+    /**
+     * 区分写响应流失败与数据源失败
+     */
+    private static final class WriteFailedException extends RuntimeException {
+
+        WriteFailedException(JacksonException cause) {
+            super(cause);
+        }
+    }
+}
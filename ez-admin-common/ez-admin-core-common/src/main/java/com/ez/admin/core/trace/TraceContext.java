@@ -0,0 +1,94 @@
+package com.ez.admin.core.trace;
+
+import org.slf4j.MDC;
+
+import java.util.function.Supplier;
+
+/**
+ * 当前线程的链路追踪上下文
+ * <p>
+ * 入站请求由 {@link TraceIdFilter} 设置，同时写入 MDC（键为 {@value #MDC_KEY}），
+ * 日志格式中通过 {@code %X{traceId}} 输出。统一返回结果 R、Feign 出站请求都从这里读取同一个追踪 ID，
+ * 一次请求经过的各服务日志与返回给前端的 traceId 可以互相对应。
+ * 切换线程执行（异步调用、线程池）时需用 {@link #wrap(Supplier)} 把追踪 ID 带过去。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public final class TraceContext {
+
+    /**
+     * MDC 中的追踪 ID 键
+     */
+    public static final String MDC_KEY = "traceId";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TraceContext() {
+    }
+
+    /**
+     * 获取当前线程的追踪 ID
+     *
+     * @return 追踪 ID，没有时返回 null
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 获取当前线程的追踪 ID，没有时（如定时任务、启动阶段）生成一个新的但不绑定到线程
+     *
+     * @return 追踪 ID
+     */
+    public static String currentOrGenerate() {
+        String traceId = CURRENT.get();
+        return traceId != null ? traceId : TraceIdGenerator.generate();
+    }
+
+    /**
+     * 设置当前线程的追踪 ID 并同步到 MDC
+     *
+     * @param traceId 追踪 ID，为 null 时清除
+     */
+    public static void set(String traceId) {
+        if (traceId == null) {
+            clear();
+            return;
+        }
+        CURRENT.set(traceId);
+        MDC.put(MDC_KEY, traceId);
+    }
+
+    /**
+     * 清除当前线程的追踪 ID 及 MDC
+     */
+    public static void clear() {
+        CURRENT.remove();
+        MDC.remove(MDC_KEY);
+    }
+
+    /**
+     * 把当前线程的追踪 ID 绑定到任务上，在其他线程执行时恢复
+     *
+     * @param task 任务
+     * @param <T>  返回值类型
+     * @return 携带追踪 ID 的任务
+     */
+    public static <T> Supplier<T> wrap(Supplier<T> task) {
+        String captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            String previous = CURRENT.get();
+            set(captured);
+            try {
+                return task.get();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+}
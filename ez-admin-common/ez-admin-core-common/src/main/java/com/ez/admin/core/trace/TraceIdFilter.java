@@ -0,0 +1,44 @@
+package com.ez.admin.core.trace;
+
+import com.ez.admin.core.constant.HttpHeaderConstants;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 链路追踪 ID 过滤器
+ * <p>
+ * 为每个入站请求确定追踪 ID 并放入 {@link TraceContext}：
+ * <ul>
+ *   <li>请求头携带合法的 {@value HttpHeaderConstants#TRACE_ID}（上游服务或网关传入）：沿用</li>
+ *   <li>未携带或格式非法：用 {@link TraceIdGenerator} 生成新的</li>
+ * </ul>
+ * 追踪 ID 同时写入响应头，即使响应体不是 R（如文件下载、流式导出）也能据此定位日志。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public class TraceIdFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String traceId = request.getHeader(HttpHeaderConstants.TRACE_ID);
+        if (!TraceIdGenerator.isValid(traceId)) {
+            traceId = TraceIdGenerator.generate();
+        }
+
+        TraceContext.set(traceId);
+        response.setHeader(HttpHeaderConstants.TRACE_ID, traceId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TraceContext.clear();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.ez.admin.core.trace;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 链路追踪 ID 生成器
+ * <p>
+ * 追踪 ID 只用于日志关联，不需要密码学强度，因此使用 {@link ThreadLocalRandom} 取一个 64 位随机数，
+ * 编码为 16 位小写十六进制字符串：
+ * <ul>
+ *   <li>不经过 {@code UUID.randomUUID()} 背后的 SecureRandom，没有全局锁和熵源开销</li>
+ *   <li>只分配最终的一个 String，不再有 toString / replace / substring 的中间字符串</li>
+ *   <li>长度与原先 R 中截取的 16 位 UUID 一致，日志检索、前端展示不受影响</li>
+ * </ul>
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public final class TraceIdGenerator {
+
+    /**
+     * 生成的追踪 ID 长度
+     */
+    public static final int LENGTH = 16;
+
+    /**
+     * 接受的上游追踪 ID 最大长度，超出时视为非法并重新生成
+     */
+    public static final int MAX_INBOUND_LENGTH = 64;
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private TraceIdGenerator() {
+    }
+
+    /**
+     * 生成新的追踪 ID
+     *
+     * @return 16 位小写十六进制字符串
+     */
+    public static String generate() {
+        return HEX.toHexDigits(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * 校验上游传入的追踪 ID
+     * <p>
+     * 仅接受 1 ~ {@value #MAX_INBOUND_LENGTH} 位的字母、数字、{@code -} 和 {@code _}，
+     * 防止请求头中的换行等字符经 MDC 注入日志。
+     * </p>
+     *
+     * @param traceId 上游追踪 ID
+     * @return 是否可以直接沿用
+     */
+    public static boolean isValid(String traceId) {
+        if (traceId == null) {
+            return false;
+        }
+        int length = traceId.length();
+        if (length == 0 || length > MAX_INBOUND_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = traceId.charAt(i);
+            boolean allowed = (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+                    || c == '-' || c == '_';
+            if (!allowed) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
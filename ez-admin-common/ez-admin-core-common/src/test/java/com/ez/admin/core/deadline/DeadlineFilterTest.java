@@ -0,0 +1,102 @@
+package com.ez.admin.core.deadline;
+
+import com.ez.admin.core.auth.InternalCallAuthenticator;
+import com.ez.admin.core.constant.HttpHeaderConstants;
+import com.ez.admin.core.enums.BusinessErrorCode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 请求截止时间过滤器测试
+ * <p>
+ * 覆盖截止时间请求头只对认证通过的内部调用生效、取值超出 [0, 上限] 时回落到默认超时，
+ * 以及到达时已超时的请求直接返回 504。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+class DeadlineFilterTest {
+
+    private static final String SECRET = "test-internal-secret";
+
+    private final DeadlineFilter filter = new DeadlineFilter(Duration.ofSeconds(10),
+            Map.of("/slow/**", Duration.ofSeconds(20)), Duration.ofMinutes(1),
+            new InternalCallAuthenticator(SECRET), JsonMapper.builder().build());
+
+    @Test
+    void authenticatedInternalCallUsesPropagatedTimeout() throws Exception {
+        Deadline deadline = filter(request("2000", SECRET));
+
+        assertThat(deadline.remainingMillis()).isBetween(1L, 2000L);
+    }
+
+    @Test
+    void unauthenticatedHeaderIsIgnored() throws Exception {
+        // 只有内部调用标记、凭证错误或缺失时按默认超时处理
+        assertThat(filter(request("600000", null)).remainingMillis()).isBetween(9000L, 10000L);
+        assertThat(filter(request("600000", "wrong")).remainingMillis()).isBetween(9000L, 10000L);
+    }
+
+    @Test
+    void outOfRangeTimeoutFallsBackToConfiguredTimeout() throws Exception {
+        assertThat(filter(request("600000", SECRET)).remainingMillis()).isBetween(9000L, 10000L);
+        assertThat(filter(request("-1", SECRET)).remainingMillis()).isBetween(9000L, 10000L);
+        assertThat(filter(request("abc", SECRET)).remainingMillis()).isBetween(9000L, 10000L);
+
+        MockHttpServletRequest slow = request(String.valueOf(Long.MAX_VALUE), SECRET);
+        slow.setRequestURI("/slow/refresh");
+        assertThat(filter(slow).remainingMillis()).isBetween(19000L, 20000L);
+    }
+
+    @Test
+    void missingSecretTrustsNoInternalCall() throws Exception {
+        DeadlineFilter withoutSecret = new DeadlineFilter(null, Map.of(), Duration.ofMinutes(1),
+                new InternalCallAuthenticator(null), JsonMapper.builder().build());
+        AtomicReference<Deadline> captured = new AtomicReference<>();
+
+        withoutSecret.doFilter(request("2000", ""), new MockHttpServletResponse(),
+                (req, res) -> captured.set(DeadlineContext.current()));
+
+        assertThat(captured.get()).isNull();
+    }
+
+    @Test
+    void expiredDeadlineIsRejectedWithGatewayTimeout() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<Boolean> invoked = new AtomicReference<>(false);
+
+        filter.doFilter(request("0", SECRET), response, (req, res) -> invoked.set(true));
+
+        assertThat(invoked.get()).isFalse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT.value());
+        assertThat(response.getContentAsString())
+                .contains(String.valueOf(BusinessErrorCode.DEADLINE_EXCEEDED.getCode()));
+    }
+
+    private Deadline filter(MockHttpServletRequest request) throws Exception {
+        AtomicReference<Deadline> captured = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> captured.set(DeadlineContext.current()));
+        assertThat(DeadlineContext.current()).isNull();
+        return captured.get();
+    }
+
+    private static MockHttpServletRequest request(String timeout, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/probe");
+        request.addHeader(HttpHeaderConstants.INTERNAL_CALL, "true");
+        request.addHeader(HttpHeaderConstants.REQUEST_TIMEOUT, timeout);
+        if (token != null) {
+            request.addHeader(HttpHeaderConstants.INTERNAL_TOKEN, token);
+        }
+        return request;
+    }
+}
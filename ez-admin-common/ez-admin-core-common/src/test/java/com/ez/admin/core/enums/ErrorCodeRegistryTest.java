@@ -0,0 +1,93 @@
+package com.ez.admin.core.enums;
+
+import com.ez.admin.core.config.ExceptionConfig;
+import com.ez.fixture.errorcode.conflict.ConflictingErrorCode;
+import com.ez.fixture.errorcode.extra.ExtraErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 错误码注册表测试
+ * <p>
+ * 覆盖开放寻址表的查找、按首位数字推断未注册错误码的级别，以及错误码冲突时注册失败（含通过
+ * {@link ExceptionConfig} 扫描启动的场景）。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+class ErrorCodeRegistryTest {
+
+    @AfterEach
+    void tearDown() {
+        ErrorCodeRegistry.register(List.of());
+    }
+
+    @Test
+    void everyBusinessErrorCodeResolvesToItself() {
+        for (BusinessErrorCode errorCode : BusinessErrorCode.values()) {
+            assertThat(ErrorCodeRegistry.find(errorCode.getCode())).isSameAs(errorCode);
+            assertThat(ErrorCodeRegistry.levelOf(errorCode.getCode())).isEqualTo(errorCode.getLevel());
+        }
+        assertThat(ErrorCodeRegistry.size()).isEqualTo(BusinessErrorCode.values().length);
+    }
+
+    @Test
+    void registeredEnumIsClassifiedByLevel() {
+        ErrorCodeRegistry.register(List.of(ExtraErrorCode.class));
+
+        assertThat(ErrorCodeRegistry.find(1003001)).isSameAs(ExtraErrorCode.ORDER_NOT_FOUND);
+        assertThat(ErrorCodeRegistry.levelOf(1003001)).isEqualTo(ErrorCodeLevel.CLIENT);
+        assertThat(ErrorCodeRegistry.needAlert(1003001)).isFalse();
+        assertThat(ErrorCodeRegistry.find(3003001)).isSameAs(ExtraErrorCode.PAYMENT_GATEWAY_TIMEOUT);
+        assertThat(ErrorCodeRegistry.needAlert(3003001)).isTrue();
+        assertThat(ErrorCodeRegistry.size()).isEqualTo(BusinessErrorCode.values().length + 2);
+    }
+
+    @Test
+    void unregisteredCodeFallsBackToLeadingDigit() {
+        assertThat(ErrorCodeRegistry.find(1999999)).isNull();
+        assertThat(ErrorCodeRegistry.levelOf(1999999)).isEqualTo(ErrorCodeLevel.CLIENT);
+        assertThat(ErrorCodeRegistry.needAlert(1999999)).isFalse();
+        assertThat(ErrorCodeRegistry.levelOf(2999999)).isEqualTo(ErrorCodeLevel.SERVER);
+
+        // 首位无对应级别或非正数：无法识别，按需要告警处理
+        assertThat(ErrorCodeRegistry.levelOf(500)).isNull();
+        assertThat(ErrorCodeRegistry.needAlert(500)).isTrue();
+        assertThat(ErrorCodeRegistry.find(0)).isNull();
+        assertThat(ErrorCodeRegistry.needAlert(-1)).isTrue();
+    }
+
+    @Test
+    void conflictingCodesFailRegistrationAndKeepPreviousTable() {
+        ErrorCodeRegistry.register(List.of(ExtraErrorCode.class));
+
+        assertThatThrownBy(() -> ErrorCodeRegistry.register(List.of(ExtraErrorCode.class, ConflictingErrorCode.class)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("1100001")
+                .hasMessageContaining("BusinessErrorCode.USER_NOT_FOUND")
+                .hasMessageContaining("ConflictingErrorCode.DUPLICATE_USER_NOT_FOUND");
+
+        assertThat(ErrorCodeRegistry.find(1100001)).isSameAs(BusinessErrorCode.USER_NOT_FOUND);
+        assertThat(ErrorCodeRegistry.find(1003001)).isSameAs(ExtraErrorCode.ORDER_NOT_FOUND);
+    }
+
+    @Test
+    void conflictingCodesFailStartup() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ExceptionConfig.class))
+                .withPropertyValues("ez.exception.error-code-packages=com.ez.fixture.errorcode")
+                .run(context -> assertThat(context).hasFailed()
+                        .getFailure()
+                        .rootCause()
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("错误码冲突"));
+    }
+}
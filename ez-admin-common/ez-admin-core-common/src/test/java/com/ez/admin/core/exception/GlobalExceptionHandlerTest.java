@@ -0,0 +1,166 @@
+package com.ez.admin.core.exception;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.ez.admin.core.config.ExceptionConfig;
+import com.ez.admin.core.enums.BusinessErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+/**
+ * 全局异常处理器测试
+ * <p>
+ * 覆盖处理器的注册（{@link ExceptionConfig}）、业务异常经 MockMvc 抛出后的日志限流与指标，
+ * 按错误级别选择日志级别：用户端错误只记 info 且不带堆栈，服务端错误记 error；
+ * 以及被框架包装的截止时间已过异常按超时错误码返回。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+class GlobalExceptionHandlerTest {
+
+    private static final String URI_TEMPLATE = "/probe/{id}";
+
+    private SimpleMeterRegistry registry;
+    private ListAppender<ILoggingEvent> logAppender;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        GlobalExceptionHandler handler =
+                new GlobalExceptionHandler(new ExceptionLogLimiter(Duration.ofMinutes(1), 2, 1000, registry));
+
+        logAppender = new ListAppender<>();
+        logAppender.start();
+        handlerLogger().addAppender(logAppender);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProbeController())
+                .setControllerAdvice(handler)
+                .setMessageConverters(new JacksonJsonHttpMessageConverter(JsonMapper.builder().build()))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        handlerLogger().detachAppender(logAppender);
+    }
+
+    @Test
+    void handlerIsRegisteredInServletApplications() {
+        new WebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ExceptionConfig.class))
+                .run(context -> assertThat(context).hasSingleBean(GlobalExceptionHandler.class));
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ExceptionConfig.class))
+                .run(context -> assertThat(context).doesNotHaveBean(GlobalExceptionHandler.class));
+    }
+
+    @Test
+    void businessExceptionLogsAreRateLimitedPerUriTemplate() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/probe/{id}", i))
+                    .andExpect(jsonPath("$.success").value(false))
+                    .andExpect(jsonPath("$.code").value(BusinessErrorCode.USER_NOT_FOUND.getCode()));
+        }
+
+        // 路径变量不同的请求归入同一个 URI 模板：5 次异常，前 2 次输出日志，其余 3 次被抑制
+        assertThat(count("ez.exception.occurrences", BusinessErrorCode.USER_NOT_FOUND, URI_TEMPLATE)).isEqualTo(5);
+        assertThat(count("ez.exception.log.suppressed", BusinessErrorCode.USER_NOT_FOUND, URI_TEMPLATE)).isEqualTo(3);
+    }
+
+    @Test
+    void unexpectedExceptionIsReportedAsInternalError() throws Exception {
+        mockMvc.perform(get("/probe/error"))
+                .andExpect(jsonPath("$.code").value(BusinessErrorCode.INTERNAL_ERROR.getCode()))
+                .andExpect(jsonPath("$.message").value(BusinessErrorCode.INTERNAL_ERROR.getMessage()));
+
+        assertThat(count("ez.exception.occurrences", BusinessErrorCode.INTERNAL_ERROR, "/probe/error")).isEqualTo(1);
+    }
+
+    @Test
+    void wrappedDeadlineExceededIsReportedAsTimeout() throws Exception {
+        mockMvc.perform(get("/probe/deadline"))
+                .andExpect(jsonPath("$.code").value(BusinessErrorCode.DEADLINE_EXCEEDED.getCode()));
+
+        assertThat(count("ez.exception.occurrences", BusinessErrorCode.DEADLINE_EXCEEDED, "/probe/deadline")).isEqualTo(1);
+        assertThat(count("ez.exception.occurrences", BusinessErrorCode.INTERNAL_ERROR, "/probe/deadline")).isZero();
+    }
+
+    @Test
+    void clientLevelExceptionIsLoggedAtInfoWithoutStackTrace() throws Exception {
+        mockMvc.perform(get("/probe/{id}", 1))
+                .andExpect(jsonPath("$.code").value(BusinessErrorCode.USER_NOT_FOUND.getCode()));
+        mockMvc.perform(get("/probe/server"))
+                .andExpect(jsonPath("$.code").value(BusinessErrorCode.DATABASE_ERROR.getCode()));
+
+        assertThat(logAppender.list).hasSize(2);
+        ILoggingEvent clientEvent = logAppender.list.get(0);
+        assertThat(clientEvent.getLevel()).isEqualTo(Level.INFO);
+        assertThat(clientEvent.getThrowableProxy()).isNull();
+        ILoggingEvent serverEvent = logAppender.list.get(1);
+        assertThat(serverEvent.getLevel()).isEqualTo(Level.ERROR);
+        assertThat(serverEvent.getThrowableProxy()).isNotNull();
+    }
+
+    private static Logger handlerLogger() {
+        return (Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class);
+    }
+
+    private double count(String name, BusinessErrorCode code, String uri) {
+        Counter counter = registry.find(name)
+                .tag("code", String.valueOf(code.getCode()))
+                .tag("uri", uri)
+                .counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    @RestController
+    static class ProbeController {
+
+        @GetMapping(URI_TEMPLATE)
+        public String find(@PathVariable long id) {
+            throw new BusinessException(BusinessErrorCode.USER_NOT_FOUND);
+        }
+
+        @GetMapping("/probe/server")
+        public String server() {
+            throw new BusinessException(BusinessErrorCode.DATABASE_ERROR);
+        }
+
+        @GetMapping("/probe/error")
+        public String error() {
+            throw new IllegalStateException("boom");
+        }
+
+        @GetMapping("/probe/deadline")
+        public String deadline() {
+            // 模拟 MyBatis 拦截器抛出后被包装为持久层异常
+            throw new IllegalStateException("nested exception",
+                    new RuntimeException(new DeadlineExceededException("SQL 查询")));
+        }
+    }
+}
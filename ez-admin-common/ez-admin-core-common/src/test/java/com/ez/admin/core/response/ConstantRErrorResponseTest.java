@@ -0,0 +1,129 @@
+package com.ez.admin.core.response;
+
+import com.ez.admin.core.config.ConstantResponseConfig;
+import com.ez.admin.core.config.ExceptionConfig;
+import com.ez.admin.core.config.JacksonConfig;
+import com.ez.admin.core.entity.R;
+import com.ez.admin.core.enums.BusinessErrorCode;
+import com.ez.admin.core.exception.BusinessException;
+import com.ez.admin.core.trace.TraceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.http.converter.autoconfigure.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.boot.webmvc.autoconfigure.WebMvcAutoConfiguration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 按错误码默认提示返回的错误响应测试
+ * <p>
+ * 在启用 Web MVC 自动配置的上下文中抛出业务异常，确认 {@code GlobalExceptionHandler} 返回的 ConstantR
+ * 由 {@link ConstantRHttpMessageConverter} 预编码写出，且与 ObjectMapper 直接序列化 R 的结果逐字节一致。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+class ConstantRErrorResponseTest {
+
+    private static final String TRACE_ID = "0123456789abcdef0123456789abcdef";
+
+    private final WebApplicationContextRunner runner = new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class,
+                    HttpMessageConvertersAutoConfiguration.class, WebMvcAutoConfiguration.class,
+                    JacksonConfig.class, ConstantResponseConfig.class, ExceptionConfig.class))
+            .withUserConfiguration(ProbeController.class);
+
+    @AfterEach
+    void tearDown() {
+        TraceContext.clear();
+    }
+
+    @Test
+    void constantConverterIsRegisteredBeforeJackson() {
+        runner.run(context -> {
+            List<HttpMessageConverter<?>> converters =
+                    context.getBean(RequestMappingHandlerAdapter.class).getMessageConverters();
+            assertThat(converters.getFirst()).isInstanceOf(ConstantRHttpMessageConverter.class);
+        });
+    }
+
+    @Test
+    void defaultMessageErrorIsWrittenFromPreEncodedTemplate() {
+        runner.run(context -> {
+            MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+            JsonMapper mapper = context.getBean(JsonMapper.class);
+
+            for (int i = 0; i < 2; i++) {
+                TraceContext.set(TRACE_ID);
+                MvcResult result = mockMvc.perform(get("/probe/default").accept(MediaType.APPLICATION_JSON)).andReturn();
+                String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+                JsonNode json = mapper.readTree(body);
+
+                assertThat(json.get("code").asInt()).isEqualTo(BusinessErrorCode.USER_NOT_FOUND.getCode());
+                assertThat(json.get("message").asString()).isEqualTo(BusinessErrorCode.USER_NOT_FOUND.getMessage());
+                assertThat(json.get("success").asBoolean()).isFalse();
+                assertThat(json.get("traceId").asString()).isEqualTo(TRACE_ID);
+                // 预编码写出时显式设置 Content-Length
+                assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_LENGTH))
+                        .isEqualTo(String.valueOf(body.getBytes(StandardCharsets.UTF_8).length));
+
+                R<Void> expected = R.<Void>builder()
+                        .success(false)
+                        .code(BusinessErrorCode.USER_NOT_FOUND.getCode())
+                        .message(BusinessErrorCode.USER_NOT_FOUND.getMessage())
+                        .timestamp(Long.valueOf(json.get("timestamp").asString()))
+                        .traceId(TRACE_ID)
+                        .build();
+                assertThat(body).isEqualTo(mapper.writeValueAsString(expected));
+            }
+        });
+    }
+
+    @Test
+    void customMessageErrorKeepsItsMessage() {
+        runner.run(context -> {
+            MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+            JsonMapper mapper = context.getBean(JsonMapper.class);
+
+            String body = mockMvc.perform(get("/probe/custom").accept(MediaType.APPLICATION_JSON))
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+            JsonNode json = mapper.readTree(body);
+
+            assertThat(json.get("code").asInt()).isEqualTo(BusinessErrorCode.BAD_REQUEST.getCode());
+            assertThat(json.get("message").asString()).isEqualTo("批量查询数量超过上限");
+        });
+    }
+
+    @RestController
+    static class ProbeController {
+
+        @GetMapping("/probe/default")
+        public R<Void> defaultMessage() {
+            throw new BusinessException(BusinessErrorCode.USER_NOT_FOUND);
+        }
+
+        @GetMapping("/probe/custom")
+        public R<Void> customMessage() {
+            throw new BusinessException(BusinessErrorCode.BAD_REQUEST, "批量查询数量超过上限");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ez.fixture.errorcode.conflict;
+
+import com.ez.admin.core.enums.BusinessErrorCode;
+import com.ez.admin.core.enums.ErrorCode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 与 {@link BusinessErrorCode#USER_NOT_FOUND} 使用同一错误码的测试枚举
+ * <p>
+ * 放在 {@code com.ez.admin} 之外，避免被其他测试中按默认包扫描的 ExceptionConfig 注册。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Getter
+@AllArgsConstructor
+public enum ConflictingErrorCode implements ErrorCode {
+
+    DUPLICATE_USER_NOT_FOUND(1100001, "用户不存在（重复定义）");
+
+    private final Integer code;
+    private final String message;
+}
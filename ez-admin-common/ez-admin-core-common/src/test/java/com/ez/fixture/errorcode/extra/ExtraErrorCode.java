@@ -0,0 +1,22 @@
+package com.ez.fixture.errorcode.extra;
+
+import com.ez.admin.core.enums.ErrorCode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 模拟其他服务定义的错误码枚举（与 BusinessErrorCode 不冲突）
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Getter
+@AllArgsConstructor
+public enum ExtraErrorCode implements ErrorCode {
+
+    ORDER_NOT_FOUND(1003001, "订单不存在"),
+    PAYMENT_GATEWAY_TIMEOUT(3003001, "支付网关超时");
+
+    private final Integer code;
+    private final String message;
+}
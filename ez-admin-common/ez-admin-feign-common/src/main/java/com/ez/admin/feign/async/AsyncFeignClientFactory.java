@@ -0,0 +1,154 @@
+package com.ez.admin.feign.async;
+
+import com.ez.admin.core.deadline.DeadlineContext;
+import com.ez.admin.core.trace.TraceContext;
+import com.ez.admin.feign.exception.BusinessException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 异步 Feign 客户端工厂
+ * <p>
+ * 根据同步 Feign 客户端生成对应的异步客户端：异步接口中的每个方法必须返回 {@link CompletableFuture}，
+ * 并且在同步接口中存在同名、同参数的方法。调用异步方法时，在指定执行器上调用同步方法：
+ * <ul>
+ *   <li>解包、业务状态码校验、熔断降级、调用指标全部复用同步客户端的链路，语义完全一致</li>
+ *   <li>同步方法抛出的异常直接作为 future 的异常完成；业务异常会从 Feign 的 DecodeException 中解包，
+ *       future 以 {@link BusinessException} 本身完成（{@code join()} 时仍按 JDK 约定包装为 CompletionException）</li>
+ *   <li>调用线程的请求截止时间随任务传递到执行线程</li>
+ *   <li>执行器拒绝任务（队列已满、已关闭）时不向调用方抛出，future 以 RejectedExecutionException 完成</li>
+ * </ul>
+ * 方法映射在创建时一次性校验，接口不匹配时启动即失败，而不是在首次调用时才发现。
+ * </p>
+ * <p>
+ * 使用示例：
+ * <pre>{@code
+ * public interface SystemUserAsyncClient {
+ *     CompletableFuture<UserRoleVO> getUserRoles(Long userId);
+ * }
+ *
+ * SystemUserAsyncClient asyncClient =
+ *         AsyncFeignClientFactory.create(SystemUserAsyncClient.class, systemUserFeignClient, feignAsyncExecutor::execute);
+ * CompletableFuture<UserRoleVO> roles = asyncClient.getUserRoles(userId);
+ * }</pre>
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public final class AsyncFeignClientFactory {
+
+    private AsyncFeignClientFactory() {
+    }
+
+    /**
+     * 创建异步客户端
+     *
+     * @param asyncType  异步接口类型
+     * @param syncClient 同步 Feign 客户端
+     * @param executor   执行远程调用的执行器（如 {@code feignAsyncExecutor::execute}）
+     * @param <A>        异步接口类型
+     * @return 异步客户端
+     * @throws IllegalArgumentException 异步接口与同步客户端不匹配
+     */
+    public static <A> A create(Class<A> asyncType, Object syncClient, Executor executor) {
+        if (!asyncType.isInterface()) {
+            throw new IllegalArgumentException(asyncType.getName() + " 不是接口");
+        }
+        Map<Method, Method> mapping = new HashMap<>();
+        for (Method asyncMethod : asyncType.getMethods()) {
+            if (asyncMethod.isDefault() || Modifier.isStatic(asyncMethod.getModifiers())) {
+                continue;
+            }
+            if (asyncMethod.getReturnType() != CompletableFuture.class) {
+                throw new IllegalArgumentException("异步方法必须返回 CompletableFuture: " + asyncMethod);
+            }
+            mapping.put(asyncMethod, findSyncMethod(syncClient, asyncMethod));
+        }
+
+        InvocationHandler handler = new AsyncInvocationHandler(asyncType, syncClient, executor, mapping);
+        return asyncType.cast(Proxy.newProxyInstance(asyncType.getClassLoader(), new Class<?>[]{asyncType}, handler));
+    }
+
+    private static Method findSyncMethod(Object syncClient, Method asyncMethod) {
+        for (Class<?> type : syncClient.getClass().getInterfaces()) {
+            try {
+                return type.getMethod(asyncMethod.getName(), asyncMethod.getParameterTypes());
+            } catch (NoSuchMethodException ignored) {
+                // 继续查找下一个接口
+            }
+        }
+        throw new IllegalArgumentException("同步客户端中不存在对应的方法: " + asyncMethod);
+    }
+
+    /**
+     * 异步调用处理器：在执行器上调用同步方法
+     */
+    private record AsyncInvocationHandler(Class<?> asyncType, Object syncClient, Executor executor,
+                                          Map<Method, Method> mapping) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Method syncMethod = mapping.get(method);
+            if (syncMethod == null) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> asyncType.getSimpleName() + "(" + syncClient + ")";
+                    default -> InvocationHandler.invokeDefault(proxy, method, args);
+                };
+            }
+            // 把调用线程的截止时间和追踪 ID 带到执行线程，异步调用同样受请求剩余时间约束、日志可关联
+            Supplier<Object> call = TraceContext.wrap(DeadlineContext.wrap(() -> invokeSync(syncMethod, args)));
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            try {
+                executor.execute(() -> {
+                    try {
+                        future.complete(call.get());
+                    } catch (Throwable e) {
+                        future.completeExceptionally(unwrap(e));
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // 与调用失败一致，通过 future 通知调用方，而不是在调用线程上同步抛出
+                future.completeExceptionally(e);
+            }
+            return future;
+        }
+
+        /**
+         * 业务异常经 Feign 解码后被包装为 DecodeException，解包后调用方可直接按 BusinessException 处理
+         */
+        private static Throwable unwrap(Throwable error) {
+            BusinessException businessException = BusinessException.find(error);
+            return businessException != null ? businessException : error;
+        }
+
+        private Object invokeSync(Method syncMethod, Object[] args) {
+            try {
+                return syncMethod.invoke(syncClient, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(cause);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.ez.admin.feign.async;
+
+import com.ez.admin.feign.config.FeignAsyncProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异步 Feign 调用执行器
+ * <p>
+ * 两种模式（见 {@link FeignAsyncProperties}）：
+ * <ul>
+ *   <li>虚拟线程（默认）：每个调用一个虚拟线程，阻塞在网络 IO 上不占用平台线程；
+ *       虚拟线程内先获取信号量许可，限制同时进行中的远程调用数，避免扇出过大压垮下游</li>
+ *   <li>平台线程池：固定线程数 + 有界队列，队列满时拒绝（future 以 RejectedExecutionException 完成）</li>
+ * </ul>
+ * </p>
+ * <p>
+ * 本类刻意不实现 {@link java.util.concurrent.Executor}，避免注册为 Bean 后影响 Spring Boot
+ * 按 Executor 类型装配的默认任务执行器；需要 Executor 时使用方法引用 {@code feignAsyncExecutor::execute}。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Slf4j
+public class FeignAsyncExecutor implements AutoCloseable {
+
+    private final ExecutorService delegate;
+
+    /**
+     * 虚拟线程模式下的并发许可，线程池模式下为 null
+     */
+    private final Semaphore permits;
+
+    public FeignAsyncExecutor(FeignAsyncProperties properties) {
+        if (properties.isVirtualThreads()) {
+            this.delegate = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("ez-feign-async-", 0).factory());
+            this.permits = new Semaphore(properties.getMaxConcurrency());
+        } else {
+            this.delegate = new ThreadPoolExecutor(
+                    properties.getMaxConcurrency(), properties.getMaxConcurrency(),
+                    60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                    Thread.ofPlatform().name("ez-feign-async-", 0).daemon().factory(),
+                    new ThreadPoolExecutor.AbortPolicy());
+            this.permits = null;
+        }
+        log.info("异步 Feign 执行器初始化: virtualThreads={}, maxConcurrency={}",
+                properties.isVirtualThreads(), properties.getMaxConcurrency());
+    }
+
+    /**
+     * 提交任务
+     *
+     * @param task 任务
+     * @throws java.util.concurrent.RejectedExecutionException 线程池队列已满或执行器已关闭
+     */
+    public void execute(Runnable task) {
+        if (permits == null) {
+            delegate.execute(task);
+            return;
+        }
+        delegate.execute(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * 停止接收新任务并等待已提交的任务完成
+     */
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
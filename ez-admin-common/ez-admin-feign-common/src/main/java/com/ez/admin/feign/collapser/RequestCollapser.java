@@ -0,0 +1,330 @@
+package com.ez.admin.feign.collapser;
+
+import com.ez.admin.core.deadline.Deadline;
+import com.ez.admin.core.deadline.DeadlineContext;
+import com.ez.admin.core.exception.DeadlineExceededException;
+import com.ez.admin.core.trace.TraceContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * 请求合并器
+ * <p>
+ * 把短时间窗口内多个线程发起的单 Key 查询合并成一次批量调用：
+ * <ol>
+ *   <li>第一个 Key 到达时开启一个合并窗口（默认几毫秒）</li>
+ *   <li>窗口内到达的 Key 进入同一批次，相同 Key 共享同一个结果</li>
+ *   <li>窗口结束或批次达到上限时，在虚拟线程上调用一次批量加载函数</li>
+ *   <li>按 Key 把批量结果分发给各调用方的 {@link CompletableFuture}</li>
+ * </ol>
+ * 高峰期 N 次并发的单条 RPC 会变成约 N / 批次大小 次批量 RPC；低峰期单个请求最多额外等待一个窗口。
+ * </p>
+ * <p>
+ * 批量加载在合并器自己的线程上执行，调用方线程上的上下文按批次传递：
+ * <ul>
+ *   <li>追踪ID：取开启该批次的第一个调用方的追踪ID，批量调用的日志和下游请求可与之关联</li>
+ *   <li>截止时间：取同批次调用方中最晚的截止时间（任一调用方没有截止时间则不设置），
+ *       批量调用不会因为某个调用方的剩余时间较短而让其他调用方一起失败</li>
+ *   <li>登录用户等请求级身份不传递：同一批次混合了多个调用方，不存在对所有 Key 都正确的身份，
+ *       合并的批量查询应只访问不按用户过滤的数据</li>
+ * </ul>
+ * </p>
+ * <p>
+ * 注意：
+ * <ul>
+ *   <li>{@link #get(Object)} 的等待时间不超过调用方自己的截止时间和构造时指定的最长等待时间，
+ *       超出时抛出 {@link DeadlineExceededException}，调用方不会因批次卡住而无限阻塞</li>
+ *   <li>批量结果中缺失的 Key 返回 null；批量加载抛出异常时，同批次所有调用方都会收到该异常</li>
+ * </ul>
+ * </p>
+ * <p>
+ * 使用示例：
+ * <pre>{@code
+ * RequestCollapser<Long, UserRoleVO> collapser = new RequestCollapser<>(
+ *         "user-roles", client::getUserRolesBatch, Duration.ofMillis(5), 200, Duration.ofSeconds(3), meterRegistry);
+ * UserRoleVO roles = collapser.get(userId);
+ * }</pre>
+ * </p>
+ *
+ * @param <K> 查询 Key 类型
+ * @param <V> 查询结果类型
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Slf4j
+public class RequestCollapser<K, V> implements AutoCloseable {
+
+    private final String name;
+    private final Function<List<K>, Map<K, V>> batchLoader;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Duration maxWait;
+
+    /**
+     * 合并窗口计时线程（只负责触发 flush，不执行批量加载）
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 批量加载执行器（每批一个虚拟线程，远程调用阻塞不会占用平台线程）
+     */
+    private final ExecutorService batchExecutor;
+
+    private final DistributionSummary batchSizeSummary;
+    private final Counter requestCounter;
+
+    private final Object lock = new Object();
+    private Batch pending;
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean closed;
+
+    /**
+     * @param name          合并器名称，用于线程名和指标标签
+     * @param batchLoader   批量加载函数：Key 列表 -> (Key -> 结果)
+     * @param window        合并窗口
+     * @param maxBatchSize  单批次最大 Key 数，达到后立即发送，不等窗口结束
+     * @param maxWait       {@link #get(Object)} 的最长等待时间（合并窗口 + 批量调用的超时），
+     *                      调用方有更早的截止时间时以截止时间为准
+     * @param meterRegistry 指标注册表，为 null 时不记录指标
+     */
+    public RequestCollapser(String name, Function<List<K>, Map<K, V>> batchLoader,
+                            Duration window, int maxBatchSize, Duration maxWait, MeterRegistry meterRegistry) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize 必须大于 0");
+        }
+        this.name = Objects.requireNonNull(name, "name");
+        this.batchLoader = Objects.requireNonNull(batchLoader, "batchLoader");
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.maxWait = Objects.requireNonNull(maxWait, "maxWait");
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("ez-collapser-" + name).daemon().factory());
+        this.batchExecutor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("ez-collapser-" + name + "-batch-", 0).factory());
+
+        if (meterRegistry != null) {
+            this.batchSizeSummary = DistributionSummary.builder("ez.feign.collapser.batch.size")
+                    .description("每次批量调用合并的 Key 数量")
+                    .baseUnit("keys")
+                    .tag("collapser", name)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+            this.requestCounter = Counter.builder("ez.feign.collapser.requests")
+                    .description("提交到合并器的单 Key 请求数")
+                    .tag("collapser", name)
+                    .register(meterRegistry);
+        } else {
+            this.batchSizeSummary = null;
+            this.requestCounter = null;
+        }
+    }
+
+    /**
+     * 提交单 Key 查询
+     *
+     * @param key 查询 Key
+     * @return 查询结果，批量结果中不存在该 Key 时为 null
+     */
+    public CompletableFuture<V> submit(K key) {
+        Objects.requireNonNull(key, "key");
+        if (requestCounter != null) {
+            requestCounter.increment();
+        }
+
+        CompletableFuture<V> future;
+        Batch fullBatch = null;
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("请求合并器已关闭: " + name);
+            }
+            if (pending == null) {
+                pending = new Batch(TraceContext.current());
+                scheduledFlush = scheduler.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+            pending.join(DeadlineContext.current());
+            future = pending.futures.get(key);
+            if (future != null) {
+                // 同一窗口内的相同 Key 共享结果
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.futures.put(key, future);
+            if (pending.futures.size() >= maxBatchSize) {
+                fullBatch = drain();
+            }
+        }
+
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+        return future;
+    }
+
+    /**
+     * 提交单 Key 查询并等待结果
+     * <p>
+     * 批量加载抛出的运行时异常（如 BusinessException）会原样抛出。
+     * 等待时间不超过当前线程的截止时间和最长等待时间中的较小者。
+     * </p>
+     *
+     * @param key 查询 Key
+     * @return 查询结果，批量结果中不存在该 Key 时为 null
+     * @throws DeadlineExceededException 等待超时
+     */
+    public V get(K key) {
+        long waitNanos = maxWait.toNanos();
+        Deadline deadline = DeadlineContext.current();
+        if (deadline != null) {
+            waitNanos = Math.min(waitNanos, deadline.remaining().toNanos());
+        }
+        if (waitNanos <= 0) {
+            throw new DeadlineExceededException("请求合并 " + name);
+        }
+        CompletableFuture<V> future = submit(key);
+        try {
+            return future.get(waitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // 只放弃本调用方的等待，批次仍会完成并分发给其他调用方
+            throw new DeadlineExceededException("请求合并 " + name);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * 关闭合并器：立即发送尚未发送的批次，并停止接收新请求
+     */
+    @Override
+    public void close() {
+        Batch remaining;
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            remaining = drain();
+        }
+        if (remaining != null) {
+            dispatch(remaining);
+        }
+        scheduler.shutdownNow();
+        batchExecutor.shutdown();
+    }
+
+    /**
+     * 合并窗口结束，发送当前批次
+     */
+    private void flush() {
+        Batch batch;
+        synchronized (lock) {
+            batch = drain();
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+    }
+
+    /**
+     * 取出当前批次并重置窗口，需在持有 lock 时调用
+     *
+     * @return 当前批次，没有时返回 null
+     */
+    private Batch drain() {
+        Batch batch = pending;
+        pending = null;
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Batch batch) {
+        try {
+            batchExecutor.execute(() -> load(batch));
+        } catch (Exception e) {
+            // 执行器已关闭（应用停机中），直接在当前线程加载
+            load(batch);
+        }
+    }
+
+    private void load(Batch batch) {
+        Map<K, CompletableFuture<V>> futures = batch.futures;
+        if (batchSizeSummary != null) {
+            batchSizeSummary.record(futures.size());
+        }
+        // 执行器关闭时在调用方线程上加载，结束后恢复原有上下文
+        String previousTraceId = TraceContext.current();
+        Deadline previousDeadline = DeadlineContext.current();
+        TraceContext.set(batch.traceId);
+        DeadlineContext.set(batch.deadline());
+        try {
+            Map<K, V> results = batchLoader.apply(List.copyOf(futures.keySet()));
+            futures.forEach((key, future) -> future.complete(results != null ? results.get(key) : null));
+            log.debug("请求合并批次完成: collapser={}, 批次大小={}", name, futures.size());
+        } catch (Throwable e) {
+            log.warn("请求合并批次失败: collapser={}, 批次大小={}", name, futures.size(), e);
+            futures.values().forEach(future -> future.completeExceptionally(e));
+        } finally {
+            TraceContext.set(previousTraceId);
+            DeadlineContext.set(previousDeadline);
+        }
+    }
+
+    /**
+     * 一个合并窗口内的请求及其上下文
+     */
+    private final class Batch {
+
+        private final Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+        private final String traceId;
+        private Deadline latestDeadline;
+        private boolean unbounded;
+
+        Batch(String traceId) {
+            this.traceId = traceId;
+        }
+
+        /**
+         * 记录调用方的截止时间，需在持有 lock 时调用
+         */
+        void join(Deadline deadline) {
+            if (deadline == null) {
+                unbounded = true;
+            } else if (latestDeadline == null || deadline.deadlineNanos() - latestDeadline.deadlineNanos() > 0) {
+                latestDeadline = deadline;
+            }
+        }
+
+        /**
+         * 批量调用使用的截止时间：调用方中最晚的一个，任一调用方没有截止时间时为 null
+         */
+        Deadline deadline() {
+            return unbounded ? null : latestDeadline;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.ez.admin.feign.config;
+
+import com.ez.admin.feign.async.FeignAsyncExecutor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 异步 Feign 调用配置
+ * <p>
+ * 提供 {@link FeignAsyncExecutor}，供 {@link com.ez.admin.feign.async.AsyncFeignClientFactory}
+ * 生成的异步客户端执行远程调用。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(FeignAsyncProperties.class)
+public class FeignAsyncConfig {
+
+    /**
+     * 异步 Feign 调用执行器
+     *
+     * @param properties 执行器配置
+     * @return 执行器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public FeignAsyncExecutor feignAsyncExecutor(FeignAsyncProperties properties) {
+        return new FeignAsyncExecutor(properties);
+    }
+}
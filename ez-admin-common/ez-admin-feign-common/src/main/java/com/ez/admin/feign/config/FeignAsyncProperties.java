@@ -0,0 +1,47 @@
+package com.ez.admin.feign.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 异步 Feign 调用执行器配置属性
+ * <p>
+ * 配置前缀：{@code ez.feign.async}。
+ * </p>
+ * <p>
+ * 配置示例：
+ * <pre>
+ * ez:
+ *   feign:
+ *     async:
+ *       virtual-threads: true
+ *       max-concurrency: 256
+ * </pre>
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Data
+@ConfigurationProperties(prefix = "ez.feign.async")
+public class FeignAsyncProperties {
+
+    /**
+     * 是否使用虚拟线程（每个调用一个虚拟线程）；为 false 时使用固定大小的平台线程池
+     */
+    private boolean virtualThreads = true;
+
+    /**
+     * 最大并发调用数
+     * <p>
+     * 虚拟线程模式下为同时进行中的调用上限（超出的调用排队等待许可）；
+     * 线程池模式下为线程数。
+     * </p>
+     */
+    private int maxConcurrency = 256;
+
+    /**
+     * 线程池模式下的等待队列容量，队列满时提交失败（future 以 RejectedExecutionException 完成）
+     */
+    private int queueCapacity = 1000;
+}
@@ -1,10 +1,18 @@
 package com.ez.admin.feign.config;
 
+import com.ez.admin.core.config.InternalCallProperties;
+import com.ez.admin.feign.deadline.FeignDeadlineCapability;
 import com.ez.admin.feign.decoder.FeignResultDecoder;
+import com.ez.admin.feign.interceptor.DeadlinePropagationRequestInterceptor;
+import com.ez.admin.feign.interceptor.InternalCallRequestInterceptor;
+import com.ez.admin.feign.interceptor.TracePropagationRequestInterceptor;
 import feign.Request;
+import feign.RequestInterceptor;
 import feign.codec.Decoder;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.openfeign.support.FeignHttpMessageConverters;
 import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
 import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
@@ -14,6 +22,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.HttpMessageConverters;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
 
 import java.util.concurrent.TimeUnit;
 
@@ -22,8 +32,9 @@ import java.util.concurrent.TimeUnit;
  * <p>
  * 提供 Feign 远程调用的公共配置，包括：
  * <ul>
- *   <li>自动解包解码器：将 SaResult&lt;T&gt; 自动解包为 T</li>
- *   <li>超时时间配置</li>
+ *   <li>自动解包解码器：将 R&lt;T&gt; 流式解包为 T</li>
+ *   <li>内部调用标记与 Smile 二进制格式协商</li>
+ *   <li>超时时间配置：默认超时、方法级超时，以及按请求截止时间缩短并向下游传递</li>
  * </ul>
  * </p>
  *
@@ -31,12 +42,15 @@ import java.util.concurrent.TimeUnit;
  * @since 2026-01-21
  */
 @Configuration
+@EnableConfigurationProperties({FeignTimeoutProperties.class, InternalCallProperties.class})
 public class FeignConfig {
 
 
     @Bean
     @Primary
     public Decoder feignDecoder(
+            ObjectMapper objectMapper,
+            ObjectProvider<SmileMapper> smileMapper,
             ObjectProvider<HttpMessageConverter<?>> messageConverters,
             ObjectProvider<HttpMessageConverterCustomizer> customizers) {
 
@@ -52,25 +66,89 @@ public class FeignConfig {
             @Override public FeignHttpMessageConverters getIfUnique() { return feignConverters; }
         };
 
-        // 3. 注入到你的自定义解码器中
-        return new FeignResultDecoder(provider);
+        // 3. 注入到你的自定义解码器中（JSON/Smile 响应走流式解包，其余回退到 HttpMessageConverter 链）
+        return new FeignResultDecoder(objectMapper, smileMapper.getIfAvailable(), provider);
+    }
+
+    /**
+     * 内部调用标记拦截器
+     * <p>
+     * 为所有 Feign 请求添加内部调用标记和 {@code ez.internal-call.secret} 凭证；{@code ez.feign.smile.enabled=true}（默认）且
+     * Smile 可用时，优先以 Smile 二进制格式接收响应；
+     * {@code ez.feign.envelope-free.enabled=true}（默认）时请求服务端成功时直接返回 data。
+     * </p>
+     *
+     * @param internalCallProperties 内部调用认证配置
+     * @param smileEnabled           是否启用 Smile
+     * @param envelopeFreeEnabled    是否启用无信封响应
+     * @param smileMapper            Smile 解码器
+     * @return 请求拦截器
+     */
+    @Bean
+    public RequestInterceptor internalCallRequestInterceptor(
+            InternalCallProperties internalCallProperties,
+            @Value("${ez.feign.smile.enabled:true}") boolean smileEnabled,
+            @Value("${ez.feign.envelope-free.enabled:true}") boolean envelopeFreeEnabled,
+            ObjectProvider<SmileMapper> smileMapper) {
+        return new InternalCallRequestInterceptor(internalCallProperties.getSecret(),
+                smileEnabled && smileMapper.getIfAvailable() != null, envelopeFreeEnabled);
+    }
+
+    /**
+     * 截止时间传递拦截器
+     * <p>
+     * 把当前请求剩余的处理时间传递给下游服务。
+     * </p>
+     *
+     * @return 请求拦截器
+     */
+    @Bean
+    public RequestInterceptor deadlinePropagationRequestInterceptor() {
+        return new DeadlinePropagationRequestInterceptor();
+    }
+
+    /**
+     * 链路追踪 ID 传递拦截器
+     * <p>
+     * 把当前请求的追踪 ID 传递给下游服务。
+     * </p>
+     *
+     * @return 请求拦截器
+     */
+    @Bean
+    public RequestInterceptor tracePropagationRequestInterceptor() {
+        return new TracePropagationRequestInterceptor();
+    }
+
+    /**
+     * 方法级超时与截止时间 Capability
+     * <p>
+     * 按方法配置超时，并将读取超时缩短为当前请求的剩余时间。
+     * </p>
+     *
+     * @param properties 超时配置
+     * @return Capability
+     */
+    @Bean
+    public FeignDeadlineCapability feignDeadlineCapability(FeignTimeoutProperties properties) {
+        return new FeignDeadlineCapability(properties);
     }
 
     /**
      * 配置 Feign 请求选项
      * <p>
-     * 设置连接超时和读取超时时间。
+     * 设置默认的连接超时和读取超时时间（{@code ez.feign.timeout}，默认 5 秒 / 30 秒）。
+     * 方法级覆盖和截止时间缩短由 {@link FeignDeadlineCapability} 在每次请求时处理。
      * </p>
      *
+     * @param properties 超时配置
      * @return 请求选项
      */
     @Bean
-    public Request.Options feignOptions() {
+    public Request.Options feignOptions(FeignTimeoutProperties properties) {
         return new Request.Options(
-                // 连接超时时间：5 秒
-                5, TimeUnit.SECONDS,
-                // 读取超时时间：30 秒
-                30, TimeUnit.SECONDS,
+                properties.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS,
+                properties.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS,
                 // 允许重定向
                 true
         );
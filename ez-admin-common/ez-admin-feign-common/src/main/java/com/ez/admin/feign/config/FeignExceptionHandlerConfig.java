@@ -0,0 +1,39 @@
+package com.ez.admin.feign.config;
+
+import com.ez.admin.core.config.ExceptionConfig;
+import com.ez.admin.core.exception.ExceptionLogLimiter;
+import com.ez.admin.feign.handler.RemoteBusinessExceptionHandler;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.servlet.DispatcherServlet;
+
+/**
+ * Feign 远程业务异常处理配置
+ * <p>
+ * 在 Servlet Web 应用中注册 {@link RemoteBusinessExceptionHandler}，与全局异常处理器共用
+ * {@link ExceptionConfig} 注册的 {@link ExceptionLogLimiter}。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@AutoConfiguration(after = ExceptionConfig.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(DispatcherServlet.class)
+@ConditionalOnBean(ExceptionLogLimiter.class)
+public class FeignExceptionHandlerConfig {
+
+    /**
+     * 远程业务异常处理器
+     *
+     * @param exceptionLogLimiter 异常日志限流器
+     * @return 远程业务异常处理器
+     */
+    @Bean
+    public RemoteBusinessExceptionHandler remoteBusinessExceptionHandler(ExceptionLogLimiter exceptionLogLimiter) {
+        return new RemoteBusinessExceptionHandler(exceptionLogLimiter);
+    }
+}
@@ -0,0 +1,170 @@
+package com.ez.admin.feign.config;
+
+import feign.hc5.ApacheHttp5Client;
+import feign.http2client.Http2Client;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.cloud.openfeign.loadbalancer.FeignLoadBalancerAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Feign 底层 HTTP 客户端配置
+ * <p>
+ * 替换 Feign 默认的 HttpURLConnection 实现，为服务间调用提供可复用的连接：
+ * <ul>
+ *   <li>Apache HttpClient 5（默认）：连接池 + 单路由连接上限 + Keep-Alive + 空闲回收 + 连接池指标</li>
+ *   <li>JDK HttpClient（可选）：HTTP/2 多路复用，单连接承载并发请求</li>
+ * </ul>
+ * 两者互斥：开启 {@code spring.cloud.openfeign.http2client.enabled} 后不再创建 HttpClient 5 相关 Bean。
+ * </p>
+ * <p>
+ * 本配置只提供调优后的底层客户端 Bean，
+ * 负载均衡包装（FeignBlockingLoadBalancerClient）仍由 Spring Cloud OpenFeign 自动完成，
+ * 因此需要在其自动配置之前加载，使其 {@code @ConditionalOnMissingBean} 生效。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-21
+ */
+@AutoConfiguration(before = {FeignAutoConfiguration.class, FeignLoadBalancerAutoConfiguration.class})
+@EnableConfigurationProperties(FeignHttpClientProperties.class)
+public class FeignHttpClientConfig {
+
+    /**
+     * Apache HttpClient 5 连接池配置（默认启用，开启 HTTP/2 客户端时不生效）
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(ApacheHttp5Client.class)
+    @ConditionalOnExpression("${spring.cloud.openfeign.httpclient.hc5.enabled:true} and !${spring.cloud.openfeign.http2client.enabled:false}")
+    static class HttpClient5Configuration {
+
+        /**
+         * 连接池管理器
+         * <p>
+         * 使用 LIFO 复用策略：优先复用最近使用过的热连接，冷连接自然过期回收。
+         * </p>
+         *
+         * @param properties 连接池配置
+         * @return 连接池管理器
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public PoolingHttpClientConnectionManager hc5ConnectionManager(FeignHttpClientProperties properties) {
+            return PoolingHttpClientConnectionManagerBuilder.create()
+                    .setMaxConnTotal(properties.getMaxConnections())
+                    .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                    .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                    .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                    .setDefaultConnectionConfig(ConnectionConfig.custom()
+                            .setTimeToLive(toTimeValue(properties.getTimeToLive()))
+                            .setValidateAfterInactivity(toTimeValue(properties.getValidateAfterInactivity()))
+                            .build())
+                    .build();
+        }
+
+        /**
+         * 基于连接池的 HttpClient
+         * <p>
+         * 关闭 Cookie 管理和自动重试（重试交由 Feign Retryer 统一控制），
+         * 并在后台回收过期和空闲连接。
+         * 服务端返回 Keep-Alive 头时按其 timeout 保活，未返回时使用 {@code keepAlive} 配置。
+         * </p>
+         *
+         * @param connectionManager 连接池管理器
+         * @param properties        连接池配置
+         * @return HttpClient 实例
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public CloseableHttpClient httpClient5(PoolingHttpClientConnectionManager connectionManager,
+                                               FeignHttpClientProperties properties) {
+            TimeValue keepAlive = toTimeValue(properties.getKeepAlive());
+            ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) ->
+                    response.containsHeader(HttpHeaders.KEEP_ALIVE)
+                            ? DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context)
+                            : keepAlive;
+            return HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setKeepAliveStrategy(keepAliveStrategy)
+                    .evictExpiredConnections()
+                    .evictIdleConnections(toTimeValue(properties.getEvictIdle()))
+                    .disableCookieManagement()
+                    .disableAutomaticRetries()
+                    .build();
+        }
+
+        /**
+         * 连接池指标
+         * <p>
+         * 通过 Actuator 暴露 httpcomponents.httpclient.pool.* 指标（总连接数、租用数、等待数等），
+         * 标签 httpclient=ez-feign。
+         * </p>
+         *
+         * @param connectionManager 连接池管理器
+         * @return MeterBinder 实例
+         */
+        @Bean
+        @ConditionalOnClass(MeterBinder.class)
+        public MeterBinder feignConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+            return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "ez-feign");
+        }
+
+        private static TimeValue toTimeValue(Duration duration) {
+            return TimeValue.ofMilliseconds(duration.toMillis());
+        }
+    }
+
+    /**
+     * JDK HttpClient HTTP/2 配置（需显式开启）
+     * <p>
+     * JDK 客户端对每个目标实例只保持少量连接，通过 HTTP/2 多路复用承载并发请求，
+     * 不存在单路由连接上限的概念。明文 HTTP 下通过 h2c 升级协商，
+     * 服务端需开启 {@code server.http2.enabled=true}，否则自动回落到 HTTP/1.1。
+     * </p>
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Http2Client.class)
+    @ConditionalOnProperty(value = "spring.cloud.openfeign.http2client.enabled", havingValue = "true")
+    static class Http2ClientConfiguration {
+
+        /**
+         * HTTP/2 客户端
+         *
+         * @param properties 客户端配置
+         * @return JDK HttpClient 实例
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public HttpClient httpClient(FeignHttpClientProperties properties) {
+            return HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(properties.getConnectTimeout())
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+        }
+    }
+}
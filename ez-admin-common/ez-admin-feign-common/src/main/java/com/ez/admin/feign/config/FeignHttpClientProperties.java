@@ -0,0 +1,78 @@
+package com.ez.admin.feign.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Feign 底层 HTTP 客户端配置属性
+ * <p>
+ * 配置前缀：{@code ez.feign.http-client}，用于调优服务间调用的连接池。
+ * </p>
+ * <p>
+ * 客户端实现的选择沿用 Spring Cloud OpenFeign 的标准开关：
+ * <ul>
+ *   <li>默认：Apache HttpClient 5 连接池（{@code spring.cloud.openfeign.httpclient.hc5.enabled=true}）</li>
+ *   <li>HTTP/2：JDK HttpClient 多路复用（{@code spring.cloud.openfeign.httpclient.hc5.enabled=false}
+ *       + {@code spring.cloud.openfeign.http2client.enabled=true}）</li>
+ * </ul>
+ * </p>
+ * <p>
+ * 配置示例：
+ * <pre>
+ * ez:
+ *   feign:
+ *     http-client:
+ *       max-connections: 200
+ *       max-connections-per-route: 50
+ *       keep-alive: 15s
+ * </pre>
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-21
+ */
+@Data
+@ConfigurationProperties(prefix = "ez.feign.http-client")
+public class FeignHttpClientProperties {
+
+    /**
+     * 连接池最大连接数（所有目标实例合计）
+     */
+    private int maxConnections = 200;
+
+    /**
+     * 单个路由（目标实例 host:port）的最大连接数
+     */
+    private int maxConnectionsPerRoute = 50;
+
+    /**
+     * 空闲连接保活时间
+     * <p>
+     * 服务端未返回 Keep-Alive 头时使用。应小于服务端 Tomcat 的 keepAliveTimeout（默认 20s），
+     * 避免复用已被服务端关闭的连接。
+     * </p>
+     */
+    private Duration keepAlive = Duration.ofSeconds(15);
+
+    /**
+     * 连接最大存活时间，超过后不再复用（便于实例扩缩容后连接重新分布）
+     */
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    /**
+     * 后台回收空闲连接的阈值
+     */
+    private Duration evictIdle = Duration.ofSeconds(30);
+
+    /**
+     * 连接空闲超过该时间后，复用前先做一次可用性校验
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    /**
+     * 建立连接超时时间（仅 HTTP/2 客户端使用，HC5 由 Request.Options 控制）
+     */
+    private Duration connectTimeout = Duration.ofSeconds(5);
+}
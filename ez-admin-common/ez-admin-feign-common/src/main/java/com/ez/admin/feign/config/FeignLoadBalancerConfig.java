@@ -0,0 +1,54 @@
+package com.ez.admin.feign.config;
+
+import com.ez.admin.feign.loadbalancer.InstanceStatsLifecycle;
+import com.ez.admin.feign.loadbalancer.InstanceStatsRegistry;
+import com.ez.admin.feign.loadbalancer.LatencyAwareLoadBalancerConfiguration;
+import com.ez.admin.feign.loadbalancer.LatencyAwareLoadBalancerProperties;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 延迟感知负载均衡配置
+ * <p>
+ * 为所有通过 Spring Cloud LoadBalancer 解析的下游服务启用 {@code LatencyAwareLoadBalancer}
+ * （P2C + Peak EWMA + 异常实例摘除），替换默认轮询。
+ * 可通过 {@code ez.feign.loadbalancer.enabled=false} 关闭。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@AutoConfiguration
+@ConditionalOnClass(ReactorServiceInstanceLoadBalancer.class)
+@ConditionalOnProperty(value = "ez.feign.loadbalancer.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(LatencyAwareLoadBalancerProperties.class)
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class FeignLoadBalancerConfig {
+
+    /**
+     * 实例调用统计注册表（所有下游服务共用）
+     *
+     * @param properties 负载均衡配置
+     * @return 注册表
+     */
+    @Bean
+    public InstanceStatsRegistry instanceStatsRegistry(LatencyAwareLoadBalancerProperties properties) {
+        return new InstanceStatsRegistry(properties);
+    }
+
+    /**
+     * 实例调用统计生命周期回调
+     *
+     * @param instanceStatsRegistry 注册表
+     * @return 生命周期回调
+     */
+    @Bean
+    public InstanceStatsLifecycle instanceStatsLifecycle(InstanceStatsRegistry instanceStatsRegistry) {
+        return new InstanceStatsLifecycle(instanceStatsRegistry);
+    }
+}
@@ -0,0 +1,48 @@
+package com.ez.admin.feign.config;
+
+import com.ez.admin.feign.metrics.FeignInstanceTrackingLifecycle;
+import com.ez.admin.feign.metrics.FeignMetricsCapability;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Feign 调用指标配置
+ * <p>
+ * 注册 {@link FeignMetricsCapability}，Spring Cloud OpenFeign 会把容器中的 Capability
+ * 自动应用到所有 Feign 客户端；同时注册负载均衡生命周期回调以获取目标实例。
+ * 可通过 {@code ez.feign.metrics.enabled=false} 关闭。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@AutoConfiguration
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnProperty(value = "ez.feign.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class FeignMetricsConfig {
+
+    /**
+     * Feign 调用指标 Capability
+     *
+     * @param meterRegistry 指标注册表
+     * @return Capability
+     */
+    @Bean
+    public FeignMetricsCapability feignMetricsCapability(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new FeignMetricsCapability(meterRegistry);
+    }
+
+    /**
+     * 记录负载均衡选中实例
+     *
+     * @return 负载均衡生命周期回调
+     */
+    @Bean
+    public FeignInstanceTrackingLifecycle feignInstanceTrackingLifecycle() {
+        return new FeignInstanceTrackingLifecycle();
+    }
+}
@@ -0,0 +1,90 @@
+package com.ez.admin.feign.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Feign 调用超时配置属性
+ * <p>
+ * 配置前缀：{@code ez.feign.timeout}。默认超时适用于所有方法，可按方法覆盖；
+ * 方法的 Key 为 {@code 客户端接口简单类名#方法名}。
+ * 当前请求带有截止时间时，实际连接和读取超时取配置值与剩余时间中的较小者。
+ * </p>
+ * <p>
+ * 配置示例：
+ * <pre>
+ * ez:
+ *   feign:
+ *     timeout:
+ *       connect-timeout: 2s
+ *       read-timeout: 5s
+ *       methods:
+ *         "[SystemUserFeignClient#authenticateUser]":
+ *           read-timeout: 2s
+ * </pre>
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Data
+@ConfigurationProperties(prefix = "ez.feign.timeout")
+public class FeignTimeoutProperties {
+
+    /**
+     * 默认连接超时
+     */
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    /**
+     * 默认读取超时
+     */
+    private Duration readTimeout = Duration.ofSeconds(30);
+
+    /**
+     * 方法级超时，Key 为 {@code 客户端接口简单类名#方法名}
+     */
+    private Map<String, MethodTimeout> methods = new LinkedHashMap<>();
+
+    /**
+     * 单次调用的最长耗时（连接超时 + 读取超时），方法级配置优先
+     * <p>
+     * 供在调用之外等待结果的场景（如请求合并）限定等待时间。
+     * </p>
+     *
+     * @param methodKey 方法 Key，{@code 客户端接口简单类名#方法名}
+     * @return 连接超时与读取超时之和
+     */
+    public Duration callTimeout(String methodKey) {
+        Duration connect = connectTimeout;
+        Duration read = readTimeout;
+        MethodTimeout methodTimeout = methods.get(methodKey);
+        if (methodTimeout != null) {
+            if (methodTimeout.getConnectTimeout() != null) {
+                connect = methodTimeout.getConnectTimeout();
+            }
+            if (methodTimeout.getReadTimeout() != null) {
+                read = methodTimeout.getReadTimeout();
+            }
+        }
+        return connect.plus(read);
+    }
+
+    @Data
+    public static class MethodTimeout {
+
+        /**
+         * 连接超时，未配置时使用默认值
+         */
+        private Duration connectTimeout;
+
+        /**
+         * 读取超时，未配置时使用默认值
+         */
+        private Duration readTimeout;
+    }
+}
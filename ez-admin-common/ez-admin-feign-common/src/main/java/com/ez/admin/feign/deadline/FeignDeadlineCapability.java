@@ -0,0 +1,92 @@
+package com.ez.admin.feign.deadline;
+
+import com.ez.admin.core.deadline.Deadline;
+import com.ez.admin.core.deadline.DeadlineContext;
+import com.ez.admin.core.exception.DeadlineExceededException;
+import com.ez.admin.feign.config.FeignTimeoutProperties;
+import com.ez.admin.feign.config.FeignTimeoutProperties.MethodTimeout;
+import feign.Capability;
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Target;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feign 方法级超时与截止时间能力扩展
+ * <p>
+ * 在底层 Client 执行前调整本次请求的 {@link Request.Options}：
+ * <ol>
+ *   <li>以 Feign 传入的 Options 为基础（客户端级配置或方法参数中的 Options），
+ *       按 {@code 客户端接口简单类名#方法名} 查找方法级超时并覆盖其中配置了的项</li>
+ *   <li>当前线程带有截止时间时，连接和读取超时都不超过剩余时间，下游无法按时完成时客户端先行放弃</li>
+ *   <li>截止时间已过则不再发出请求，直接抛出 {@link DeadlineExceededException}</li>
+ * </ol>
+ * 超时没有变化时直接沿用传入的 Options，不创建新对象。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public class FeignDeadlineCapability implements Capability {
+
+    private final FeignTimeoutProperties properties;
+
+    public FeignDeadlineCapability(FeignTimeoutProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> client.execute(request, optionsFor(request, options));
+    }
+
+    private Request.Options optionsFor(Request request, Request.Options options) {
+        long connectTimeoutMillis = options.connectTimeoutMillis();
+        long readTimeoutMillis = options.readTimeoutMillis();
+
+        MethodTimeout methodTimeout = properties.getMethods().get(methodKey(request));
+        if (methodTimeout != null) {
+            if (methodTimeout.getConnectTimeout() != null) {
+                connectTimeoutMillis = methodTimeout.getConnectTimeout().toMillis();
+            }
+            if (methodTimeout.getReadTimeout() != null) {
+                readTimeoutMillis = methodTimeout.getReadTimeout().toMillis();
+            }
+        }
+
+        Deadline deadline = DeadlineContext.current();
+        if (deadline != null) {
+            long remainingMillis = deadline.remainingMillis();
+            if (remainingMillis <= 0) {
+                throw new DeadlineExceededException(request.httpMethod() + " " + request.url());
+            }
+            connectTimeoutMillis = Math.min(connectTimeoutMillis, remainingMillis);
+            readTimeoutMillis = Math.min(readTimeoutMillis, remainingMillis);
+        }
+
+        if (connectTimeoutMillis == options.connectTimeoutMillis() && readTimeoutMillis == options.readTimeoutMillis()) {
+            return options;
+        }
+        return new Request.Options(
+                connectTimeoutMillis, TimeUnit.MILLISECONDS,
+                readTimeoutMillis, TimeUnit.MILLISECONDS,
+                options.isFollowRedirects());
+    }
+
+    /**
+     * 方法 Key：客户端接口简单类名#方法名
+     */
+    private static String methodKey(Request request) {
+        if (request.requestTemplate() == null) {
+            return "";
+        }
+        Target<?> target = request.requestTemplate().feignTarget();
+        MethodMetadata metadata = request.requestTemplate().methodMetadata();
+        if (target == null || metadata == null || metadata.method() == null) {
+            return "";
+        }
+        return target.type().getSimpleName() + "#" + metadata.method().getName();
+    }
+}
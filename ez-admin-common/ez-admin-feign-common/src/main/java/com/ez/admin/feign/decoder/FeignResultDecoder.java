@@ -1,7 +1,10 @@
 package com.ez.admin.feign.decoder;
 
+import com.ez.admin.core.constant.HttpHeaderConstants;
 import com.ez.admin.core.entity.R;
 import com.ez.admin.core.enums.BusinessErrorCode;
+import com.ez.admin.core.enums.ErrorCode;
+import com.ez.admin.core.enums.ErrorCodeRegistry;
 import com.ez.admin.feign.exception.BusinessException;
 import feign.Response;
 import feign.codec.DecodeException;
@@ -11,23 +14,83 @@ import org.apache.commons.lang3.reflect.TypeUtils;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cloud.openfeign.support.FeignHttpMessageConverters;
 import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.http.HttpHeaders;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
 
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Feign 结果解码器 (优化版)
+ * Feign 结果解码器 (流式版)
  * <p>
- * 使用延迟加载的 Decoder 避免循环依赖问题。
+ * 直接在响应流上用 Jackson 的 Token 解析器读取 R 信封：
+ * <ul>
+ *   <li>读取 code / message 用于业务状态码校验</li>
+ *   <li>跳过 success / timestamp / traceId 等调用方不关心的字段</li>
+ *   <li>仅将 data 节点直接绑定为目标类型，不再构造中间的 R 对象</li>
+ * </ul>
+ * 大响应（如 getAllRolePermissions）不会先经过 HttpMessageConverter 链整体缓冲。
+ * JSON 与 Smile（内部调用的二进制格式）共用同一套流式解包逻辑，按 Content-Type 选择解析器。
+ * </p>
+ * <p>
+ * 每个 Feign 方法的返回类型对应的 {@link ObjectReader} 会被缓存，
+ * 避免每次调用都重新构造参数化类型和查找反序列化器。
+ * 其他格式的响应仍交给 {@link SpringDecoder} 处理。
+ * </p>
+ * <p>
+ * 响应头带有 {@value HttpHeaderConstants#ENVELOPE}: {@value HttpHeaderConstants#ENVELOPE_NONE}（服务端按无信封模式输出）时，
+ * 不再解析 R：业务失败从 {@value HttpHeaderConstants#ERROR_CODE} / {@value HttpHeaderConstants#ERROR_MESSAGE}
+ * 响应头读取，成功时响应体直接绑定为目标类型，空响应体视为 null。
  * </p>
  */
 @Slf4j
 public class FeignResultDecoder implements Decoder {
 
+    private static final String FIELD_CODE = "code";
+    private static final String FIELD_MESSAGE = "message";
+    private static final String FIELD_DATA = "data";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper smileMapper;
     private final Decoder delegate;
 
-    public FeignResultDecoder(ObjectProvider<FeignHttpMessageConverters> feignHttpMessageConverters) {
+    /**
+     * 数据格式 -> (返回类型 -> ObjectReader) 缓存（Feign 按方法传入泛型返回类型，因此等价于按方法缓存）
+     * <p>
+     * 外层 Map 在构造时确定，之后只读。
+     * </p>
+     */
+    private final Map<ObjectMapper, Map<Type, ObjectReader>> dataReaders = new IdentityHashMap<>();
+
+    /**
+     * 返回类型 -> 包装后的 R&lt;T&gt; 类型缓存，仅在回退到 SpringDecoder 时使用
+     */
+    private final Map<Type, Type> wrappedTypes = new ConcurrentHashMap<>();
+
+    /**
+     * @param objectMapper               JSON 解码使用的 ObjectMapper
+     * @param smileMapper                Smile 解码使用的 ObjectMapper，为 null 时 Smile 响应回退到 SpringDecoder
+     * @param feignHttpMessageConverters 非 JSON/Smile 响应的回退转换器
+     */
+    public FeignResultDecoder(ObjectMapper objectMapper, ObjectMapper smileMapper,
+                              ObjectProvider<FeignHttpMessageConverters> feignHttpMessageConverters) {
+        this.objectMapper = objectMapper;
+        this.smileMapper = smileMapper;
+        this.dataReaders.put(objectMapper, new ConcurrentHashMap<>());
+        if (smileMapper != null) {
+            this.dataReaders.put(smileMapper, new ConcurrentHashMap<>());
+        }
         // 传入 Spring Cloud 2025 要求的 ObjectProvider
         this.delegate = new SpringDecoder(feignHttpMessageConverters);
     }
@@ -45,29 +108,166 @@ public class FeignResultDecoder implements Decoder {
             return null;
         }
 
-        // 3. 针对 void/Void 返回类型的兼容
-        if (type == void.class || type == Void.class) {
-            // 虽然接口不要求返回值，但仍需解析外层 R 以校验业务 code
-            R<?> result = (R<?>) delegate.decode(response, TypeUtils.parameterize(R.class, Void.class));
-            checkResult(result, response);
+        // 3. 按 Content-Type 选择 JSON / Smile 解码器，其他格式回退到 HttpMessageConverter 链
+        ObjectMapper mapper = mapperFor(response);
+        if (isEnvelopeFree(response)) {
+            return decodeEnvelopeFree(mapper, response, type);
+        }
+        if (mapper == null) {
+            return decodeWithDelegate(response, type);
+        }
+
+        try (JsonParser parser = mapper.createParser(response.body().asInputStream())) {
+            // 4. 调用方直接声明 R<T> 时，完整反序列化 R
+            if (TypeUtils.isAssignable(type, R.class)) {
+                R<?> result = readerFor(mapper, type).readValue(parser);
+                checkResult(result, response);
+                return result;
+            }
+
+            // 5. 流式解包：只绑定 data
+            return readEnvelope(mapper, parser, type, response);
+        } catch (BusinessException | DecodeException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Feign 解包解析失败: url={}", response.request().url(), e);
+            throw new DecodeException(response.status(), "解析异常: " + e.getMessage(), response.request());
+        }
+    }
+
+    /**
+     * 服务端是否按无信封模式输出
+     */
+    private boolean isEnvelopeFree(Response response) {
+        Collection<String> values = response.headers().get(HttpHeaderConstants.ENVELOPE);
+        return values != null && values.contains(HttpHeaderConstants.ENVELOPE_NONE);
+    }
+
+    /**
+     * 无信封模式解码：错误码取自响应头，成功时响应体即 data
+     *
+     * @param mapper   当前响应格式对应的 ObjectMapper，为 null 时回退到 SpringDecoder
+     * @param response 原始响应
+     * @param type     调用方期望的 data 类型
+     * @return data（void/Void 或空响应体返回 null）
+     */
+    private Object decodeEnvelopeFree(ObjectMapper mapper, Response response, Type type) throws IOException {
+        String errorCode = firstHeader(response, HttpHeaderConstants.ERROR_CODE);
+        if (errorCode != null) {
+            String message = firstHeader(response, HttpHeaderConstants.ERROR_MESSAGE);
+            Integer code;
+            try {
+                code = Integer.valueOf(errorCode.trim());
+            } catch (NumberFormatException e) {
+                throw new DecodeException(response.status(), "非法的错误码响应头: " + errorCode, response.request());
+            }
+            checkResult(code, message != null ? URLDecoder.decode(message, StandardCharsets.UTF_8) : null, response);
+        }
+
+        if (type == void.class || type == Void.class || response.body() == null) {
             return null;
         }
+        if (mapper == null) {
+            return delegate.decode(response, type);
+        }
+        try (JsonParser parser = mapper.createParser(response.body().asInputStream())) {
+            // data 为 null 时服务端不输出响应体
+            if (parser.nextToken() == null) {
+                return null;
+            }
+            return readerFor(mapper, type).readValue(parser);
+        } catch (Exception e) {
+            log.error("Feign 无信封响应解析失败: url={}", response.request().url(), e);
+            throw new DecodeException(response.status(), "解析异常: " + e.getMessage(), response.request());
+        }
+    }
+
+    private String firstHeader(Response response, String name) {
+        Collection<String> values = response.headers().get(name);
+        return values == null || values.isEmpty() ? null : values.iterator().next();
+    }
+
+    /**
+     * 逐个 Token 读取 R 信封
+     *
+     * @param mapper   当前响应格式对应的 ObjectMapper
+     * @param parser   响应流解析器
+     * @param type     调用方期望的 data 类型
+     * @param response 原始响应
+     * @return 解包后的 data（void/Void 返回 null）
+     */
+    private Object readEnvelope(ObjectMapper mapper, JsonParser parser, Type type, Response response) {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            log.error("Feign 返回结果解析后为空: url={}", response.request().url());
+            throw new DecodeException(response.status(), "远程服务返回空结果", response.request());
+        }
+
+        boolean isVoid = type == void.class || type == Void.class;
+        Integer code = null;
+        String message = null;
+        Object data = null;
 
-        // 4. 执行业务解包
-        Type wrappedType;
-        // 判断：如果 type 已经是以 R 开头的泛型了（比如 R<User>），就别再嵌套包装成 R<R<User>> 了
-        if (TypeUtils.isAssignable(type, R.class)) {
-            wrappedType = type;
-        } else {
-            wrappedType = TypeUtils.parameterize(R.class, type);
+        String field;
+        while ((field = parser.nextName()) != null) {
+            JsonToken valueToken = parser.nextToken();
+            switch (field) {
+                case FIELD_CODE -> code = readCode(parser, valueToken);
+                case FIELD_MESSAGE -> message = valueToken == JsonToken.VALUE_NULL ? null : parser.getString();
+                case FIELD_DATA -> {
+                    // 虽然 void 接口不要求返回值，但仍需读取外层 code 校验业务状态
+                    if (isVoid || valueToken == JsonToken.VALUE_NULL) {
+                        parser.skipChildren();
+                    } else {
+                        data = readerFor(mapper, type).readValue(parser);
+                    }
+                }
+                // success / timestamp / traceId 及未知字段一律跳过
+                default -> parser.skipChildren();
+            }
         }
+
+        checkResult(code, message, response);
+        return isVoid ? null : data;
+    }
+
+    /**
+     * 读取 code 字段，兼容数字和字符串两种形式
+     */
+    private Integer readCode(JsonParser parser, JsonToken token) {
+        return switch (token) {
+            case VALUE_NUMBER_INT -> parser.getIntValue();
+            case VALUE_STRING -> Integer.valueOf(parser.getString().trim());
+            default -> null;
+        };
+    }
+
+    /**
+     * 获取（或创建并缓存）指定类型的 ObjectReader
+     * <p>
+     * data 节点读完后信封还未结束，Jackson 3 默认开启的 {@code FAIL_ON_TRAILING_TOKENS} 会把后续字段视为多余内容，
+     * 因此关闭该检查；信封结构由 {@link #readEnvelope} 自行校验。
+     * </p>
+     */
+    private ObjectReader readerFor(ObjectMapper mapper, Type type) {
+        return dataReaders.get(mapper).computeIfAbsent(type,
+                t -> mapper.readerFor(mapper.getTypeFactory().constructType(t))
+                        .without(DeserializationFeature.FAIL_ON_TRAILING_TOKENS));
+    }
+
+    /**
+     * 回退：通过 SpringDecoder 解码完整的 R 后解包
+     */
+    private Object decodeWithDelegate(Response response, Type type) throws IOException {
+        boolean isVoid = type == void.class || type == Void.class;
+        Type wrappedType = wrappedTypes.computeIfAbsent(isVoid ? Void.class : type,
+                t -> TypeUtils.isAssignable(t, R.class) ? t : TypeUtils.parameterize(R.class, t));
         try {
             R<?> result = (R<?>) delegate.decode(response, wrappedType);
-
-            // 提取出的核心校验方法
             checkResult(result, response);
-
-            return result.getData();
+            if (isVoid) {
+                return null;
+            }
+            return TypeUtils.isAssignable(type, R.class) ? result : result.getData();
         } catch (BusinessException e) {
             throw e; // 业务异常直接向上抛出
         } catch (Exception e) {
@@ -76,6 +276,32 @@ public class FeignResultDecoder implements Decoder {
         }
     }
 
+    /**
+     * 根据 Content-Type 选择解码用的 ObjectMapper
+     * <p>
+     * 未声明 Content-Type 时按 JSON 处理；无法识别的格式返回 null。
+     * </p>
+     */
+    private ObjectMapper mapperFor(Response response) {
+        Collection<String> contentTypes = response.headers().get(HttpHeaders.CONTENT_TYPE);
+        if (contentTypes == null || contentTypes.isEmpty()) {
+            return objectMapper;
+        }
+        for (String contentType : contentTypes) {
+            if (contentType == null) {
+                continue;
+            }
+            String lower = contentType.toLowerCase();
+            if (lower.startsWith(HttpHeaderConstants.APPLICATION_SMILE)) {
+                return smileMapper;
+            }
+            if (lower.contains("json")) {
+                return objectMapper;
+            }
+        }
+        return null;
+    }
+
     /**
      * 核心校验逻辑：检查解包结果及业务状态码
      */
@@ -84,16 +310,33 @@ public class FeignResultDecoder implements Decoder {
             log.error("Feign 返回结果解析后为空: url={}", response.request().url());
             throw new DecodeException(response.status(), "远程服务返回空结果", response.request());
         }
+        checkResult(result.getCode(), result.getMessage(), response);
+    }
 
+    /**
+     * 核心校验逻辑：检查业务状态码
+     * <p>
+     * 错误码经 {@link ErrorCodeRegistry} 还原为本地枚举：服务端 / 第三方错误及无法识别的错误码记 error 日志，
+     * 用户端错误（如参数校验失败）只记 warn，避免下游的正常业务拒绝触发告警。
+     * </p>
+     */
+    private void checkResult(Integer code, String message, Response response) {
         // 业务状态码校验 (使用 Objects.equals 防止 NPE)
-        if (!Objects.equals(BusinessErrorCode.SUCCESS.getCode(), result.getCode())) {
-            String errorMsg = result.getMessage() != null ? result.getMessage() : "远程服务调用失败";
-
-            log.warn("Feign 业务异常: url={}, code={}, msg={}",
-                    response.request().url(), result.getCode(), errorMsg);
+        if (!Objects.equals(BusinessErrorCode.SUCCESS.getCode(), code)) {
+            String errorMsg = message != null ? message : "远程服务调用失败";
 
             // 抛出自定义业务异常
-            throw new BusinessException(errorMsg, result.getCode());
+            BusinessException exception = new BusinessException(errorMsg, code);
+            ErrorCode errorCode = exception.getErrorCode();
+            Object errorName = errorCode != null ? errorCode : "UNKNOWN";
+            if (exception.needAlert()) {
+                log.error("Feign 业务异常: url={}, code={}({}), msg={}",
+                        response.request().url(), code, errorName, errorMsg);
+            } else {
+                log.warn("Feign 业务异常: url={}, code={}({}), msg={}",
+                        response.request().url(), code, errorName, errorMsg);
+            }
+            throw exception;
         }
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,9 @@
 package com.ez.admin.feign.exception;
 
+import com.ez.admin.core.enums.ErrorCode;
+import com.ez.admin.core.enums.ErrorCodeLevel;
+import com.ez.admin.core.enums.ErrorCodeRegistry;
+import com.ez.admin.core.exception.StackTraceSampler;
 import lombok.Getter;
 
 import java.io.Serial;
@@ -9,6 +13,18 @@ import java.io.Serial;
  * <p>
  * 用于 Feign 远程调用时，当服务端返回非成功状态码时抛出。
  * </p>
+ * <p>
+ * 与 core 的业务异常一致，是否填充堆栈由 {@link StackTraceSampler} 按错误码级别决定：
+ * 服务端 / 第三方错误及无法识别的错误码始终填充，用户端错误（如密码错误）按比例采样。
+ * </p>
+ * <p>
+ * 错误码通过 {@link ErrorCodeRegistry} 还原为本地的 {@link ErrorCode} 枚举，
+ * 调用方可按 {@link #getLevel()} / {@link #needAlert()} 区分用户端错误和需要告警的服务端错误。
+ * </p>
+ * <p>
+ * 解码器抛出的非 FeignException 会被 Feign 包装为 {@code DecodeException}，
+ * 判断调用失败是否为业务异常时应使用 {@link #find(Throwable)} 沿异常链查找，而不是只检查最外层异常。
+ * </p>
  *
  * @author ez-admin
  * @since 2026-01-21
@@ -30,8 +46,7 @@ public class BusinessException extends RuntimeException {
      * @param message 错误信息
      */
     public BusinessException(String message) {
-        super(message);
-        this.code = 500;
+        this(message, 500, null);
     }
 
     /**
@@ -41,8 +56,7 @@ public class BusinessException extends RuntimeException {
      * @param code    错误码
      */
     public BusinessException(String message, Integer code) {
-        super(message);
-        this.code = code;
+        this(message, code, null);
     }
 
     /**
@@ -52,8 +66,7 @@ public class BusinessException extends RuntimeException {
      * @param cause    原因
      */
     public BusinessException(String message, Throwable cause) {
-        super(message, cause);
-        this.code = 500;
+        this(message, 500, cause);
     }
 
     /**
@@ -64,7 +77,52 @@ public class BusinessException extends RuntimeException {
      * @param cause    原因
      */
     public BusinessException(String message, Integer code, Throwable cause) {
-        super(message, cause);
+        super(message, cause, true, StackTraceSampler.shouldCapture(code != null ? ErrorCodeRegistry.levelOf(code) : null));
         this.code = code;
     }
+
+    /**
+     * 获取错误码对应的本地枚举
+     *
+     * @return 错误码枚举，错误码为空或本服务未定义时返回 null
+     */
+    public ErrorCode getErrorCode() {
+        return code != null ? ErrorCodeRegistry.find(code) : null;
+    }
+
+    /**
+     * 获取错误码级别
+     *
+     * @return 错误码级别，无法识别时返回 null
+     */
+    public ErrorCodeLevel getLevel() {
+        return code != null ? ErrorCodeRegistry.levelOf(code) : null;
+    }
+
+    /**
+     * 是否需要告警
+     *
+     * @return 服务端 / 第三方错误及无法识别的错误码返回 true
+     */
+    public boolean needAlert() {
+        return code == null || ErrorCodeRegistry.needAlert(code);
+    }
+
+    /**
+     * 沿异常链查找业务异常
+     *
+     * @param throwable 调用抛出的异常
+     * @return 异常链中的第一个业务异常，不存在时返回 null
+     */
+    public static BusinessException find(Throwable throwable) {
+        Throwable current = throwable;
+        // 限制深度，避免异常链成环时死循环
+        for (int depth = 0; current != null && depth < 16; depth++) {
+            if (current instanceof BusinessException businessException) {
+                return businessException;
+            }
+            current = current.getCause();
+        }
+        return null;
+    }
 }
@@ -0,0 +1,29 @@
+package com.ez.admin.feign.exception;
+
+import com.ez.admin.core.exception.DeadlineExceededException;
+
+import java.util.function.Predicate;
+
+/**
+ * 熔断器忽略异常判断
+ * <p>
+ * 以下异常不代表远程服务不可用，不计入熔断失败率：
+ * <ul>
+ *   <li>{@link BusinessException}：远程服务正常返回了业务错误（用户不存在、密码错误等）</li>
+ *   <li>{@link DeadlineExceededException}：调用方自身的截止时间耗尽</li>
+ * </ul>
+ * 两者经过 Feign 解码器时会被包装为 {@code DecodeException}，因此用各自的 {@code find} 沿异常链判断，
+ * 不能使用只匹配最外层异常类型的 {@code ignore-exceptions}。
+ * 通过 {@code resilience4j.circuitbreaker.configs.*.ignore-exception-predicate} 引用。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public class CircuitBreakerIgnorePredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable throwable) {
+        return BusinessException.find(throwable) != null || DeadlineExceededException.find(throwable) != null;
+    }
+}
@@ -0,0 +1,79 @@
+package com.ez.admin.feign.handler;
+
+import com.ez.admin.core.entity.R;
+import com.ez.admin.core.enums.BusinessErrorCode;
+import com.ez.admin.core.exception.ExceptionLogLimiter;
+import com.ez.admin.core.exception.GlobalExceptionHandler;
+import com.ez.admin.feign.exception.BusinessException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 远程业务异常处理器
+ * <p>
+ * Feign 调用返回的业务错误以 {@link BusinessException}（Feign 模块）抛出，它不继承 core 的 BaseException，
+ * 没有本处理器时会落入 {@link GlobalExceptionHandler} 的 {@code Exception} 兜底：
+ * 远程的用户端错误（如用户名或密码错误）被记为 error 日志，并以系统内部错误返回给前端。
+ * </p>
+ * <p>
+ * <b>处理原则：</b>
+ * <ul>
+ *   <li>原样返回远程错误码和提示信息</li>
+ *   <li>用户端错误记录 info 日志（不带堆栈），服务端 / 第三方及无法识别的错误码记录 error 日志</li>
+ *   <li>与全局异常处理器共用 {@link ExceptionLogLimiter}，按（错误码, URI 模板）限流</li>
+ * </ul>
+ * </p>
+ * <p>
+ * <b>注意事项：</b>
+ * <ul>
+ *   <li>业务异常经 Feign 解码后被包装在 DecodeException 中，Spring MVC 会沿异常链匹配，包装后的异常同样由本处理器处理</li>
+ *   <li>排在全局异常处理器之前，否则其 {@code Exception} 兜底会先匹配最外层的 DecodeException</li>
+ * </ul>
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Slf4j
+@RestControllerAdvice
+@Order(Ordered.LOWEST_PRECEDENCE - 100)
+public class RemoteBusinessExceptionHandler {
+
+    private final ExceptionLogLimiter logLimiter;
+
+    /**
+     * @param logLimiter 异常日志限流器（与全局异常处理器共用）
+     */
+    public RemoteBusinessExceptionHandler(ExceptionLogLimiter logLimiter) {
+        this.logLimiter = logLimiter;
+    }
+
+    /**
+     * 处理远程业务异常
+     *
+     * @param ex      远程业务异常（可能是异常链中的原因）
+     * @param request HTTP 请求
+     * @return 统一响应对象
+     */
+    @ExceptionHandler(BusinessException.class)
+    public R<Void> handleRemoteBusinessException(BusinessException ex, HttpServletRequest request) {
+        int code = ex.getCode() != null ? ex.getCode() : BusinessErrorCode.INTERNAL_ERROR.getCode();
+        String uri = request.getRequestURI();
+
+        long suppressed = logLimiter.tryAcquire(code, GlobalExceptionHandler.getUriTemplate(request));
+        if (suppressed >= 0) {
+            if (ex.needAlert()) {
+                log.error("[远程业务异常] URI: {}, 错误码: {}, 错误信息: {}{}", uri, code, ex.getMessage(),
+                        ExceptionLogLimiter.suppressedNote(suppressed), ex);
+            } else {
+                log.info("[远程业务异常] URI: {}, 错误码: {}, 错误信息: {}{}", uri, code, ex.getMessage(),
+                        ExceptionLogLimiter.suppressedNote(suppressed));
+            }
+        }
+        return R.fail(code, ex.getMessage());
+    }
+}
@@ -0,0 +1,31 @@
+package com.ez.admin.feign.interceptor;
+
+import com.ez.admin.core.constant.HttpHeaderConstants;
+import com.ez.admin.core.deadline.Deadline;
+import com.ez.admin.core.deadline.DeadlineContext;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+/**
+ * 截止时间传递拦截器
+ * <p>
+ * 当前线程带有截止时间时，把剩余毫秒数写入请求头 {@value HttpHeaderConstants#REQUEST_TIMEOUT}，
+ * 下游服务据此建立自己的截止时间，并继续向更下游传递。
+ * 剩余时间不足 1 毫秒时按 0 传递，由下游直接拒绝（本地客户端也会在发送前放弃）。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public class DeadlinePropagationRequestInterceptor implements RequestInterceptor {
+
+    @Override
+    public void apply(RequestTemplate template) {
+        Deadline deadline = DeadlineContext.current();
+        if (deadline == null) {
+            return;
+        }
+        template.removeHeader(HttpHeaderConstants.REQUEST_TIMEOUT);
+        template.header(HttpHeaderConstants.REQUEST_TIMEOUT, String.valueOf(Math.max(0, deadline.remainingMillis())));
+    }
+}
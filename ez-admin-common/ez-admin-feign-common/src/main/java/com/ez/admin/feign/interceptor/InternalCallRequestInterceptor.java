@@ -0,0 +1,80 @@
+package com.ez.admin.feign.interceptor;
+
+import com.ez.admin.core.constant.HttpHeaderConstants;
+import com.ez.admin.core.entity.R;
+import feign.MethodMetadata;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import feign.Response;
+import org.apache.commons.lang3.reflect.TypeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.lang.reflect.Type;
+
+/**
+ * 内部调用请求拦截器
+ * <p>
+ * 为所有 Feign 请求添加内部调用标记 {@link HttpHeaderConstants#INTERNAL_CALL}
+ * 和内部调用凭证 {@link HttpHeaderConstants#INTERNAL_TOKEN}（配置了共享密钥时），
+ * 并在启用二进制格式时声明优先接受 Smile 响应：
+ * <pre>
+ * Accept: application/x-jackson-smile, application/json;q=0.9
+ * </pre>
+ * 尚未注册 Smile 转换器的服务端会按 q 值回落到 JSON，便于滚动升级。
+ * </p>
+ * <p>
+ * 方法通过 {@code @GetMapping(produces = ...)} 显式声明了响应格式（如 NDJSON 流式接口）时，保留其 Accept 不做覆盖。
+ * </p>
+ * <p>
+ * 启用无信封模式时，再添加 {@value HttpHeaderConstants#ENVELOPE}: {@value HttpHeaderConstants#ENVELOPE_NONE}，
+ * 请求服务端成功时直接返回 data。方法返回值本身声明为 {@code R<T>} 或原始 {@link Response} 时，
+ * 调用方需要完整响应，不添加该请求头。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public class InternalCallRequestInterceptor implements RequestInterceptor {
+
+    private static final String SMILE_ACCEPT =
+            HttpHeaderConstants.APPLICATION_SMILE + ", " + MediaType.APPLICATION_JSON_VALUE + ";q=0.9";
+
+    private final String internalToken;
+    private final boolean preferSmile;
+    private final boolean envelopeFree;
+
+    /**
+     * @param internalToken 服务间共享密钥，为空时不添加凭证
+     * @param preferSmile   是否优先接受 Smile 响应
+     * @param envelopeFree  是否请求无信封响应
+     */
+    public InternalCallRequestInterceptor(String internalToken, boolean preferSmile, boolean envelopeFree) {
+        this.internalToken = internalToken != null && !internalToken.isBlank() ? internalToken : null;
+        this.preferSmile = preferSmile;
+        this.envelopeFree = envelopeFree;
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        template.header(HttpHeaderConstants.INTERNAL_CALL, Boolean.TRUE.toString());
+        if (internalToken != null) {
+            template.removeHeader(HttpHeaderConstants.INTERNAL_TOKEN);
+            template.header(HttpHeaderConstants.INTERNAL_TOKEN, internalToken);
+        }
+        if (preferSmile && !template.headers().containsKey(HttpHeaders.ACCEPT)) {
+            template.header(HttpHeaders.ACCEPT, SMILE_ACCEPT);
+        }
+        if (envelopeFree && acceptsUnwrappedData(template.methodMetadata())) {
+            template.header(HttpHeaderConstants.ENVELOPE, HttpHeaderConstants.ENVELOPE_NONE);
+        }
+    }
+
+    private boolean acceptsUnwrappedData(MethodMetadata metadata) {
+        if (metadata == null) {
+            return false;
+        }
+        Type returnType = metadata.returnType();
+        return !TypeUtils.isAssignable(returnType, R.class) && !TypeUtils.isAssignable(returnType, Response.class);
+    }
+}
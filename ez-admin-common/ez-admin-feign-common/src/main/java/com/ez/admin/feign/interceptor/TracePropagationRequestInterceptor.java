@@ -0,0 +1,30 @@
+package com.ez.admin.feign.interceptor;
+
+import com.ez.admin.core.constant.HttpHeaderConstants;
+import com.ez.admin.core.trace.TraceContext;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+/**
+ * 链路追踪 ID 传递拦截器
+ * <p>
+ * 当前线程带有追踪 ID 时写入请求头 {@value HttpHeaderConstants#TRACE_ID}，
+ * 下游服务沿用同一个追踪 ID，一次请求在各服务中的日志可以按追踪 ID 串联。
+ * 请求上下文之外的调用（如定时刷新缓存）不添加，由下游自行生成。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public class TracePropagationRequestInterceptor implements RequestInterceptor {
+
+    @Override
+    public void apply(RequestTemplate template) {
+        String traceId = TraceContext.current();
+        if (traceId == null) {
+            return;
+        }
+        template.removeHeader(HttpHeaderConstants.TRACE_ID);
+        template.header(HttpHeaderConstants.TRACE_ID, traceId);
+    }
+}
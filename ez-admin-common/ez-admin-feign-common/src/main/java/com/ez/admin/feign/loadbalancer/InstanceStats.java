@@ -0,0 +1,105 @@
+package com.ez.admin.feign.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 单个服务实例的调用统计
+ * <p>
+ * 记录进行中的调用数、Peak EWMA 延迟，以及用于异常摘除的窗口失败率和连续失败数。
+ * 延迟与窗口计数在同一把锁内更新（每次调用结束一次，竞争很小）；进行中调用数为无锁计数。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+class InstanceStats {
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private double ewmaNanos;
+    private long lastSampleNanos;
+
+    private long windowStartNanos;
+    private int windowRequests;
+    private int windowFailures;
+    private int consecutiveFailures;
+
+    private volatile long ejectedUntilNanos;
+
+    void onStart() {
+        inflight.incrementAndGet();
+    }
+
+    /**
+     * 进行中的调用数
+     */
+    int inflight() {
+        return inflight.get();
+    }
+
+    /**
+     * 记录一次调用结果
+     *
+     * @param now        当前时间（nanoTime）
+     * @param latency    调用耗时（纳秒）
+     * @param failure    是否失败
+     * @param properties 配置
+     */
+    synchronized void onComplete(long now, long latency, boolean failure, LatencyAwareLoadBalancerProperties properties) {
+        inflight.decrementAndGet();
+        updateEwma(now, latency, properties.getDecayTime().toNanos());
+
+        LatencyAwareLoadBalancerProperties.Ejection ejection = properties.getEjection();
+        if (now - windowStartNanos > ejection.getWindow().toNanos()) {
+            windowStartNanos = now;
+            windowRequests = 0;
+            windowFailures = 0;
+        }
+        windowRequests++;
+        if (failure) {
+            windowFailures++;
+            consecutiveFailures++;
+        } else {
+            consecutiveFailures = 0;
+        }
+
+        boolean failureRateExceeded = windowRequests >= ejection.getMinimumRequests()
+                && windowFailures >= windowRequests * ejection.getFailureRateThreshold();
+        if (failureRateExceeded || consecutiveFailures >= ejection.getConsecutiveFailures()) {
+            ejectedUntilNanos = now + ejection.getEjectionDuration().toNanos();
+            windowStartNanos = now;
+            windowRequests = 0;
+            windowFailures = 0;
+            consecutiveFailures = 0;
+        }
+    }
+
+    /**
+     * Peak EWMA：延迟升高时立即跟随，降低时按时间衰减平滑
+     */
+    private void updateEwma(long now, long latency, long decayNanos) {
+        if (lastSampleNanos == 0 || latency > ewmaNanos) {
+            ewmaNanos = latency;
+        } else {
+            double weight = Math.exp(-(double) (now - lastSampleNanos) / decayNanos);
+            ewmaNanos = ewmaNanos * weight + latency * (1 - weight);
+        }
+        lastSampleNanos = now;
+    }
+
+    /**
+     * 选择代价：EWMA 延迟 × (进行中调用数 + 1)
+     *
+     * @param initialLatencyNanos 没有样本时使用的延迟
+     * @return 代价，越小越优先
+     */
+    synchronized double cost(long initialLatencyNanos) {
+        double latency = lastSampleNanos == 0 ? initialLatencyNanos : Math.max(ewmaNanos, initialLatencyNanos);
+        return latency * (inflight.get() + 1);
+    }
+
+    boolean isEjected(long now) {
+        long until = ejectedUntilNanos;
+        return until != 0 && until - now > 0;
+    }
+}
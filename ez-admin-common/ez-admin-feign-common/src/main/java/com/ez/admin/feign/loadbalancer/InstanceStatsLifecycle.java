@@ -0,0 +1,71 @@
+package com.ez.admin.feign.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+
+/**
+ * 实例调用统计生命周期回调
+ * <p>
+ * FeignBlockingLoadBalancerClient 在调用线程上依次回调 {@link #onStartRequest} 和 {@link #onComplete}，
+ * 这里据此更新 {@link InstanceStatsRegistry}：
+ * <ul>
+ *   <li>进行中调用数：开始 +1，结束 -1</li>
+ *   <li>延迟：开始到结束的耗时（网络往返，不含解码）</li>
+ *   <li>失败：连接/读取异常，或 5xx 响应（即 FeignResultDecoder 判定为“HTTP 响应错误”的服务端故障）；
+ *       4xx 与业务状态码失败说明实例本身正常，不计入</li>
+ * </ul>
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public class InstanceStatsLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    /**
+     * 当前线程调用的开始时间（阻塞式 Feign 调用，开始与结束回调在同一线程）
+     */
+    private static final ThreadLocal<Long> START_NANOS = new ThreadLocal<>();
+
+    private final InstanceStatsRegistry registry;
+
+    public InstanceStatsLifecycle(InstanceStatsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (lbResponse != null && lbResponse.hasServer()) {
+            registry.onStart(lbResponse.getServer());
+            START_NANOS.set(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Long start = START_NANOS.get();
+        START_NANOS.remove();
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (start == null || lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        long latency = System.nanoTime() - start;
+        registry.onComplete(lbResponse.getServer(), latency, isFailure(completionContext));
+    }
+
+    private static boolean isFailure(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            return true;
+        }
+        return completionContext.getClientResponse() instanceof ResponseData responseData
+                && responseData.getHttpStatus() != null
+                && responseData.getHttpStatus().is5xxServerError();
+    }
+}
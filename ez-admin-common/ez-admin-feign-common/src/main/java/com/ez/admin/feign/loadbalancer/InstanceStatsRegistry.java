@@ -0,0 +1,157 @@
+package com.ez.admin.feign.loadbalancer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 服务实例调用统计注册表
+ * <p>
+ * 按实例地址（host:port）保存 {@link InstanceStats}，由 {@link InstanceStatsLifecycle} 在每次调用前后更新，
+ * 由 {@link LatencyAwareLoadBalancer} 在选择实例时读取。所有下游服务共用一个注册表。
+ * </p>
+ * <p>
+ * 负载均衡器每次选择时通过 {@link #retain(String, List)} 同步该服务的当前实例列表，
+ * 已从服务发现中下线的实例统计随之移除，实例频繁扩缩容、重建（地址变化）时注册表不会无限增长。
+ * 下线时仍有进行中调用的实例暂不移除，在实例列表下次变化时再检查。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Slf4j
+public class InstanceStatsRegistry {
+
+    private final LatencyAwareLoadBalancerProperties properties;
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+    private final Map<String, Membership> memberships = new ConcurrentHashMap<>();
+
+    public InstanceStatsRegistry(LatencyAwareLoadBalancerProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 实例统计 Key
+     *
+     * @param instance 服务实例
+     * @return host:port
+     */
+    public static String keyOf(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    /**
+     * 同步服务的当前实例列表，移除已下线实例的统计
+     * <p>
+     * 服务实例列表通常由带缓存的 ServiceInstanceListSupplier 提供，列表对象未变化时直接返回。
+     * </p>
+     *
+     * @param serviceId 服务ID
+     * @param instances 服务发现返回的当前实例
+     */
+    void retain(String serviceId, List<ServiceInstance> instances) {
+        Membership membership = memberships.computeIfAbsent(serviceId, id -> new Membership());
+        if (membership.lastInstances == instances) {
+            return;
+        }
+        synchronized (membership) {
+            if (membership.lastInstances == instances) {
+                return;
+            }
+            Set<String> current = new HashSet<>(instances.size() * 2);
+            for (ServiceInstance instance : instances) {
+                current.add(keyOf(instance));
+            }
+            Iterator<String> iterator = membership.keys.iterator();
+            while (iterator.hasNext()) {
+                String key = iterator.next();
+                if (current.contains(key)) {
+                    continue;
+                }
+                InstanceStats instanceStats = stats.get(key);
+                if (instanceStats == null || instanceStats.inflight() == 0) {
+                    stats.remove(key);
+                    iterator.remove();
+                    log.debug("服务实例已下线，移除调用统计: serviceId={}, instance={}", serviceId, key);
+                }
+            }
+            membership.keys.addAll(current);
+            membership.lastInstances = instances;
+        }
+    }
+
+    /**
+     * 已保存统计的实例数
+     */
+    int size() {
+        return stats.size();
+    }
+
+    void onStart(ServiceInstance instance) {
+        statsOf(instance).onStart();
+    }
+
+    void onComplete(ServiceInstance instance, long latencyNanos, boolean failure) {
+        InstanceStats instanceStats = statsOf(instance);
+        long now = System.nanoTime();
+        boolean wasEjected = instanceStats.isEjected(now);
+        instanceStats.onComplete(now, latencyNanos, failure, properties);
+        if (!wasEjected && instanceStats.isEjected(now)) {
+            log.warn("服务实例异常，暂时摘除: serviceId={}, instance={}, duration={}",
+                    instance.getServiceId(), keyOf(instance), properties.getEjection().getEjectionDuration());
+        }
+    }
+
+    /**
+     * 过滤掉已摘除的实例
+     * <p>
+     * 摘除数量受 {@code maxEjectionPercent} 限制，超出时按原顺序保留部分被摘除实例，
+     * 保证始终有实例可选。
+     * </p>
+     *
+     * @param instances 全部实例
+     * @return 可参与选择的实例
+     */
+    List<ServiceInstance> available(List<ServiceInstance> instances) {
+        long now = System.nanoTime();
+        int maxEjected = (int) (instances.size() * properties.getEjection().getMaxEjectionPercent());
+        List<ServiceInstance> available = new ArrayList<>(instances.size());
+        int ejected = 0;
+        for (ServiceInstance instance : instances) {
+            InstanceStats instanceStats = stats.get(keyOf(instance));
+            if (instanceStats != null && instanceStats.isEjected(now) && ejected < maxEjected) {
+                ejected++;
+                continue;
+            }
+            available.add(instance);
+        }
+        return available;
+    }
+
+    /**
+     * 实例选择代价，越小越优先
+     */
+    double cost(ServiceInstance instance) {
+        return statsOf(instance).cost(properties.getInitialLatency().toNanos());
+    }
+
+    private InstanceStats statsOf(ServiceInstance instance) {
+        return stats.computeIfAbsent(keyOf(instance), key -> new InstanceStats());
+    }
+
+    /**
+     * 单个服务最近一次同步的实例列表及其实例 Key
+     */
+    private static final class Membership {
+
+        private final Set<String> keys = new HashSet<>();
+        private volatile List<ServiceInstance> lastInstances;
+    }
+}
@@ -0,0 +1,75 @@
+package com.ez.admin.feign.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 延迟感知负载均衡器（Power of Two Choices + Peak EWMA）
+ * <p>
+ * 每次选择：
+ * <ol>
+ *   <li>同步当前实例列表，移除已下线实例的统计（见 {@link InstanceStatsRegistry#retain}）</li>
+ *   <li>过滤掉被摘除的异常实例（见 {@link InstanceStatsRegistry#available}）</li>
+ *   <li>随机取两个不同的实例</li>
+ *   <li>选择代价（EWMA 延迟 × (进行中调用数 + 1)）较小的一个</li>
+ * </ol>
+ * 相比轮询，慢实例或 GC 停顿中的实例会因延迟和积压升高而迅速少分流量；
+ * 相比“全局最优”，随机二选一避免了所有客户端同时涌向同一个实例。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final String serviceId;
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final InstanceStatsRegistry registry;
+
+    public LatencyAwareLoadBalancer(String serviceId,
+                                    ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                                    InstanceStatsRegistry registry) {
+        this.serviceId = serviceId;
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier =
+                serviceInstanceListSupplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::choose);
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        registry.retain(serviceId, instances);
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        List<ServiceInstance> candidates = registry.available(instances);
+        if (candidates.size() == 1) {
+            return new DefaultResponse(candidates.getFirst());
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = candidates.get(first);
+        ServiceInstance b = candidates.get(second);
+        return new DefaultResponse(registry.cost(a) <= registry.cost(b) ? a : b);
+    }
+}
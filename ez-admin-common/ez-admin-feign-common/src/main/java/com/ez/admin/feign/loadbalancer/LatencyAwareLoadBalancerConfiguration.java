@@ -0,0 +1,36 @@
+package com.ez.admin.feign.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * 延迟感知负载均衡器的子容器配置
+ * <p>
+ * 通过 {@code @LoadBalancerClients(defaultConfiguration = ...)} 注册，
+ * 在每个下游服务的 LoadBalancer 子容器中创建一个 {@link LatencyAwareLoadBalancer}，
+ * 替换默认的 RoundRobinLoadBalancer。不能被组件扫描到，否则会进入主容器。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Configuration(proxyBeanMethods = false)
+public class LatencyAwareLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(
+            Environment environment,
+            LoadBalancerClientFactory loadBalancerClientFactory,
+            InstanceStatsRegistry instanceStatsRegistry) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        ObjectProvider<ServiceInstanceListSupplier> supplierProvider =
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class);
+        return new LatencyAwareLoadBalancer(serviceId, supplierProvider, instanceStatsRegistry);
+    }
+}
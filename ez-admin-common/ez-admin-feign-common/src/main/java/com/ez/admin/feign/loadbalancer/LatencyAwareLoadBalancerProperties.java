@@ -0,0 +1,87 @@
+package com.ez.admin.feign.loadbalancer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 延迟感知负载均衡配置属性
+ * <p>
+ * 配置前缀：{@code ez.feign.loadbalancer}。
+ * </p>
+ * <p>
+ * 配置示例：
+ * <pre>
+ * ez:
+ *   feign:
+ *     loadbalancer:
+ *       enabled: true
+ *       decay-time: 10s
+ *       ejection:
+ *         failure-rate-threshold: 0.5
+ *         ejection-duration: 30s
+ * </pre>
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Data
+@ConfigurationProperties(prefix = "ez.feign.loadbalancer")
+public class LatencyAwareLoadBalancerProperties {
+
+    /**
+     * 是否启用延迟感知负载均衡（关闭后回退到 Spring Cloud LoadBalancer 默认的轮询）
+     */
+    private boolean enabled = true;
+
+    /**
+     * EWMA 衰减时间常数：越小越快遗忘历史延迟
+     */
+    private Duration decayTime = Duration.ofSeconds(10);
+
+    /**
+     * 没有延迟样本的实例（如新上线）使用的初始延迟
+     */
+    private Duration initialLatency = Duration.ofMillis(1);
+
+    /**
+     * 异常实例摘除配置
+     */
+    private Ejection ejection = new Ejection();
+
+    @Data
+    public static class Ejection {
+
+        /**
+         * 统计窗口
+         */
+        private Duration window = Duration.ofSeconds(10);
+
+        /**
+         * 窗口内至少有这么多次调用才按失败率判断
+         */
+        private int minimumRequests = 10;
+
+        /**
+         * 窗口内失败率达到该值时摘除
+         */
+        private double failureRateThreshold = 0.5;
+
+        /**
+         * 连续失败达到该次数时立即摘除（不等窗口内调用数达到下限）
+         */
+        private int consecutiveFailures = 5;
+
+        /**
+         * 摘除时长，到期后自动恢复参与选择
+         */
+        private Duration ejectionDuration = Duration.ofSeconds(30);
+
+        /**
+         * 最多摘除的实例比例，避免故障扩散时把所有实例都摘掉
+         */
+        private double maxEjectionPercent = 0.5;
+    }
+}
@@ -0,0 +1,91 @@
+package com.ez.admin.feign.metrics;
+
+import com.ez.admin.core.exception.DeadlineExceededException;
+import com.ez.admin.feign.exception.BusinessException;
+import feign.FeignException;
+import feign.RetryableException;
+import feign.codec.DecodeException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Feign 调用结果分类
+ * <p>
+ * 用作调用耗时指标的 outcome 标签，区分“服务不可用”和“服务正常返回了错误”：
+ * <ul>
+ *   <li>{@link #HTTP_ERROR}：远程服务返回 4xx / 5xx</li>
+ *   <li>{@link #BUSINESS_ERROR}：HTTP 成功但 R.code 是用户端错误码（FeignResultDecoder#checkResult）</li>
+ *   <li>{@link #BUSINESS_SERVER_ERROR}：HTTP 成功但 R.code 是服务端 / 第三方或无法识别的错误码，需要告警</li>
+ *   <li>{@link #DECODE_ERROR}：响应体无法解析</li>
+ *   <li>{@link #TIMEOUT}：连接或读取超时，或请求截止时间已过未发出</li>
+ *   <li>{@link #IO_ERROR}：连接失败等其他网络异常</li>
+ * </ul>
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Getter
+@AllArgsConstructor
+public enum FeignCallOutcome {
+
+    SUCCESS("success"),
+    HTTP_ERROR("http_error"),
+    BUSINESS_ERROR("business_error"),
+    BUSINESS_SERVER_ERROR("business_server_error"),
+    DECODE_ERROR("decode_error"),
+    TIMEOUT("timeout"),
+    IO_ERROR("io_error"),
+    UNKNOWN_ERROR("unknown_error");
+
+    /**
+     * 指标标签值
+     */
+    private final String tag;
+
+    /**
+     * 根据调用抛出的异常判断结果分类
+     *
+     * @param error 调用异常，null 表示成功
+     * @return 结果分类
+     */
+    public static FeignCallOutcome of(Throwable error) {
+        if (error == null) {
+            return SUCCESS;
+        }
+        // 解码器抛出的业务异常会被 Feign 包装为 DecodeException，需先沿异常链识别
+        BusinessException businessException = BusinessException.find(error);
+        if (businessException != null) {
+            return businessException.needAlert() ? BUSINESS_SERVER_ERROR : BUSINESS_ERROR;
+        }
+        if (isTimeout(error)) {
+            return TIMEOUT;
+        }
+        if (error instanceof RetryableException) {
+            return IO_ERROR;
+        }
+        if (error instanceof FeignException feignException && feignException.status() >= 400) {
+            return HTTP_ERROR;
+        }
+        if (error instanceof DecodeException) {
+            return DECODE_ERROR;
+        }
+        return UNKNOWN_ERROR;
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof DeadlineExceededException
+                    || t instanceof SocketTimeoutException
+                    || t instanceof HttpTimeoutException
+                    || t instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
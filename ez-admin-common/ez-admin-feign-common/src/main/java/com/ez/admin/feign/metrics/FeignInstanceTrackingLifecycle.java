@@ -0,0 +1,37 @@
+package com.ez.admin.feign.metrics;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+
+/**
+ * 记录负载均衡选中实例的生命周期回调
+ * <p>
+ * FeignBlockingLoadBalancerClient 在调用线程上选定实例后回调 {@link #onStartRequest}，
+ * 这里把实例地址写入 {@link FeignMetricsCapability} 的线程上下文，
+ * 使超时、连接失败等拿不到响应的调用也能带上目标实例标签。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public class FeignInstanceTrackingLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (lbResponse != null && lbResponse.hasServer()) {
+            ServiceInstance instance = lbResponse.getServer();
+            FeignMetricsCapability.markInstance(instance.getHost() + ":" + instance.getPort());
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+    }
+}
@@ -0,0 +1,267 @@
+package com.ez.admin.feign.metrics;
+
+import feign.Capability;
+import feign.Client;
+import feign.InvocationHandlerFactory;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+import feign.Target;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Feign 调用指标能力扩展
+ * <p>
+ * 通过 Feign {@link Capability} 在每个 Feign 客户端上织入指标采集：
+ * <ul>
+ *   <li>{@value #CALLS}：调用耗时（含解码），标签 client / method / outcome / instance，
+ *       outcome 见 {@link FeignCallOutcome}</li>
+ *   <li>{@value #REQUEST_SIZE}：请求体大小分布（字节），标签 client / method</li>
+ *   <li>{@value #RESPONSE_SIZE}：响应体大小分布（字节），标签 client / method / instance</li>
+ * </ul>
+ * instance 为负载均衡选中的 Nacos 实例地址（host:port），用于定位慢实例。
+ * </p>
+ * <p>
+ * 计时包裹在 MethodHandler 上，开启熔断时位于熔断器内部，只统计真实的远程调用，不包含降级逻辑。
+ * 未注册 MeterRegistry 时不做任何包装。
+ * </p>
+ * <p>
+ * Timer / DistributionSummary 按（指标名, client, method, outcome, instance）缓存，
+ * 热路径上每次调用只做一次 Map 查找，不再重复构建 Builder、在注册表中按 Meter.Id 查找。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public class FeignMetricsCapability implements Capability {
+
+    static final String CALLS = "ez.feign.client.calls";
+    static final String REQUEST_SIZE = "ez.feign.client.request.size";
+    static final String RESPONSE_SIZE = "ez.feign.client.response.size";
+
+    private static final String UNKNOWN_INSTANCE = "unknown";
+
+    /**
+     * 当前线程正在进行的调用所选中的实例
+     */
+    private static final ThreadLocal<String> CURRENT_INSTANCE = new ThreadLocal<>();
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private volatile MeterRegistry meterRegistry;
+
+    private final Map<MeterKey, Timer> callTimers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, DistributionSummary> sizeSummaries = new ConcurrentHashMap<>();
+
+    /**
+     * @param meterRegistryProvider 指标注册表（延迟获取，Feign 客户端可能早于注册表创建）
+     */
+    public FeignMetricsCapability(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    /**
+     * 记录当前线程调用选中的实例
+     *
+     * @param instance 实例地址 host:port
+     */
+    static void markInstance(String instance) {
+        CURRENT_INSTANCE.set(instance);
+    }
+
+    @Override
+    public InvocationHandlerFactory enrich(InvocationHandlerFactory invocationHandlerFactory) {
+        return (target, dispatch) -> {
+            Map<Method, MethodHandler> timedDispatch = new LinkedHashMap<>(dispatch.size() * 2);
+            dispatch.forEach((method, handler) -> timedDispatch.put(method, timed(target, method, handler)));
+            return invocationHandlerFactory.create(target, timedDispatch);
+        };
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            MeterRegistry registry = registry();
+            if (registry == null) {
+                return client.execute(request, options);
+            }
+            String clientTag = clientTag(request);
+            String methodTag = methodTag(request);
+            if (request.body() != null) {
+                sizeSummary(registry, REQUEST_SIZE, clientTag, methodTag, null).record(request.body().length);
+            }
+
+            Response response = client.execute(request, options);
+            String instance = instanceOf(response.request());
+            markInstance(instance);
+            if (response.body() == null) {
+                return response;
+            }
+            DistributionSummary responseSize = sizeSummary(registry, RESPONSE_SIZE, clientTag, methodTag, instance);
+            Integer length = response.body().length();
+            if (length != null) {
+                responseSize.record(length);
+                return response;
+            }
+            // 分块传输没有 Content-Length，读取完毕时按实际字节数记录
+            return response.toBuilder()
+                    .body(new CountingInputStream(response.body().asInputStream(), responseSize), null)
+                    .build();
+        };
+    }
+
+    private MethodHandler timed(Target<?> target, Method method, MethodHandler handler) {
+        String clientTag = target.type().getSimpleName();
+        String methodTag = method.getName();
+        return argv -> {
+            MeterRegistry registry = registry();
+            if (registry == null) {
+                return handler.invoke(argv);
+            }
+            CURRENT_INSTANCE.remove();
+            Timer.Sample sample = Timer.start(registry);
+            Throwable error = null;
+            try {
+                return handler.invoke(argv);
+            } catch (Throwable e) {
+                error = e;
+                throw e;
+            } finally {
+                String instance = CURRENT_INSTANCE.get();
+                CURRENT_INSTANCE.remove();
+                sample.stop(callTimer(registry, clientTag, methodTag, FeignCallOutcome.of(error).getTag(),
+                        instance != null ? instance : UNKNOWN_INSTANCE));
+            }
+        };
+    }
+
+    private Timer callTimer(MeterRegistry registry, String clientTag, String methodTag,
+                            String outcome, String instance) {
+        return callTimers.computeIfAbsent(new MeterKey(CALLS, clientTag, methodTag, outcome, instance),
+                key -> Timer.builder(CALLS)
+                        .description("Feign 调用耗时")
+                        .tag("client", clientTag)
+                        .tag("method", methodTag)
+                        .tag("outcome", outcome)
+                        .tag("instance", instance)
+                        .publishPercentileHistogram()
+                        .register(registry));
+    }
+
+    private DistributionSummary sizeSummary(MeterRegistry registry, String name,
+                                            String clientTag, String methodTag, String instance) {
+        return sizeSummaries.computeIfAbsent(new MeterKey(name, clientTag, methodTag, null, instance), key -> {
+            DistributionSummary.Builder builder = DistributionSummary.builder(name)
+                    .baseUnit("bytes")
+                    .tag("client", clientTag)
+                    .tag("method", methodTag)
+                    .publishPercentiles(0.5, 0.95, 0.99);
+            if (instance != null) {
+                builder.tag("instance", instance);
+            }
+            return builder.register(registry);
+        });
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            registry = meterRegistryProvider.getIfAvailable();
+            meterRegistry = registry;
+        }
+        return registry;
+    }
+
+    private static String clientTag(Request request) {
+        Target<?> target = request.requestTemplate() != null ? request.requestTemplate().feignTarget() : null;
+        return target != null ? target.type().getSimpleName() : UNKNOWN_INSTANCE;
+    }
+
+    private static String methodTag(Request request) {
+        MethodMetadata metadata = request.requestTemplate() != null ? request.requestTemplate().methodMetadata() : null;
+        return metadata != null && metadata.method() != null ? metadata.method().getName() : UNKNOWN_INSTANCE;
+    }
+
+    /**
+     * 从（负载均衡改写后的）请求地址中取出实例 host:port
+     */
+    private static String instanceOf(Request request) {
+        if (request == null) {
+            return UNKNOWN_INSTANCE;
+        }
+        try {
+            URI uri = URI.create(request.url());
+            return uri.getPort() > 0 ? uri.getHost() + ":" + uri.getPort() : uri.getHost();
+        } catch (IllegalArgumentException e) {
+            return UNKNOWN_INSTANCE;
+        }
+    }
+
+    /**
+     * 指标缓存 Key（不适用的标签为 null）
+     */
+    private record MeterKey(String name, String client, String method, String outcome, String instance) {
+    }
+
+    /**
+     * 关闭或读到末尾时记录已读取字节数的输入流
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final DistributionSummary summary;
+        private long count;
+        private boolean recorded;
+
+        CountingInputStream(InputStream in, DistributionSummary summary) {
+            super(in);
+            this.summary = summary;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            } else {
+                record();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            } else if (n < 0) {
+                record();
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            record();
+            super.close();
+        }
+
+        private void record() {
+            if (!recorded) {
+                recorded = true;
+                summary.record(count);
+            }
+        }
+    }
+}
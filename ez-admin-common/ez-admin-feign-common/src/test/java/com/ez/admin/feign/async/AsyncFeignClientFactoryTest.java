@@ -0,0 +1,148 @@
+package com.ez.admin.feign.async;
+
+import com.ez.admin.core.deadline.Deadline;
+import com.ez.admin.core.deadline.DeadlineContext;
+import com.ez.admin.core.enums.BusinessErrorCode;
+import com.ez.admin.core.trace.TraceContext;
+import com.ez.admin.feign.exception.BusinessException;
+import feign.Request;
+import feign.codec.DecodeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 异步 Feign 客户端工厂测试
+ * <p>
+ * 覆盖代理在执行器上调用同步方法并传递追踪ID / 截止时间、业务异常从 DecodeException 中解包、
+ * 执行器拒绝时以异常完成 future，以及接口不匹配时创建失败。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+class AsyncFeignClientFactoryTest {
+
+    private static final String TRACE_ID = "0123456789abcdef0123456789abcdef";
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        TraceContext.clear();
+        DeadlineContext.clear();
+    }
+
+    @Test
+    void callRunsOnExecutorWithCallerContext() throws Exception {
+        ProbeAsyncClient asyncClient = AsyncFeignClientFactory.create(ProbeAsyncClient.class, new ProbeClientImpl(), executor);
+        TraceContext.set(TRACE_ID);
+        DeadlineContext.set(Deadline.after(Duration.ofSeconds(5)));
+
+        String result = asyncClient.echo("ping").get(5, TimeUnit.SECONDS);
+
+        assertThat(result).startsWith("ping@").doesNotEndWith("@" + Thread.currentThread().getName());
+        assertThat(ProbeClientImpl.lastTraceId).isEqualTo(TRACE_ID);
+        assertThat(ProbeClientImpl.lastDeadline).isSameAs(DeadlineContext.current());
+    }
+
+    @Test
+    void businessExceptionIsUnwrappedFromDecodeException() {
+        ProbeAsyncClient asyncClient = AsyncFeignClientFactory.create(ProbeAsyncClient.class, new ProbeClientImpl(), executor);
+
+        CompletableFuture<String> future = asyncClient.fail();
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(BusinessException.class)
+                .hasMessage(BusinessErrorCode.USER_NOT_FOUND.getMessage());
+    }
+
+    @Test
+    void rejectedTaskCompletesFutureExceptionally() {
+        ProbeAsyncClient asyncClient = AsyncFeignClientFactory.create(ProbeAsyncClient.class, new ProbeClientImpl(),
+                task -> {
+                    throw new RejectedExecutionException("queue full");
+                });
+
+        CompletableFuture<String> future = asyncClient.echo("ping");
+
+        assertThat(future).isCompletedExceptionally();
+        assertThatThrownBy(future::join).hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void mismatchedInterfaceFailsOnCreate() {
+        assertThatThrownBy(() -> AsyncFeignClientFactory.create(MismatchedAsyncClient.class, new ProbeClientImpl(), executor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("missing");
+        assertThatThrownBy(() -> AsyncFeignClientFactory.create(BlockingAsyncClient.class, new ProbeClientImpl(), executor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("CompletableFuture");
+    }
+
+    interface ProbeClient {
+
+        String echo(String value);
+
+        String fail();
+    }
+
+    interface ProbeAsyncClient {
+
+        CompletableFuture<String> echo(String value);
+
+        CompletableFuture<String> fail();
+    }
+
+    interface MismatchedAsyncClient {
+
+        CompletableFuture<String> missing();
+    }
+
+    interface BlockingAsyncClient {
+
+        String echo(String value);
+    }
+
+    static class ProbeClientImpl implements ProbeClient {
+
+        static volatile String lastTraceId;
+        static volatile Deadline lastDeadline;
+
+        @Override
+        public String echo(String value) {
+            lastTraceId = TraceContext.current();
+            lastDeadline = DeadlineContext.current();
+            return value + "@" + Thread.currentThread().getName();
+        }
+
+        @Override
+        public String fail() {
+            BusinessException cause = new BusinessException(BusinessErrorCode.USER_NOT_FOUND.getMessage(),
+                    BusinessErrorCode.USER_NOT_FOUND.getCode());
+            Request request = Request.create(Request.HttpMethod.GET, "/probe", Map.of(), null, StandardCharsets.UTF_8, null);
+            throw new DecodeException(200, cause.getMessage(), request, cause);
+        }
+    }
+}
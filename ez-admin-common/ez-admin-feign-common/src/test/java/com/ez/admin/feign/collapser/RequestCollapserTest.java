@@ -0,0 +1,158 @@
+package com.ez.admin.feign.collapser;
+
+import com.ez.admin.core.deadline.Deadline;
+import com.ez.admin.core.deadline.DeadlineContext;
+import com.ez.admin.core.exception.DeadlineExceededException;
+import com.ez.admin.core.trace.TraceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 请求合并器测试
+ * <p>
+ * 覆盖批量加载线程上的追踪ID / 截止时间传递，以及 {@link RequestCollapser#get(Object)}
+ * 的等待时间受最长等待时间和调用方截止时间限制。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+class RequestCollapserTest {
+
+    private static final String TRACE_ID = "0123456789abcdef0123456789abcdef";
+
+    private RequestCollapser<Long, String> collapser;
+
+    @AfterEach
+    void tearDown() {
+        if (collapser != null) {
+            collapser.close();
+        }
+        TraceContext.clear();
+        DeadlineContext.clear();
+    }
+
+    @Test
+    void batchRunsWithFirstCallerTraceAndLatestDeadline() throws Exception {
+        AtomicReference<String> loaderTraceId = new AtomicReference<>();
+        AtomicReference<Deadline> loaderDeadline = new AtomicReference<>();
+        collapser = collapser(keys -> {
+            loaderTraceId.set(TraceContext.current());
+            loaderDeadline.set(DeadlineContext.current());
+            return echo(keys);
+        }, Duration.ofMillis(50), Duration.ofSeconds(5));
+
+        Deadline early = Deadline.after(Duration.ofSeconds(2));
+        Deadline late = Deadline.after(Duration.ofSeconds(4));
+        TraceContext.set(TRACE_ID);
+        DeadlineContext.set(early);
+        CompletableFuture<String> first = collapser.submit(1L);
+        TraceContext.clear();
+        DeadlineContext.set(late);
+        CompletableFuture<String> second = collapser.submit(2L);
+
+        assertThat(first.get(1, TimeUnit.SECONDS)).isEqualTo("v1");
+        assertThat(second.get(1, TimeUnit.SECONDS)).isEqualTo("v2");
+        assertThat(loaderTraceId.get()).isEqualTo(TRACE_ID);
+        assertThat(loaderDeadline.get()).isEqualTo(late);
+    }
+
+    @Test
+    void batchHasNoDeadlineWhenAnyCallerHasNone() throws Exception {
+        AtomicReference<Deadline> loaderDeadline = new AtomicReference<>(Deadline.after(Duration.ZERO));
+        collapser = collapser(keys -> {
+            loaderDeadline.set(DeadlineContext.current());
+            return echo(keys);
+        }, Duration.ofMillis(50), Duration.ofSeconds(5));
+
+        DeadlineContext.set(Deadline.after(Duration.ofSeconds(2)));
+        CompletableFuture<String> first = collapser.submit(1L);
+        DeadlineContext.clear();
+        CompletableFuture<String> second = collapser.submit(2L);
+
+        CompletableFuture.allOf(first, second).get(1, TimeUnit.SECONDS);
+        assertThat(loaderDeadline.get()).isNull();
+    }
+
+    @Test
+    void waitIsBoundedByMaxWait() {
+        CountDownLatch release = new CountDownLatch(1);
+        collapser = collapser(keys -> {
+            await(release);
+            return echo(keys);
+        }, Duration.ofMillis(1), Duration.ofMillis(100));
+
+        try {
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> collapser.get(1L)).isInstanceOf(DeadlineExceededException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void waitIsBoundedByCallerDeadline() {
+        CountDownLatch release = new CountDownLatch(1);
+        collapser = collapser(keys -> {
+            await(release);
+            return echo(keys);
+        }, Duration.ofMillis(1), Duration.ofSeconds(30));
+
+        try {
+            DeadlineContext.set(Deadline.after(Duration.ofMillis(100)));
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> collapser.get(1L)).isInstanceOf(DeadlineExceededException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+
+            // 截止时间已过时不再提交
+            DeadlineContext.set(Deadline.after(Duration.ZERO));
+            assertThatThrownBy(() -> collapser.get(2L)).isInstanceOf(DeadlineExceededException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void loaderExceptionIsRethrownToCaller() {
+        collapser = collapser(keys -> {
+            throw new IllegalStateException("boom");
+        }, Duration.ofMillis(1), Duration.ofSeconds(5));
+
+        assertThatThrownBy(() -> collapser.get(1L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+    }
+
+    private static RequestCollapser<Long, String> collapser(Function<List<Long>, Map<Long, String>> loader,
+                                                            Duration window, Duration maxWait) {
+        return new RequestCollapser<>("test", loader, window, 100, maxWait, null);
+    }
+
+    private static Map<Long, String> echo(List<Long> keys) {
+        Map<Long, String> results = new HashMap<>();
+        keys.forEach(key -> results.put(key, "v" + key));
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.ez.admin.feign.handler;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.ez.admin.core.enums.BusinessErrorCode;
+import com.ez.admin.core.enums.ErrorCode;
+import com.ez.admin.core.enums.ErrorCodeRegistry;
+import com.ez.admin.core.exception.ExceptionLogLimiter;
+import com.ez.admin.core.exception.GlobalExceptionHandler;
+import com.ez.admin.feign.exception.BusinessException;
+import feign.Request;
+import feign.codec.DecodeException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+/**
+ * 远程业务异常处理器测试
+ * <p>
+ * 与全局异常处理器同时注册，确认远程返回的业务错误（包括被 Feign 包装在 DecodeException 中的）
+ * 保留原错误码返回，且用户端错误只记 info 日志，不会落入系统异常兜底；
+ * 日志级别按 {@link ErrorCodeRegistry} 中的错误级别分类。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+class RemoteBusinessExceptionHandlerTest {
+
+    private ListAppender<ILoggingEvent> logAppender;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ExceptionLogLimiter limiter = new ExceptionLogLimiter(Duration.ofMinutes(1), 5, 1000, null);
+        // 注册顺序与优先级相反，确认分工由 @Order 决定
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProbeController())
+                .setControllerAdvice(new GlobalExceptionHandler(limiter), new RemoteBusinessExceptionHandler(limiter))
+                .setMessageConverters(new JacksonJsonHttpMessageConverter(JsonMapper.builder().build()))
+                .build();
+
+        logAppender = new ListAppender<>();
+        logAppender.start();
+        logger(RemoteBusinessExceptionHandler.class).addAppender(logAppender);
+        logger(GlobalExceptionHandler.class).addAppender(logAppender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger(RemoteBusinessExceptionHandler.class).detachAppender(logAppender);
+        logger(GlobalExceptionHandler.class).detachAppender(logAppender);
+        ErrorCodeRegistry.register(List.of());
+    }
+
+    @Test
+    void wrappedClientErrorKeepsRemoteCodeAndLogsAtInfo() throws Exception {
+        mockMvc.perform(get("/probe/wrapped"))
+                .andExpect(jsonPath("$.code").value(BusinessErrorCode.USER_PASSWORD_ERROR.getCode()))
+                .andExpect(jsonPath("$.message").value(BusinessErrorCode.USER_PASSWORD_ERROR.getMessage()));
+
+        assertThat(logAppender.list).singleElement().satisfies(event -> {
+            assertThat(event.getLoggerName()).isEqualTo(RemoteBusinessExceptionHandler.class.getName());
+            assertThat(event.getLevel()).isEqualTo(Level.INFO);
+            assertThat(event.getThrowableProxy()).isNull();
+        });
+    }
+
+    @Test
+    void serverErrorKeepsRemoteCodeAndLogsAtError() throws Exception {
+        mockMvc.perform(get("/probe/unavailable"))
+                .andExpect(jsonPath("$.code").value(BusinessErrorCode.SERVICE_UNAVAILABLE.getCode()));
+
+        assertThat(logAppender.list).singleElement().satisfies(event -> {
+            assertThat(event.getLoggerName()).isEqualTo(RemoteBusinessExceptionHandler.class.getName());
+            assertThat(event.getLevel()).isEqualTo(Level.ERROR);
+        });
+    }
+
+    @Test
+    void remoteCodesAreClassifiedThroughRegistry() throws Exception {
+        // 其他服务的错误码枚举在本服务启动时注册后，按其级别分类
+        ErrorCodeRegistry.register(List.of(RemoteErrorCode.class));
+
+        assertLogLevel(RemoteErrorCode.ORDER_NOT_FOUND.getCode(), Level.INFO);
+        assertLogLevel(RemoteErrorCode.PAYMENT_GATEWAY_TIMEOUT.getCode(), Level.ERROR);
+        // 未注册的错误码按首位数字推断级别
+        assertLogLevel(1999999, Level.INFO);
+        // 无法识别的错误码（如 HTTP 风格的 500）按需要告警处理
+        assertLogLevel(500, Level.ERROR);
+    }
+
+    private void assertLogLevel(int code, Level level) throws Exception {
+        logAppender.list.clear();
+        mockMvc.perform(get("/probe/remote/{code}", code))
+                .andExpect(jsonPath("$.code").value(code));
+        assertThat(logAppender.list).singleElement().satisfies(event -> {
+            assertThat(event.getLoggerName()).isEqualTo(RemoteBusinessExceptionHandler.class.getName());
+            assertThat(event.getLevel()).isEqualTo(level);
+        });
+    }
+
+    private static Logger logger(Class<?> type) {
+        return (Logger) LoggerFactory.getLogger(type);
+    }
+
+    @RestController
+    static class ProbeController {
+
+        @GetMapping("/probe/wrapped")
+        public String wrapped() {
+            BusinessException cause = new BusinessException(BusinessErrorCode.USER_PASSWORD_ERROR.getMessage(),
+                    BusinessErrorCode.USER_PASSWORD_ERROR.getCode());
+            Request request = Request.create(Request.HttpMethod.POST, "/api/v1/system/user/authenticate",
+                    Map.of(), null, StandardCharsets.UTF_8, null);
+            throw new DecodeException(200, cause.getMessage(), request, cause);
+        }
+
+        @GetMapping("/probe/remote/{code}")
+        public String remote(@PathVariable int code) {
+            throw new BusinessException("远程错误", code);
+        }
+
+        @GetMapping("/probe/unavailable")
+        public String unavailable() {
+            throw new BusinessException(BusinessErrorCode.SERVICE_UNAVAILABLE.getMessage(),
+                    BusinessErrorCode.SERVICE_UNAVAILABLE.getCode());
+        }
+    }
+
+    /**
+     * 模拟下游服务定义的错误码
+     */
+    @Getter
+    @AllArgsConstructor
+    enum RemoteErrorCode implements ErrorCode {
+
+        ORDER_NOT_FOUND(1003001, "订单不存在"),
+        PAYMENT_GATEWAY_TIMEOUT(3003001, "支付网关超时");
+
+        private final Integer code;
+        private final String message;
+    }
+}
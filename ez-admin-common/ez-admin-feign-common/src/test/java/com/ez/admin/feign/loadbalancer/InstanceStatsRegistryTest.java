@@ -0,0 +1,70 @@
+package com.ez.admin.feign.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 实例调用统计注册表测试
+ * <p>
+ * 覆盖实例下线后统计的移除：空闲实例立即移除，仍有进行中调用的实例等到下次实例列表变化时再移除。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+class InstanceStatsRegistryTest {
+
+    private static final String SERVICE_ID = "ez-admin-system-service";
+
+    private final InstanceStatsRegistry registry = new InstanceStatsRegistry(new LatencyAwareLoadBalancerProperties());
+
+    @Test
+    void departedInstancesAreEvicted() {
+        ServiceInstance a = instance("10.0.0.1");
+        ServiceInstance b = instance("10.0.0.2");
+        ServiceInstance c = instance("10.0.0.3");
+
+        registry.retain(SERVICE_ID, List.of(a, b));
+        call(a);
+        call(b);
+        assertThat(registry.size()).isEqualTo(2);
+
+        // b 被重建为 c：b 的统计移除，a 保留
+        registry.retain(SERVICE_ID, List.of(a, c));
+        call(c);
+        assertThat(registry.size()).isEqualTo(2);
+
+        registry.retain(SERVICE_ID, List.of());
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    void instanceWithInflightCallsIsEvictedOnNextChange() {
+        ServiceInstance a = instance("10.0.0.1");
+        ServiceInstance b = instance("10.0.0.2");
+
+        registry.retain(SERVICE_ID, List.of(a, b));
+        registry.onStart(b);
+
+        registry.retain(SERVICE_ID, List.of(a));
+        assertThat(registry.size()).isEqualTo(1);
+
+        registry.onComplete(b, 1_000_000, false);
+        registry.retain(SERVICE_ID, List.of(a));
+        assertThat(registry.size()).isZero();
+    }
+
+    private void call(ServiceInstance instance) {
+        registry.onStart(instance);
+        registry.onComplete(instance, 1_000_000, false);
+    }
+
+    private static ServiceInstance instance(String host) {
+        return new DefaultServiceInstance(host + ":8080", SERVICE_ID, host, 8080, false);
+    }
+}
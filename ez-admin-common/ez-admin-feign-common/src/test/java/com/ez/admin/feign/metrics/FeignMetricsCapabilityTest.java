@@ -0,0 +1,184 @@
+package com.ez.admin.feign.metrics;
+
+import com.ez.admin.core.enums.BusinessErrorCode;
+import com.ez.admin.feign.decoder.FeignResultDecoder;
+import com.ez.admin.feign.exception.BusinessException;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.RequestLine;
+import feign.codec.DecodeException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.openfeign.support.FeignHttpMessageConverters;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Feign 调用指标测试
+ * <p>
+ * 通过真实的 Feign 客户端（本地 HTTP 服务 + {@link FeignResultDecoder}）解码业务失败的 R，
+ * 覆盖 Feign 把解码器抛出的 BusinessException 包装为 DecodeException 的情况，
+ * 以及重复调用复用同一组指标、请求 / 响应体大小（含分块响应）的记录。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+class FeignMetricsCapabilityTest {
+
+    private HttpServer server;
+    private MeterRegistry registry;
+    private ProbeClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        respond("/ok", BusinessErrorCode.SUCCESS, "\"pong\"");
+        respond("/server-error", BusinessErrorCode.INTERNAL_ERROR, "null");
+        respond("/client-error", BusinessErrorCode.USER_NOT_FOUND, "null");
+        respond("/chunked", BusinessErrorCode.SUCCESS, "\"pong\"", true);
+        server.start();
+
+        registry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("meterRegistry", registry));
+        client = Feign.builder()
+                .addCapability(new FeignMetricsCapability(beanFactory.getBeanProvider(MeterRegistry.class)))
+                .decoder(new FeignResultDecoder(JsonMapper.builder().build(), null,
+                        beanFactory.getBeanProvider(FeignHttpMessageConverters.class)))
+                .target(ProbeClient.class, "http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void serverSideCodeIsTaggedAsBusinessServerError() {
+        assertThatThrownBy(client::serverError)
+                .isInstanceOf(DecodeException.class)
+                .hasCauseInstanceOf(BusinessException.class);
+
+        assertThat(callCount("serverError", FeignCallOutcome.BUSINESS_SERVER_ERROR)).isEqualTo(1);
+        assertThat(callCount("serverError", FeignCallOutcome.DECODE_ERROR)).isZero();
+    }
+
+    @Test
+    void clientSideCodeIsTaggedAsBusinessError() {
+        assertThatThrownBy(client::clientError).isInstanceOf(DecodeException.class);
+
+        assertThat(callCount("clientError", FeignCallOutcome.BUSINESS_ERROR)).isEqualTo(1);
+        assertThat(callCount("clientError", FeignCallOutcome.DECODE_ERROR)).isZero();
+    }
+
+    @Test
+    void successIsTaggedAsSuccess() {
+        assertThat(client.ok()).isEqualTo("pong");
+
+        assertThat(callCount("ok", FeignCallOutcome.SUCCESS)).isEqualTo(1);
+    }
+
+    @Test
+    void repeatedCallsReuseTheSameMeters() {
+        assertThat(client.ok()).isEqualTo("pong");
+        int meters = registry.getMeters().size();
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(client.ok()).isEqualTo("pong");
+        }
+
+        assertThat(registry.getMeters()).hasSize(meters);
+        assertThat(registry.find(FeignMetricsCapability.CALLS).tag("method", "ok").timers()).singleElement()
+                .satisfies(timer -> {
+                    assertThat(timer.count()).isEqualTo(5);
+                    assertThat(timer.getId().getTag("instance")).isEqualTo(instance());
+                });
+    }
+
+    @Test
+    void requestAndResponseSizesAreRecorded() {
+        assertThat(client.chunked("ping!")).isEqualTo("pong");
+        assertThat(client.chunked("ping!")).isEqualTo("pong");
+
+        DistributionSummary requestSize = registry.find(FeignMetricsCapability.REQUEST_SIZE)
+                .tag("method", "chunked")
+                .summary();
+        assertThat(requestSize).isNotNull();
+        assertThat(requestSize.count()).isEqualTo(2);
+        assertThat(requestSize.totalAmount()).isEqualTo(10);
+
+        // 分块响应没有 Content-Length，按实际读取的字节数记录
+        DistributionSummary responseSize = registry.find(FeignMetricsCapability.RESPONSE_SIZE)
+                .tag("method", "chunked")
+                .tag("instance", instance())
+                .summary();
+        assertThat(responseSize).isNotNull();
+        assertThat(responseSize.count()).isEqualTo(2);
+        assertThat(responseSize.totalAmount()).isEqualTo(2.0 * body(BusinessErrorCode.SUCCESS, "\"pong\"").length);
+    }
+
+    private String instance() {
+        return "127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private long callCount(String method, FeignCallOutcome outcome) {
+        var timer = registry.find(FeignMetricsCapability.CALLS)
+                .tag("client", ProbeClient.class.getSimpleName())
+                .tag("method", method)
+                .tag("outcome", outcome.getTag())
+                .timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+    private void respond(String path, BusinessErrorCode code, String data) {
+        respond(path, code, data, false);
+    }
+
+    private void respond(String path, BusinessErrorCode code, String data, boolean chunked) {
+        byte[] body = body(code, data);
+        server.createContext(path, exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            // 长度为 0 时 HttpServer 使用分块传输
+            exchange.sendResponseHeaders(200, chunked ? 0 : body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+    }
+
+    private static byte[] body(BusinessErrorCode code, String data) {
+        return ("{\"success\":" + (code == BusinessErrorCode.SUCCESS)
+                + ",\"code\":" + code.getCode()
+                + ",\"message\":\"" + code.getMessage()
+                + "\",\"data\":" + data + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    interface ProbeClient {
+
+        @RequestLine("GET /ok")
+        String ok();
+
+        @RequestLine("GET /server-error")
+        String serverError();
+
+        @RequestLine("GET /client-error")
+        String clientError();
+
+        @RequestLine("POST /chunked")
+        String chunked(String body);
+    }
+}
@@ -4,6 +4,8 @@ import cn.dev33.satoken.exception.*;
 import com.ez.admin.core.entity.R;
 import com.ez.admin.core.enums.BusinessErrorCode;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -13,11 +15,12 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
  * 统一处理系统中的各类异常，返回标准的 {@link R} 格式。
  * </p>
  * <p>
- * 处理的异常类型：
- * <ul>
- *   <li>Sa-Token 相关异常（未登录、缺少权限、Token 过期等）</li>
- *   <li>系统通用异常（运行时异常）</li>
- * </ul>
+ * 处理的异常类型：Sa-Token 相关异常（未登录、缺少权限、Token 过期等）。
+ * </p>
+ * <p>
+ * 排在核心模块的 {@code GlobalExceptionHandler} 之前，只声明 Sa-Token 异常的处理方法；
+ * 业务异常、参数校验异常和其他未捕获异常交给 {@code GlobalExceptionHandler} 统一处理（按错误级别记录日志、限流）。
+ * 因此这里不能再声明 {@code Exception} 兜底方法，否则会先于后者拦截所有异常。
  * </p>
  *
  * @author ez-admin
@@ -25,6 +28,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
  */
 @Slf4j
 @RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class GlobalException {
 
     // ========== Sa-Token 相关异常 ==========
@@ -85,18 +89,4 @@ public class GlobalException {
         log.warn("Http Basic 校验失败: message={}", e.getMessage());
         return R.fail(BusinessErrorCode.UNAUTHORIZED, e.getMessage());
     }
-
-    // ========== 系统通用异常 ==========
-
-    /**
-     * 拦截：其它所有未捕获异常
-     * <p>
-     * 注意：这是兜底的异常处理，建议在具体业务中细化异常处理。
-     * </p>
-     */
-    @ExceptionHandler(Exception.class)
-    public R<Void> handleException(Exception e) {
-        log.error("系统异常: {}, message={}", e.getClass().getSimpleName(), e.getMessage(), e);
-        return R.fail(BusinessErrorCode.INTERNAL_ERROR, "系统内部错误，请稍后重试");
-    }
 }
@@ -0,0 +1,85 @@
+package com.ez.admin.satoken.common.handler;
+
+import cn.dev33.satoken.exception.NotPermissionException;
+import com.ez.admin.core.enums.BusinessErrorCode;
+import com.ez.admin.core.exception.BusinessException;
+import com.ez.admin.core.exception.ExceptionLogLimiter;
+import com.ez.admin.core.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+/**
+ * Sa-Token 异常处理器与核心全局异常处理器的分工测试
+ * <p>
+ * 两个处理器同时注册时，Sa-Token 异常由 {@link GlobalException} 处理，
+ * 业务异常和其他异常交给核心模块的 {@link GlobalExceptionHandler}，不会被当作系统异常返回。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+class GlobalExceptionTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        GlobalExceptionHandler coreHandler =
+                new GlobalExceptionHandler(new ExceptionLogLimiter(Duration.ofMinutes(1), 5, 1000, null));
+        // 注册顺序与优先级相反，确认分工由 @Order 决定
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProbeController())
+                .setControllerAdvice(coreHandler, new GlobalException())
+                .setMessageConverters(new JacksonJsonHttpMessageConverter(JsonMapper.builder().build()))
+                .build();
+    }
+
+    @Test
+    void saTokenExceptionIsHandledBySaTokenHandler() throws Exception {
+        mockMvc.perform(get("/probe/permission"))
+                .andExpect(jsonPath("$.code").value(BusinessErrorCode.PERMISSION_DENIED.getCode()))
+                .andExpect(jsonPath("$.message").value("缺少权限：user:add"));
+    }
+
+    @Test
+    void businessExceptionKeepsItsErrorCode() throws Exception {
+        mockMvc.perform(get("/probe/business"))
+                .andExpect(jsonPath("$.code").value(BusinessErrorCode.BAD_REQUEST.getCode()))
+                .andExpect(jsonPath("$.message").value("批量查询数量超过上限"));
+    }
+
+    @Test
+    void otherExceptionFallsBackToInternalError() throws Exception {
+        mockMvc.perform(get("/probe/error"))
+                .andExpect(jsonPath("$.code").value(BusinessErrorCode.INTERNAL_ERROR.getCode()));
+    }
+
+    @RestController
+    static class ProbeController {
+
+        @GetMapping("/probe/permission")
+        public String permission() {
+            throw new NotPermissionException("user:add");
+        }
+
+        @GetMapping("/probe/business")
+        public String business() {
+            throw new BusinessException(BusinessErrorCode.BAD_REQUEST, "批量查询数量超过上限");
+        }
+
+        @GetMapping("/probe/error")
+        public String error() {
+            throw new IllegalStateException("boom");
+        }
+    }
+}
@@ -66,17 +66,16 @@ public class PermissionCacheInitializer implements ApplicationRunner {
             int failCount = 0;
 
             for (RolePermissionVO rolePermission : rolePermissions) {
-                try {
-                    permissionCacheService.cacheRolePermissions(rolePermission.getRoleId(), rolePermission.getPermissions());
+                if (permissionCacheService.cacheRolePermissions(rolePermission.getRoleId(), rolePermission.getPermissions())) {
                     successCount++;
                     log.debug("缓存角色权限成功: roleId={}, roleLabel={}, 权限数量={}",
                             rolePermission.getRoleId(),
                             rolePermission.getRoleLabel(),
                             rolePermission.getPermissions() != null ? rolePermission.getPermissions().size() : 0);
-                } catch (Exception e) {
+                } else {
                     failCount++;
                     log.error("缓存角色权限失败: roleId={}, roleLabel={}",
-                            rolePermission.getRoleId(), rolePermission.getRoleLabel(), e);
+                            rolePermission.getRoleId(), rolePermission.getRoleLabel());
                 }
             }
 
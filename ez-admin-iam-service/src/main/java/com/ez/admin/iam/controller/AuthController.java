@@ -5,6 +5,7 @@ import com.ez.admin.iam.model.dto.UserLoginRequestDTO;
 import com.ez.admin.iam.model.vo.RefreshTokenVO;
 import com.ez.admin.iam.model.vo.UserLoginVO;
 import com.ez.admin.iam.service.AuthService;
+import com.ez.admin.core.entity.ConstantR;
 import com.ez.admin.core.entity.R;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -30,6 +31,8 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "认证管理", description = "用户登录、登出、令牌刷新等认证相关接口")
 public class AuthController {
 
+    private static final ConstantR LOGOUT_SUCCESS = ConstantR.ok("登出成功");
+
     private final AuthService authService;
 
     /**
@@ -62,7 +65,7 @@ public class AuthController {
     public R<Void> logout() {
         log.info("收到登出请求");
         authService.logout();
-        return R.ok("登出成功", null);
+        return LOGOUT_SUCCESS;
     }
 
     /**
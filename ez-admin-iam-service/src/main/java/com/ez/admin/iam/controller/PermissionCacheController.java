@@ -1,6 +1,7 @@
 package com.ez.admin.iam.controller;
 
 import com.ez.admin.iam.redis.PermissionCacheService;
+import com.ez.admin.core.entity.ConstantR;
 import com.ez.admin.core.entity.R;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -27,6 +28,10 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "权限缓存管理", description = "权限缓存刷新和清理接口")
 public class PermissionCacheController {
 
+    private static final ConstantR ROLE_PERMISSIONS_REFRESHED = ConstantR.ok("角色权限缓存刷新已触发");
+    private static final ConstantR ROLE_PERMISSIONS_EVICTED = ConstantR.ok("角色权限缓存已删除");
+    private static final ConstantR USER_CACHE_EVICTED = ConstantR.ok("用户缓存已删除");
+
     private final PermissionCacheService permissionCacheService;
 
     /**
@@ -43,7 +48,7 @@ public class PermissionCacheController {
     public R<Void> refreshAllRolePermissions() {
         log.info("收到刷新所有角色权限缓存请求");
         permissionCacheService.refreshAllRolePermissions();
-        return R.ok("角色权限缓存刷新已触发", null);
+        return ROLE_PERMISSIONS_REFRESHED;
     }
 
     /**
@@ -62,7 +67,7 @@ public class PermissionCacheController {
             @PathVariable("roleId") Long roleId) {
         log.info("收到删除角色权限缓存请求: roleId={}", roleId);
         permissionCacheService.evictRolePermissions(roleId);
-        return R.ok("角色权限缓存已删除", null);
+        return ROLE_PERMISSIONS_EVICTED;
     }
 
     /**
@@ -82,6 +87,6 @@ public class PermissionCacheController {
             @PathVariable("userId") Long userId) {
         log.info("收到删除用户缓存请求: userId={}", userId);
         permissionCacheService.evictUserCache(userId);
-        return R.ok("用户缓存已删除", null);
+        return USER_CACHE_EVICTED;
     }
 }
@@ -0,0 +1,44 @@
+package com.ez.admin.iam.feign;
+
+import cn.dev33.satoken.context.SaHolder;
+import cn.dev33.satoken.stp.StpUtil;
+import com.ez.admin.core.constant.HttpHeaderConstants;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 登录用户传递拦截器
+ * <p>
+ * 当前请求已登录时，把 Sa-Token 登录ID写入请求头 {@value HttpHeaderConstants#USER_ID}，
+ * 系统服务据此按该用户的数据范围过滤查询结果。
+ * </p>
+ * <p>
+ * 以下情况不添加，系统服务中按数据范围过滤的表查不到数据：
+ * <ul>
+ *   <li>未登录（如登录认证本身，系统服务对该查询显式忽略数据范围）</li>
+ *   <li>Web 请求之外的调用，如启动时加载权限缓存、异步执行器上的调用</li>
+ *   <li>请求合并的批量调用：同一批次混合了多个用户的查询，不代表其中任何一个用户</li>
+ * </ul>
+ * 这些调用只访问角色、菜单等不按部门归属的表，不受影响。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Component
+public class LoginUserRequestInterceptor implements RequestInterceptor {
+
+    @Override
+    public void apply(RequestTemplate template) {
+        if (!SaHolder.getContext().isValid()) {
+            return;
+        }
+        Object loginId = StpUtil.getLoginIdDefaultNull();
+        if (loginId == null) {
+            return;
+        }
+        template.removeHeader(HttpHeaderConstants.USER_ID);
+        template.header(HttpHeaderConstants.USER_ID, loginId.toString());
+    }
+}
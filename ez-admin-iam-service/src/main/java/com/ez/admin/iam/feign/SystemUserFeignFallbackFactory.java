@@ -0,0 +1,150 @@
+package com.ez.admin.iam.feign;
+
+import com.ez.admin.core.constant.HttpHeaderConstants;
+import com.ez.admin.core.enums.BusinessErrorCode;
+import com.ez.admin.feign.exception.BusinessException;
+import com.ez.admin.iam.redis.PermissionCacheService;
+import com.ez.admin.system.api.dto.UserAuthenticationRequestDTO;
+import com.ez.admin.system.api.feign.SystemUserFeignClient;
+import com.ez.admin.system.api.feign.SystemUserFeignClientFallbackFactory;
+import com.ez.admin.system.api.vo.RolePermissionVO;
+import com.ez.admin.system.api.vo.UserAuthenticationVO;
+import com.ez.admin.system.api.vo.UserRoleVO;
+import feign.Request;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 系统用户 Feign 客户端降级工厂（IAM 实现）
+ * <p>
+ * 系统服务熔断、隔离舱满或超时时，使用 Redis 中的最近一次数据兜底：
+ * <ul>
+ *   <li>角色权限：返回 Redis 中缓存的角色权限快照</li>
+ *   <li>角色权限流式导出：返回合成的 304，保留现有缓存不做重写</li>
+ *   <li>用户角色：返回 Redis 中缓存的用户角色（刷新等已登录流程可用）</li>
+ *   <li>批量用户角色：只返回有缓存的用户，缺失的用户不出现在结果中</li>
+ *   <li>用户认证：无法兜底，快速失败为 {@link BusinessErrorCode#SERVICE_UNAVAILABLE}</li>
+ * </ul>
+ * 业务异常（{@link BusinessException}）表示系统服务正常返回了业务错误，不做兜底，原样抛出；
+ * 业务异常经 Feign 解码后被包装在 DecodeException 中，按异常链查找。
+ * </p>
+ * <p>
+ * PermissionCacheService 依赖 Feign 客户端，这里通过 {@link ObjectProvider} 延迟获取以避免循环依赖。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SystemUserFeignFallbackFactory implements SystemUserFeignClientFallbackFactory {
+
+    private static final String ROLE_PERMISSIONS_STREAM_PATH = "/api/v1/system/role/permissions/stream";
+
+    private final ObjectProvider<PermissionCacheService> permissionCacheService;
+
+    @Override
+    public SystemUserFeignClient create(Throwable cause) {
+        return new SystemUserFeignClient() {
+
+            @Override
+            public List<RolePermissionVO> getAllRolePermissions() {
+                rethrowBusinessException(cause);
+                List<RolePermissionVO> cached = permissionCacheService.getObject().getCachedRolePermissions();
+                log.warn("系统服务不可用，使用角色权限缓存兜底: 角色数量={}, cause={}", cached.size(), describe(cause));
+                return cached;
+            }
+
+            @Override
+            public Response streamAllRolePermissions(String eTag) {
+                rethrowBusinessException(cause);
+                log.warn("系统服务不可用，角色权限流式导出按未变化处理: eTag={}, cause={}", eTag, describe(cause));
+                return notModified(ROLE_PERMISSIONS_STREAM_PATH);
+            }
+
+            @Override
+            public UserAuthenticationVO authenticateUser(UserAuthenticationRequestDTO requestDTO) {
+                rethrowBusinessException(cause);
+                log.error("系统服务不可用，用户认证失败: username={}, cause={}", requestDTO.getUsername(), describe(cause));
+                throw serviceUnavailable(cause);
+            }
+
+            @Override
+            public UserRoleVO getUserRoles(Long userId) {
+                rethrowBusinessException(cause);
+                List<Long> roleIds = permissionCacheService.getObject().getUserRoles(userId);
+                if (roleIds == null) {
+                    log.error("系统服务不可用且无用户角色缓存: userId={}, cause={}", userId, describe(cause));
+                    throw serviceUnavailable(cause);
+                }
+                log.warn("系统服务不可用，使用用户角色缓存兜底: userId={}, 角色数量={}, cause={}",
+                        userId, roleIds.size(), describe(cause));
+                return UserRoleVO.builder()
+                        .userId(userId)
+                        .roleIds(roleIds)
+                        .build();
+            }
+
+            @Override
+            public Map<Long, UserRoleVO> getUserRolesBatch(List<Long> userIds) {
+                rethrowBusinessException(cause);
+                PermissionCacheService cacheService = permissionCacheService.getObject();
+                Map<Long, UserRoleVO> cached = new LinkedHashMap<>();
+                for (Long userId : userIds) {
+                    List<Long> roleIds = cacheService.getUserRoles(userId);
+                    if (roleIds != null) {
+                        cached.put(userId, UserRoleVO.builder().userId(userId).roleIds(roleIds).build());
+                    }
+                }
+                log.warn("系统服务不可用，使用用户角色缓存兜底: 请求用户数={}, 命中缓存数={}, cause={}",
+                        userIds.size(), cached.size(), describe(cause));
+                return cached;
+            }
+        };
+    }
+
+    /**
+     * 构造带降级标记的 304 响应，调用方据此保留现有缓存
+     */
+    private static Response notModified(String path) {
+        Request request = Request.create(Request.HttpMethod.GET, path, Map.of(), null, StandardCharsets.UTF_8, null);
+        Map<String, Collection<String>> headers =
+                Map.of(HttpHeaderConstants.FALLBACK, List.of(Boolean.TRUE.toString()));
+        return Response.builder()
+                .status(HttpStatus.NOT_MODIFIED.value())
+                .reason(HttpStatus.NOT_MODIFIED.getReasonPhrase())
+                .request(request)
+                .headers(headers)
+                .build();
+    }
+
+    /**
+     * 远程服务返回的业务错误不属于可用性问题，直接抛出
+     */
+    private static void rethrowBusinessException(Throwable cause) {
+        BusinessException businessException = BusinessException.find(cause);
+        if (businessException != null) {
+            throw businessException;
+        }
+    }
+
+    private static BusinessException serviceUnavailable(Throwable cause) {
+        return new BusinessException(BusinessErrorCode.SERVICE_UNAVAILABLE.getMessage(),
+                BusinessErrorCode.SERVICE_UNAVAILABLE.getCode(), cause);
+    }
+
+    private static String describe(Throwable cause) {
+        return cause == null ? null : cause.getClass().getSimpleName() + ": " + cause.getMessage();
+    }
+}
@@ -0,0 +1,74 @@
+package com.ez.admin.iam.feign;
+
+import com.ez.admin.feign.collapser.RequestCollapser;
+import com.ez.admin.feign.config.FeignTimeoutProperties;
+import com.ez.admin.system.api.feign.SystemUserFeignClient;
+import com.ez.admin.system.api.vo.UserRoleVO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 用户角色查询合并器
+ * <p>
+ * 登录高峰期，多个线程会在同一毫秒级窗口内分别查询不同用户的角色。
+ * 这里把窗口内的单用户查询合并为一次 {@link SystemUserFeignClient#getUserRolesBatch} 调用，
+ * 系统服务侧也只执行一条 {@code = ANY(?)} 查询。
+ * </p>
+ * <p>
+ * 批量调用沿用开启批次的调用方的追踪ID，截止时间取同批次中最晚的一个；登录用户不传递，
+ * 批量接口只读取不按数据权限过滤的用户角色关系。单个调用方的等待时间不超过自己的截止时间，
+ * 也不超过合并窗口加上 {@code SystemUserFeignClient#getUserRolesBatch} 的调用超时。
+ * </p>
+ * <p>
+ * 配置项：
+ * <ul>
+ *   <li>{@code ez.feign.collapser.user-roles.window}：合并窗口，默认 5ms</li>
+ *   <li>{@code ez.feign.collapser.user-roles.max-batch-size}：单批次最大用户数，默认 200</li>
+ * </ul>
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Component
+public class UserRoleCollapser implements DisposableBean {
+
+    private final RequestCollapser<Long, UserRoleVO> collapser;
+
+    private static final String BATCH_METHOD_KEY = "SystemUserFeignClient#getUserRolesBatch";
+
+    public UserRoleCollapser(SystemUserFeignClient systemUserFeignClient,
+                             FeignTimeoutProperties timeoutProperties,
+                             ObjectProvider<MeterRegistry> meterRegistry,
+                             @Value("${ez.feign.collapser.user-roles.window:5ms}") Duration window,
+                             @Value("${ez.feign.collapser.user-roles.max-batch-size:200}") int maxBatchSize) {
+        this.collapser = new RequestCollapser<>("user-roles",
+                systemUserFeignClient::getUserRolesBatch,
+                window,
+                Math.min(maxBatchSize, SystemUserFeignClient.USER_ROLES_BATCH_MAX_SIZE),
+                window.plus(timeoutProperties.callTimeout(BATCH_METHOD_KEY)),
+                meterRegistry.getIfAvailable());
+    }
+
+    /**
+     * 查询用户角色（与同一窗口内的其他查询合并发送）
+     *
+     * @param userId 用户ID
+     * @return 用户角色信息
+     * @throws com.ez.admin.feign.exception.BusinessException 远程调用失败时抛出
+     * @throws com.ez.admin.core.exception.DeadlineExceededException 等待超过截止时间或调用超时
+     */
+    public UserRoleVO getUserRoles(Long userId) {
+        return collapser.get(userId);
+    }
+
+    @Override
+    public void destroy() {
+        collapser.close();
+    }
+}
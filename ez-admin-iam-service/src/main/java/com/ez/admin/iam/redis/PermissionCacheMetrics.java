@@ -0,0 +1,237 @@
+package com.ez.admin.iam.redis;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 权限缓存指标采集器
+ * <p>
+ * 为 {@link PermissionCacheService} 的每一类 Key（角色权限、用户角色、用户权限）注册 Micrometer 指标，
+ * 通过 Actuator 的 metrics / prometheus 端点对外暴露，用于 Redis 容量规划和性能回归排查。
+ * </p>
+ * <p>
+ * 指标清单：
+ * <ul>
+ *   <li>ez.iam.permission.cache.requests：读取次数，按 result=hit/miss 区分</li>
+ *   <li>ez.iam.permission.cache.errors：Redis 操作异常次数，按 operation 区分</li>
+ *   <li>ez.iam.permission.cache.latency：Redis 操作耗时（含 p50/p95/p99）</li>
+ *   <li>ez.iam.permission.cache.value.size：缓存值大小（列表元素个数）</li>
+ * </ul>
+ * 所有指标均带 family 标签，取值见 {@link KeyFamily}。
+ * </p>
+ * <p>
+ * 所有 Meter 在构造时预先注册，记录时直接引用，避免热点路径上的 Tag 拼装和注册表查找。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-21
+ */
+@Component
+public class PermissionCacheMetrics {
+
+    private static final String METRIC_PREFIX = "ez.iam.permission.cache";
+
+    private final MeterRegistry registry;
+    private final Map<KeyFamily, FamilyMeters> meters = new EnumMap<>(KeyFamily.class);
+
+    public PermissionCacheMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (KeyFamily family : KeyFamily.values()) {
+            meters.put(family, new FamilyMeters(registry, family));
+        }
+    }
+
+    /**
+     * 开始计时
+     *
+     * @return 计时样本，操作结束后交给 record 系列方法
+     */
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * 记录一次缓存命中
+     *
+     * @param family 缓存 Key 分类
+     * @param sample 计时样本
+     * @param size   命中值的元素个数
+     */
+    public void recordHit(KeyFamily family, Timer.Sample sample, int size) {
+        FamilyMeters m = meters.get(family);
+        sample.stop(m.readTimer);
+        m.hitCounter.increment();
+        m.readSize.record(size);
+    }
+
+    /**
+     * 记录一次缓存未命中
+     *
+     * @param family 缓存 Key 分类
+     * @param sample 计时样本
+     */
+    public void recordMiss(KeyFamily family, Timer.Sample sample) {
+        FamilyMeters m = meters.get(family);
+        sample.stop(m.readTimer);
+        m.missCounter.increment();
+    }
+
+    /**
+     * 记录一次缓存写入
+     *
+     * @param family 缓存 Key 分类
+     * @param sample 计时样本
+     * @param size   写入值的元素个数
+     */
+    public void recordWrite(KeyFamily family, Timer.Sample sample, int size) {
+        FamilyMeters m = meters.get(family);
+        sample.stop(m.writeTimer);
+        m.writeSize.record(size);
+    }
+
+    /**
+     * 记录一次缓存删除
+     *
+     * @param family 缓存 Key 分类
+     * @param sample 计时样本
+     */
+    public void recordEvict(KeyFamily family, Timer.Sample sample) {
+        sample.stop(meters.get(family).evictTimer);
+    }
+
+    /**
+     * 记录一次 Redis 操作异常
+     *
+     * @param family    缓存 Key 分类
+     * @param operation 操作类型
+     */
+    public void recordError(KeyFamily family, Operation operation) {
+        FamilyMeters m = meters.get(family);
+        switch (operation) {
+            case READ -> m.readErrors.increment();
+            case WRITE -> m.writeErrors.increment();
+            case EVICT -> m.evictErrors.increment();
+        }
+    }
+
+    /**
+     * 缓存 Key 分类
+     */
+    @Getter
+    @AllArgsConstructor
+    public enum KeyFamily {
+
+        /**
+         * 角色-权限：iam:role:perms:{roleId}
+         */
+        ROLE_PERMS("role_perms"),
+
+        /**
+         * 用户-角色：iam:user:roles:{userId}
+         */
+        USER_ROLES("user_roles"),
+
+        /**
+         * 用户-权限：iam:user:perms:{userId}
+         */
+        USER_PERMS("user_perms");
+
+        /**
+         * 指标标签值
+         */
+        private final String tag;
+    }
+
+    /**
+     * Redis 操作类型
+     */
+    @Getter
+    @AllArgsConstructor
+    public enum Operation {
+
+        READ("read"),
+
+        WRITE("write"),
+
+        EVICT("evict");
+
+        /**
+         * 指标标签值
+         */
+        private final String tag;
+    }
+
+    /**
+     * 单个 Key 分类下预注册的全部 Meter
+     */
+    private static final class FamilyMeters {
+
+        private final Counter hitCounter;
+        private final Counter missCounter;
+        private final Counter readErrors;
+        private final Counter writeErrors;
+        private final Counter evictErrors;
+        private final Timer readTimer;
+        private final Timer writeTimer;
+        private final Timer evictTimer;
+        private final DistributionSummary readSize;
+        private final DistributionSummary writeSize;
+
+        private FamilyMeters(MeterRegistry registry, KeyFamily family) {
+            this.hitCounter = requests(registry, family, "hit");
+            this.missCounter = requests(registry, family, "miss");
+            this.readErrors = errors(registry, family, Operation.READ);
+            this.writeErrors = errors(registry, family, Operation.WRITE);
+            this.evictErrors = errors(registry, family, Operation.EVICT);
+            this.readTimer = latency(registry, family, Operation.READ);
+            this.writeTimer = latency(registry, family, Operation.WRITE);
+            this.evictTimer = latency(registry, family, Operation.EVICT);
+            this.readSize = size(registry, family, Operation.READ);
+            this.writeSize = size(registry, family, Operation.WRITE);
+        }
+
+        private static Counter requests(MeterRegistry registry, KeyFamily family, String result) {
+            return Counter.builder(METRIC_PREFIX + ".requests")
+                    .description("权限缓存读取次数")
+                    .tag("family", family.getTag())
+                    .tag("result", result)
+                    .register(registry);
+        }
+
+        private static Counter errors(MeterRegistry registry, KeyFamily family, Operation operation) {
+            return Counter.builder(METRIC_PREFIX + ".errors")
+                    .description("权限缓存 Redis 操作异常次数")
+                    .tag("family", family.getTag())
+                    .tag("operation", operation.getTag())
+                    .register(registry);
+        }
+
+        private static Timer latency(MeterRegistry registry, KeyFamily family, Operation operation) {
+            return Timer.builder(METRIC_PREFIX + ".latency")
+                    .description("权限缓存 Redis 操作耗时")
+                    .tag("family", family.getTag())
+                    .tag("operation", operation.getTag())
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        private static DistributionSummary size(MeterRegistry registry, KeyFamily family, Operation operation) {
+            return DistributionSummary.builder(METRIC_PREFIX + ".value.size")
+                    .description("权限缓存值大小（列表元素个数）")
+                    .baseUnit("elements")
+                    .tag("family", family.getTag())
+                    .tag("operation", operation.getTag())
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(registry);
+        }
+    }
+}
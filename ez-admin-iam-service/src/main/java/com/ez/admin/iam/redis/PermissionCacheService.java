@@ -1,12 +1,25 @@
 package com.ez.admin.iam.redis;
 
+import com.ez.admin.core.constant.HttpHeaderConstants;
+import com.ez.admin.iam.redis.PermissionCacheMetrics.KeyFamily;
+import com.ez.admin.iam.redis.PermissionCacheMetrics.Operation;
 import com.ez.admin.system.api.vo.RolePermissionVO;
 import com.ez.admin.system.api.feign.SystemUserFeignClient;
-import lombok.RequiredArgsConstructor;
+import feign.Response;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -23,13 +36,16 @@ import java.util.concurrent.TimeUnit;
  *   <li>类型安全：配置白名单，防止反序列化攻击</li>
  * </ul>
  * </p>
+ * <p>
+ * 每次 Redis 读写都会通过 {@link PermissionCacheMetrics} 记录命中率、耗时和值大小，
+ * 异常仍然只记录日志不向上抛出，但会计入 errors 指标。
+ * </p>
  *
  * @author ez-admin
  * @since 2026-01-21
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class PermissionCacheService {
 
     /**
@@ -39,6 +55,17 @@ public class PermissionCacheService {
     private static final String USER_ROLES_KEY_PREFIX = "iam:user:roles:";
     private static final String USER_PERMISSIONS_KEY_PREFIX = "iam:user:perms:";
 
+    /**
+     * 角色权限快照的 ETag（最近一次成功全量刷新时系统服务返回的版本）
+     */
+    private static final String ROLE_PERMISSIONS_ETAG_KEY = "iam:role:perms-etag";
+
+    /**
+     * SCAN 每批返回的 Key 数量提示
+     */
+    private static final long SCAN_BATCH_SIZE = 500;
+
+
     /**
      * 缓存过期时间（永久有效，直到主动刷新或删除）
      */
@@ -46,64 +73,137 @@ public class PermissionCacheService {
 
     private final RedisTemplate<String, Object> redisTemplate;
     private final SystemUserFeignClient systemUserFeignClient;
+    private final PermissionCacheMetrics cacheMetrics;
+    private final ObjectReader rolePermissionReader;
+
+    public PermissionCacheService(RedisTemplate<String, Object> redisTemplate,
+                                  SystemUserFeignClient systemUserFeignClient,
+                                  PermissionCacheMetrics cacheMetrics,
+                                  ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.systemUserFeignClient = systemUserFeignClient;
+        this.cacheMetrics = cacheMetrics;
+        this.rolePermissionReader = objectMapper.readerFor(RolePermissionVO.class);
+    }
 
-    public void cacheRolePermissions(Long roleId, List<String> permissions) {
+    /**
+     * 缓存角色权限
+     * <p>
+     * 异常只记录日志不向上抛出，调用方通过返回值判断是否写入成功。
+     * </p>
+     *
+     * @param roleId      角色ID
+     * @param permissions 权限标识列表
+     * @return 写入成功返回 true
+     */
+    public boolean cacheRolePermissions(Long roleId, List<String> permissions) {
         String key = ROLE_PERMISSIONS_KEY_PREFIX + roleId;
+        Timer.Sample sample = cacheMetrics.start();
         try {
             redisTemplate.opsForValue().set(key, permissions);
             if (CACHE_EXPIRE_SECONDS != null) {
                 redisTemplate.expire(key, CACHE_EXPIRE_SECONDS, TimeUnit.SECONDS);
             }
+            cacheMetrics.recordWrite(KeyFamily.ROLE_PERMS, sample, permissions.size());
             log.debug("缓存角色权限: roleId={}, 权限数量={}", roleId, permissions.size());
+            return true;
         } catch (Exception e) {
+            cacheMetrics.recordError(KeyFamily.ROLE_PERMS, Operation.WRITE);
             log.error("缓存角色权限失败: roleId={}", roleId, e);
+            return false;
         }
     }
 
     public List<String> getRolePermissions(Long roleId) {
         String key = ROLE_PERMISSIONS_KEY_PREFIX + roleId;
+        Timer.Sample sample = cacheMetrics.start();
         try {
             Object value = redisTemplate.opsForValue().get(key);
             if (value == null) {
+                cacheMetrics.recordMiss(KeyFamily.ROLE_PERMS, sample);
                 log.debug("角色权限缓存未命中: roleId={}", roleId);
                 return null;
             }
             @SuppressWarnings("unchecked")
             List<String> permissions = (List<String>) value;
+            cacheMetrics.recordHit(KeyFamily.ROLE_PERMS, sample, permissions.size());
             log.debug("获取角色权限缓存: roleId={}, 权限数量={}", roleId, permissions.size());
             return permissions;
         } catch (Exception e) {
+            cacheMetrics.recordError(KeyFamily.ROLE_PERMS, Operation.READ);
             log.error("获取角色权限缓存失败: roleId={}", roleId, e);
             return null;
         }
     }
 
+    /**
+     * 读取 Redis 中已缓存的全部角色权限快照
+     * <p>
+     * 通过 SCAN 遍历角色权限 Key，不阻塞 Redis；仅用于系统服务不可用时的降级兜底，
+     * 返回结果不包含角色标识（缓存中未保存）。
+     * </p>
+     *
+     * @return 角色权限列表，读取失败时返回空列表
+     */
+    public List<RolePermissionVO> getCachedRolePermissions() {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(ROLE_PERMISSIONS_KEY_PREFIX + "*")
+                .count(SCAN_BATCH_SIZE)
+                .build();
+        List<RolePermissionVO> rolePermissions = new ArrayList<>();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                Long roleId = Long.valueOf(key.substring(ROLE_PERMISSIONS_KEY_PREFIX.length()));
+                List<String> permissions = getRolePermissions(roleId);
+                if (permissions != null) {
+                    rolePermissions.add(RolePermissionVO.builder()
+                            .roleId(roleId)
+                            .permissions(permissions)
+                            .build());
+                }
+            }
+        } catch (Exception e) {
+            cacheMetrics.recordError(KeyFamily.ROLE_PERMS, Operation.READ);
+            log.error("读取角色权限缓存快照失败", e);
+        }
+        log.debug("读取角色权限缓存快照: 角色数量={}", rolePermissions.size());
+        return rolePermissions;
+    }
+
     public void cacheUserRoles(Long userId, List<Long> roleIds) {
         String key = USER_ROLES_KEY_PREFIX + userId;
+        Timer.Sample sample = cacheMetrics.start();
         try {
             redisTemplate.opsForValue().set(key, roleIds);
             if (CACHE_EXPIRE_SECONDS != null) {
                 redisTemplate.expire(key, CACHE_EXPIRE_SECONDS, TimeUnit.SECONDS);
             }
+            cacheMetrics.recordWrite(KeyFamily.USER_ROLES, sample, roleIds.size());
             log.debug("缓存用户角色: userId={}, 角色数量={}", userId, roleIds.size());
         } catch (Exception e) {
+            cacheMetrics.recordError(KeyFamily.USER_ROLES, Operation.WRITE);
             log.error("缓存用户角色失败: userId={}", userId, e);
         }
     }
 
     public List<Long> getUserRoles(Long userId) {
         String key = USER_ROLES_KEY_PREFIX + userId;
+        Timer.Sample sample = cacheMetrics.start();
         try {
             Object value = redisTemplate.opsForValue().get(key);
             if (value == null) {
+                cacheMetrics.recordMiss(KeyFamily.USER_ROLES, sample);
                 log.debug("用户角色缓存未命中: userId={}", userId);
                 return null;
             }
             @SuppressWarnings("unchecked")
             List<Long> roleIds = (List<Long>) value;
+            cacheMetrics.recordHit(KeyFamily.USER_ROLES, sample, roleIds.size());
             log.debug("获取用户角色缓存: userId={}, 角色数量={}", userId, roleIds.size());
             return roleIds;
         } catch (Exception e) {
+            cacheMetrics.recordError(KeyFamily.USER_ROLES, Operation.READ);
             log.error("获取用户角色缓存失败: userId={}", userId, e);
             return null;
         }
@@ -111,41 +211,59 @@ public class PermissionCacheService {
 
     public void cacheUserPermissions(Long userId, List<String> permissions) {
         String key = USER_PERMISSIONS_KEY_PREFIX + userId;
+        Timer.Sample sample = cacheMetrics.start();
         try {
             redisTemplate.opsForValue().set(key, permissions);
             if (CACHE_EXPIRE_SECONDS != null) {
                 redisTemplate.expire(key, CACHE_EXPIRE_SECONDS, TimeUnit.SECONDS);
             }
+            cacheMetrics.recordWrite(KeyFamily.USER_PERMS, sample, permissions.size());
             log.debug("缓存用户权限: userId={}, 权限数量={}", userId, permissions.size());
         } catch (Exception e) {
+            cacheMetrics.recordError(KeyFamily.USER_PERMS, Operation.WRITE);
             log.error("缓存用户权限失败: userId={}", userId, e);
         }
     }
 
     public List<String> getUserPermissions(Long userId) {
         String key = USER_PERMISSIONS_KEY_PREFIX + userId;
+        Timer.Sample sample = cacheMetrics.start();
         try {
             Object value = redisTemplate.opsForValue().get(key);
             if (value == null) {
+                cacheMetrics.recordMiss(KeyFamily.USER_PERMS, sample);
                 log.debug("用户权限缓存未命中: userId={}", userId);
                 return null;
             }
             @SuppressWarnings("unchecked")
             List<String> permissions = (List<String>) value;
+            cacheMetrics.recordHit(KeyFamily.USER_PERMS, sample, permissions.size());
             log.debug("获取用户权限缓存: userId={}, 权限数量={}", userId, permissions.size());
             return permissions;
         } catch (Exception e) {
+            cacheMetrics.recordError(KeyFamily.USER_PERMS, Operation.READ);
             log.error("获取用户权限缓存失败: userId={}", userId, e);
             return null;
         }
     }
 
+    /**
+     * 删除角色权限缓存
+     * <p>
+     * 同时删除角色权限快照的 ETag，下一次刷新不再发送 If-None-Match，会全量拉取并补回被删除的角色。
+     * </p>
+     *
+     * @param roleId 角色ID
+     */
     public void evictRolePermissions(Long roleId) {
         String key = ROLE_PERMISSIONS_KEY_PREFIX + roleId;
+        Timer.Sample sample = cacheMetrics.start();
         try {
-            redisTemplate.delete(key);
+            redisTemplate.delete(List.of(key, ROLE_PERMISSIONS_ETAG_KEY));
+            cacheMetrics.recordEvict(KeyFamily.ROLE_PERMS, sample);
             log.info("删除角色权限缓存: roleId={}", roleId);
         } catch (Exception e) {
+            cacheMetrics.recordError(KeyFamily.ROLE_PERMS, Operation.EVICT);
             log.error("删除角色权限缓存失败: roleId={}", roleId, e);
         }
     }
@@ -153,58 +271,124 @@ public class PermissionCacheService {
     public void evictUserCache(Long userId) {
         String rolesKey = USER_ROLES_KEY_PREFIX + userId;
         String permsKey = USER_PERMISSIONS_KEY_PREFIX + userId;
+        Timer.Sample sample = cacheMetrics.start();
         try {
             redisTemplate.delete(rolesKey);
+            cacheMetrics.recordEvict(KeyFamily.USER_ROLES, sample);
+        } catch (Exception e) {
+            cacheMetrics.recordError(KeyFamily.USER_ROLES, Operation.EVICT);
+            log.error("删除用户角色缓存失败: userId={}", userId, e);
+        }
+        sample = cacheMetrics.start();
+        try {
             redisTemplate.delete(permsKey);
+            cacheMetrics.recordEvict(KeyFamily.USER_PERMS, sample);
             log.info("删除用户缓存: userId={}", userId);
         } catch (Exception e) {
+            cacheMetrics.recordError(KeyFamily.USER_PERMS, Operation.EVICT);
             log.error("删除用户缓存失败: userId={}", userId, e);
         }
     }
 
+    /**
+     * 刷新所有角色权限缓存（条件请求 + 流式读取）
+     * <p>
+     * 携带上次成功刷新时保存的 ETag 调用系统服务的 NDJSON 导出接口：
+     * <ul>
+     *   <li>304：角色权限未变化，跳过数据传输和 Redis 重写</li>
+     *   <li>200：每读到一行（一个角色）就写入 Redis，内存中只保留当前角色；
+     *       完整读完且全部写入成功后保存新的 ETag</li>
+     * </ul>
+     * ETag 与权限数据一起保存在 Redis 中，Redis 数据丢失时 ETag 同时丢失，会自动退化为全量刷新；
+     * 多个 IAM 实例共享同一个 ETag，任一实例刷新后其余实例的刷新都会命中 304。
+     * 读取中途断开时已写入的角色保留，ETag 不更新，下次刷新重新全量拉取。
+     * </p>
+     */
     public void refreshAllRolePermissions() {
         log.info("========================================");
         log.info("开始刷新所有角色权限缓存...");
         log.info("========================================");
 
-        try {
-            // 通过 Feign 调用系统服务，获取所有角色权限
-            List<RolePermissionVO> rolePermissions = systemUserFeignClient.getAllRolePermissions();
+        String cachedETag = getRolePermissionsETag();
 
-            if (rolePermissions == null || rolePermissions.isEmpty()) {
-                log.warn("未获取到任何角色权限数据，缓存刷新跳过");
+        // 通过 Feign 调用系统服务，条件获取所有角色权限（NDJSON 流）
+        try (Response response = systemUserFeignClient.streamAllRolePermissions(cachedETag)) {
+            if (response.status() == HttpStatus.NOT_MODIFIED.value()) {
+                if (firstHeader(response, HttpHeaderConstants.FALLBACK) != null) {
+                    log.warn("系统服务不可用，保留现有角色权限缓存: eTag={}", cachedETag);
+                } else {
+                    log.info("角色权限未变化，缓存刷新跳过: eTag={}", cachedETag);
+                }
+                return;
+            }
+            if (response.status() != HttpStatus.OK.value() || response.body() == null) {
+                log.error("角色权限缓存刷新失败: 系统服务响应异常 status={}", response.status());
                 return;
             }
 
-            // 遍历角色权限列表，逐个缓存到 Redis
+            // 逐行读取角色权限，边读边写入 Redis
             int successCount = 0;
             int failCount = 0;
 
-            for (RolePermissionVO rolePermission : rolePermissions) {
-                try {
-                    cacheRolePermissions(
-                            rolePermission.getRoleId(),
-                            rolePermission.getPermissions()
-                    );
-                    successCount++;
-                    log.debug("刷新角色权限缓存成功: roleId={}, roleLabel={}, 权限数量={}",
-                            rolePermission.getRoleId(),
-                            rolePermission.getRoleLabel(),
-                            rolePermission.getPermissions() != null ? rolePermission.getPermissions().size() : 0);
-                } catch (Exception e) {
-                    failCount++;
-                    log.error("刷新角色权限缓存失败: roleId={}, roleLabel={}",
-                            rolePermission.getRoleId(), rolePermission.getRoleLabel(), e);
+            try (MappingIterator<RolePermissionVO> iterator =
+                         rolePermissionReader.readValues(response.body().asInputStream())) {
+                while (iterator.hasNextValue()) {
+                    RolePermissionVO rolePermission = iterator.nextValue();
+                    if (cacheRolePermissions(rolePermission.getRoleId(), rolePermission.getPermissions())) {
+                        successCount++;
+                        log.debug("刷新角色权限缓存成功: roleId={}, roleLabel={}, 权限数量={}",
+                                rolePermission.getRoleId(),
+                                rolePermission.getRoleLabel(),
+                                rolePermission.getPermissions() != null ? rolePermission.getPermissions().size() : 0);
+                    } else {
+                        failCount++;
+                        log.error("刷新角色权限缓存失败: roleId={}, roleLabel={}",
+                                rolePermission.getRoleId(), rolePermission.getRoleLabel());
+                    }
                 }
             }
 
+            if (successCount == 0 && failCount == 0) {
+                log.warn("未获取到任何角色权限数据，缓存刷新跳过");
+                return;
+            }
+
+            // 仅在全部成功时保存 ETag，否则下次刷新仍会全量重试
+            String newETag = firstHeader(response, HttpHeaders.ETAG);
+            if (failCount == 0 && newETag != null) {
+                cacheRolePermissionsETag(newETag);
+            }
+
             log.info("========================================");
-            log.info("角色权限缓存刷新完成: 成功={}, 失败={}, 总计={}",
-                    successCount, failCount, rolePermissions.size());
+            log.info("角色权限缓存刷新完成: 成功={}, 失败={}, 总计={}, eTag={}",
+                    successCount, failCount, successCount + failCount, newETag);
             log.info("========================================");
 
         } catch (Exception e) {
             log.error("角色权限缓存刷新失败", e);
         }
     }
+
+    private String getRolePermissionsETag() {
+        try {
+            Object value = redisTemplate.opsForValue().get(ROLE_PERMISSIONS_ETAG_KEY);
+            return value != null ? value.toString() : null;
+        } catch (Exception e) {
+            log.error("获取角色权限 ETag 失败", e);
+            return null;
+        }
+    }
+
+    private void cacheRolePermissionsETag(String eTag) {
+        try {
+            redisTemplate.opsForValue().set(ROLE_PERMISSIONS_ETAG_KEY, eTag);
+        } catch (Exception e) {
+            log.error("缓存角色权限 ETag 失败: eTag={}", eTag, e);
+        }
+    }
+
+    private static String firstHeader(Response response, String name) {
+        Collection<String> values = response.headers().get(name);
+        return values == null || values.isEmpty() ? null : values.iterator().next();
+    }
 }
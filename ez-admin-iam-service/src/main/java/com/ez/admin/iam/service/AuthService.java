@@ -1,6 +1,9 @@
 package com.ez.admin.iam.service;
 
 import cn.dev33.satoken.stp.StpUtil;
+import com.ez.admin.core.enums.BusinessErrorCode;
+import com.ez.admin.core.exception.BusinessException;
+import com.ez.admin.iam.feign.UserRoleCollapser;
 import com.ez.admin.iam.model.dto.RefreshTokenRequestDTO;
 import com.ez.admin.iam.model.dto.UserLoginRequestDTO;
 import com.ez.admin.iam.model.vo.RefreshTokenVO;
@@ -35,6 +38,7 @@ public class AuthService {
 
     private final SystemUserFeignClient systemUserFeignClient;
     private final PermissionCacheService permissionCacheService;
+    private final UserRoleCollapser userRoleCollapser;
 
     /**
      * 访问令牌过期时间（秒），从配置文件读取
@@ -64,7 +68,7 @@ public class AuthService {
      *
      * @param requestDTO 登录请求，包含用户名和密码
      * @return 登录信息，包含访问令牌和刷新令牌
-     * @throws IllegalArgumentException 用户名或密码错误
+     * @throws BusinessException 用户名或密码错误（{@link BusinessErrorCode#USER_PASSWORD_ERROR}）
      */
     public UserLoginVO login(UserLoginRequestDTO requestDTO) {
         String username = requestDTO.getUsername();
@@ -88,7 +92,7 @@ public class AuthService {
         // 暂时直接比对（实际应该使用加密算法）
         if (!password.equals(authResponse.getPassword())) {
             log.warn("用户登录失败: username={}, 原因=密码错误", username);
-            throw new IllegalArgumentException("用户名或密码错误");
+            throw new BusinessException(BusinessErrorCode.USER_PASSWORD_ERROR);
         }
 
         Long userId = authResponse.getUserId();
@@ -97,8 +101,8 @@ public class AuthService {
         StpUtil.login(userId);
         String accessToken = StpUtil.getTokenValue();
 
-        // 查询用户角色并缓存到 Redis
-        UserRoleVO userRoles = systemUserFeignClient.getUserRoles(userId);
+        // 查询用户角色并缓存到 Redis（并发登录时合并为批量查询）
+        UserRoleVO userRoles = userRoleCollapser.getUserRoles(userId);
         if (userRoles != null && userRoles.getRoleIds() != null) {
             // 缓存用户-角色映射
             permissionCacheService.cacheUserRoles(userId, userRoles.getRoleIds());
@@ -162,7 +166,7 @@ public class AuthService {
 
         if (loginId == null) {
             log.warn("用户登出失败: 原因=未登录");
-            throw new IllegalStateException("用户未登录");
+            throw new BusinessException(BusinessErrorCode.UNAUTHORIZED);
         }
 
         // 调用 Sa-Token 的登出方法，使 Token 失效
@@ -186,7 +190,7 @@ public class AuthService {
      *
      * @param requestDTO 刷新令牌请求，包含 refresh_token
      * @return 刷新令牌信息，包含新的访问令牌和刷新令牌
-     * @throws IllegalArgumentException 刷新令牌无效或已过期
+     * @throws BusinessException 刷新令牌无效或已过期（{@link BusinessErrorCode#TOKEN_INVALID}）
      */
     public RefreshTokenVO refreshToken(RefreshTokenRequestDTO requestDTO) {
         String refreshToken = requestDTO.getRefreshToken();
@@ -200,7 +204,7 @@ public class AuthService {
 
         if (!refreshToken.startsWith(prefix)) {
             log.warn("刷新令牌失败: refreshToken={}, 原因=令牌格式无效", refreshToken);
-            throw new IllegalArgumentException("刷新令牌无效");
+            throw new BusinessException(BusinessErrorCode.TOKEN_INVALID, "刷新令牌无效");
         }
 
         try {
@@ -231,7 +235,7 @@ public class AuthService {
 
         } catch (NumberFormatException e) {
             log.warn("刷新令牌失败: refreshToken={}, 原因=用户 ID 格式无效", refreshToken);
-            throw new IllegalArgumentException("刷新令牌无效", e);
+            throw new BusinessException(BusinessErrorCode.TOKEN_INVALID, "刷新令牌无效", e);
         }
     }
 }
@@ -4,14 +4,19 @@ import com.ez.admin.system.api.dto.UserAuthenticationRequestDTO;
 import com.ez.admin.system.api.vo.RolePermissionVO;
 import com.ez.admin.system.api.vo.UserAuthenticationVO;
 import com.ez.admin.system.api.vo.UserRoleVO;
+import feign.Response;
 import io.swagger.v3.oas.annotations.Operation;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 系统用户 Feign 客户端接口
@@ -23,17 +28,44 @@ import java.util.List;
  * 通过全局 Feign 配置的解码器，远程调用会自动解包 R&lt;T&gt;，
  * 业务代码无需关心 R 包装，直接使用返回的业务对象即可。
  * </p>
+ * <p>
+ * 开启熔断后，每个方法使用独立的熔断器和并发隔离舱，降级逻辑见 {@link SystemUserFeignClientFallbackFactory}。
+ * </p>
  *
  * @see <a href="https://spring.io/projects/spring-cloud-openfeign">Spring Cloud OpenFeign</a>
  */
-@FeignClient(name = "ez-admin-system-service", path = "/api/v1/system")
+@FeignClient(name = "ez-admin-system-service", path = "/api/v1/system",
+        fallbackFactory = SystemUserFeignClientFallbackFactory.class)
 public interface SystemUserFeignClient {
 
+    /**
+     * 批量查询用户角色时单次请求的最大用户数
+     */
+    int USER_ROLES_BATCH_MAX_SIZE = 1000;
 
     @GetMapping("/role/permissions")
     @Operation(summary = "查询所有角色权限", description = "获取所有角色及其关联的权限标识列表")
     List<RolePermissionVO> getAllRolePermissions();
 
+    /**
+     * 流式导出所有角色权限（NDJSON，支持 ETag 条件请求）
+     * <p>
+     * 响应体为 NDJSON（每行一个 {@link RolePermissionVO}，无 R 包装），
+     * 调用方应边读边处理，不要一次性读入内存。携带上次获取到的 ETag 发起条件请求：
+     * 304 表示未变化（无响应体），200 时响应头 ETag 为新版本。
+     * </p>
+     * <p>
+     * 注意：返回原始 {@link Response}，调用方需自行判断状态码、解析响应体并负责关闭 Response。
+     * 读取过程中出现 IO 异常表示服务端输出中断，应视为本次导出失败。
+     * </p>
+     *
+     * @param eTag 上次获取到的 ETag，为 null 时等同于无条件请求
+     * @return 原始响应
+     */
+    @GetMapping(value = "/role/permissions/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "流式导出所有角色权限", description = "以 NDJSON 逐行输出所有角色及其权限标识列表，未变化时返回 304")
+    Response streamAllRolePermissions(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String eTag);
+
 
     /**
      * 根据用户名查询用户认证信息
@@ -80,4 +112,20 @@ public interface SystemUserFeignClient {
     @GetMapping("/user/roles")
     @Operation(summary = "查询用户角色", description = "根据用户ID查询用户关联的角色列表")
     UserRoleVO getUserRoles(@RequestParam("userId") Long userId);
+
+    /**
+     * 根据用户ID列表批量查询用户角色信息
+     * <p>
+     * 一次请求、一条 SQL 返回所有用户的角色，替代循环调用 {@link #getUserRoles(Long)}。
+     * 单次最多 {@value #USER_ROLES_BATCH_MAX_SIZE} 个用户，超出时服务端拒绝，调用方需自行分批。
+     * 没有角色的用户同样返回，角色列表为空。
+     * </p>
+     *
+     * @param userIds 用户ID列表
+     * @return 用户ID -> 用户角色信息
+     * @throws com.ez.admin.feign.exception.BusinessException 远程调用失败时抛出
+     */
+    @PostMapping("/user/roles/batch")
+    @Operation(summary = "批量查询用户角色", description = "根据用户ID列表批量查询用户关联的角色列表")
+    Map<Long, UserRoleVO> getUserRolesBatch(@RequestBody List<Long> userIds);
 }
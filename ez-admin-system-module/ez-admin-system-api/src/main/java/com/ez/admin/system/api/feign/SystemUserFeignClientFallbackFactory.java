@@ -0,0 +1,21 @@
+package com.ez.admin.system.api.feign;
+
+import org.springframework.cloud.openfeign.FallbackFactory;
+
+/**
+ * 系统用户 Feign 客户端降级工厂
+ * <p>
+ * 开启 {@code spring.cloud.openfeign.circuitbreaker.enabled} 后，
+ * {@link SystemUserFeignClient} 的每个方法都会包裹在独立的熔断器和并发隔离舱中，
+ * 熔断、隔离舱满、超时或调用失败时由本工厂创建的降级实现兜底。
+ * </p>
+ * <p>
+ * 降级数据（如 Redis 中的权限缓存）只有调用方才能提供，因此这里只声明类型，
+ * 由调用方服务注册一个实现该接口的 Bean（如 IAM 服务），Feign 按类型从容器中查找。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public interface SystemUserFeignClientFallbackFactory extends FallbackFactory<SystemUserFeignClient> {
+}
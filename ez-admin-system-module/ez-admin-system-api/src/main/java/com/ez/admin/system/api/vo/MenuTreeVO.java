@@ -0,0 +1,62 @@
+package com.ez.admin.system.api.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 菜单树节点 VO
+ * <p>
+ * 用于返回按角色裁剪后的路由菜单树，子节点按菜单排序升序排列。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "MenuTreeVO", description = "菜单树节点")
+public class MenuTreeVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "菜单ID")
+    private Long menuId;
+
+    @Schema(description = "父级菜单ID")
+    private Long parentId;
+
+    @Schema(description = "菜单名称")
+    private String menuName;
+
+    @Schema(description = "菜单图标")
+    private String menuIcon;
+
+    @Schema(description = "菜单标识")
+    private String menuLabel;
+
+    @Schema(description = "菜单排序")
+    private Integer menuSort;
+
+    @Schema(description = "菜单类型【1 目录 2 菜单】")
+    private Integer menuType;
+
+    @Schema(description = "路由地址")
+    private String routePath;
+
+    @Schema(description = "路由名称")
+    private String routeName;
+
+    @Schema(description = "组件路径")
+    private String componentPath;
+
+    @Schema(description = "子菜单")
+    private List<MenuTreeVO> children;
+}
@@ -0,0 +1,83 @@
+package com.ez.admin.system.config;
+
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.ez.admin.core.auth.InternalCallAuthenticator;
+import com.ez.admin.system.datascope.DataScopeFilter;
+import com.ez.admin.system.datascope.DataScopeInnerInterceptor;
+import com.ez.admin.system.datascope.DataScopeResolver;
+import com.ez.admin.system.dept.DeptIndexEngine;
+import com.ez.admin.system.mapper.SysRoleDeptRelationMapper;
+import com.ez.admin.system.mapper.SysRoleMapper;
+import com.ez.admin.system.mapper.SysUserMapper;
+import com.ez.admin.system.mapper.SysUserRoleRelationMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 数据范围配置类
+ * <p>
+ * 按角色的数据范围（{@code ez_admin_sys_role.data_scope}）过滤按部门归属的表，包括：
+ * <ul>
+ *   <li>{@link DataScopeFilter}：从认证通过的内部调用请求头中取得当前操作用户</li>
+ *   <li>{@link DataScopeResolver}：解析并缓存用户可见的部门集合</li>
+ *   <li>{@link DataScopeInnerInterceptor}：改写查询、修改和删除 SQL，MyBatis-Plus Starter 会自动注册容器中的拦截器 Bean</li>
+ * </ul>
+ * 通过 {@code ez.data-scope.enabled=false} 整体关闭。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Configuration
+@EnableConfigurationProperties(DataScopeProperties.class)
+@ConditionalOnProperty(value = "ez.data-scope.enabled", havingValue = "true", matchIfMissing = true)
+public class DataScopeConfig {
+
+    /**
+     * 数据范围过滤器
+     * <p>
+     * 排在链路追踪、截止时间过滤器之后。
+     * </p>
+     *
+     * @param internalCallAuthenticator 内部调用认证器
+     * @return 过滤器注册
+     */
+    @Bean
+    public FilterRegistrationBean<DataScopeFilter> dataScopeFilter(InternalCallAuthenticator internalCallAuthenticator) {
+        FilterRegistrationBean<DataScopeFilter> registration =
+                new FilterRegistrationBean<>(new DataScopeFilter(internalCallAuthenticator));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    @Bean
+    public DataScopeResolver dataScopeResolver(DataScopeProperties properties,
+                                               DeptIndexEngine deptIndexEngine,
+                                               SysUserMapper sysUserMapper,
+                                               SysUserRoleRelationMapper sysUserRoleRelationMapper,
+                                               SysRoleMapper sysRoleMapper,
+                                               SysRoleDeptRelationMapper sysRoleDeptRelationMapper) {
+        return new DataScopeResolver(properties, deptIndexEngine, sysUserMapper,
+                sysUserRoleRelationMapper, sysRoleMapper, sysRoleDeptRelationMapper);
+    }
+
+    /**
+     * MyBatis-Plus 拦截器
+     *
+     * @param properties 数据范围配置
+     * @param resolver   数据范围解析器（延迟获取，避免与 SqlSessionFactory 循环依赖）
+     * @return MyBatis-Plus 拦截器
+     */
+    @Bean
+    public MybatisPlusInterceptor mybatisPlusInterceptor(DataScopeProperties properties,
+                                                         ObjectProvider<DataScopeResolver> resolver) {
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(new DataScopeInnerInterceptor(properties, resolver));
+        return interceptor;
+    }
+}
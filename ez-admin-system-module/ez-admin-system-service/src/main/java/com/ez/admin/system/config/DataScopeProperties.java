@@ -0,0 +1,71 @@
+package com.ez.admin.system.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 数据范围配置属性
+ * <p>
+ * 配置示例：
+ * <pre>
+ * ez:
+ *   data-scope:
+ *     enabled: true
+ *     cache-ttl: 5m
+ *     cache-max-users: 10000
+ *     tables:
+ *       "[ez_admin_sys_user]":
+ *         dept-column: dept_id
+ *         user-column: user_id
+ * </pre>
+ * 表名作为 Map 的 key 含下划线，需要用 {@code "[...]"} 包裹，否则会被宽松绑定去掉。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Data
+@ConfigurationProperties(prefix = "ez.data-scope")
+public class DataScopeProperties {
+
+    /**
+     * 是否启用数据范围过滤
+     */
+    private boolean enabled = true;
+
+    /**
+     * 用户数据范围的缓存时长，角色、部门变更最迟在该时长后生效
+     */
+    private Duration cacheTtl = Duration.ofMinutes(5);
+
+    /**
+     * 最多缓存的用户数，超出后清空重建
+     */
+    private int cacheMaxUsers = 10000;
+
+    /**
+     * 按部门归属过滤的表：表名 -> 列配置
+     */
+    private Map<String, Table> tables = new LinkedHashMap<>();
+
+    /**
+     * 表的数据范围列配置
+     */
+    @Data
+    public static class Table {
+
+        /**
+         * 所属部门ID列
+         */
+        private String deptColumn = "dept_id";
+
+        /**
+         * 所属用户ID列，为空时“仅本人”数据范围在该表上不可见任何数据
+         */
+        private String userColumn;
+    }
+}
@@ -0,0 +1,60 @@
+package com.ez.admin.system.config;
+
+import com.ez.admin.core.deadline.Deadline;
+import com.ez.admin.core.deadline.DeadlineContext;
+import com.ez.admin.core.exception.DeadlineExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * 按请求截止时间收紧 SQL 查询超时的 MyBatis 插件
+ * <p>
+ * 在 {@link StatementHandler#prepare} 之后、执行之前处理：
+ * <ul>
+ *   <li>当前请求没有截止时间：不做任何处理</li>
+ *   <li>截止时间已过：不再执行 SQL，直接抛出 {@link DeadlineExceededException}，放弃注定无用的工作</li>
+ *   <li>否则：把 JDBC 查询超时设为剩余时间（向上取整到秒，JDBC 的最小单位），
+ *       与 Mapper / 事务已有的超时取较小值；PostgreSQL 驱动到时会取消服务端正在执行的查询</li>
+ * </ul>
+ * MyBatis-Plus Starter 会自动注册容器中的 {@link Interceptor} Bean。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Slf4j
+@Component
+@Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}))
+public class DeadlineQueryTimeoutInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Deadline deadline = DeadlineContext.current();
+        if (deadline == null) {
+            return invocation.proceed();
+        }
+
+        long remainingMillis = deadline.remainingMillis();
+        if (remainingMillis <= 0) {
+            StatementHandler handler = (StatementHandler) invocation.getTarget();
+            log.warn("请求已超过截止时间，放弃执行 SQL: {}", handler.getBoundSql().getSql());
+            throw new DeadlineExceededException("SQL 查询");
+        }
+
+        Statement statement = (Statement) invocation.proceed();
+        int remainingSeconds = (int) Math.max(1, (remainingMillis + 999) / 1000);
+        int current = statement.getQueryTimeout();
+        if (current == 0 || remainingSeconds < current) {
+            statement.setQueryTimeout(remainingSeconds);
+        }
+        return statement;
+    }
+}
@@ -0,0 +1,74 @@
+package com.ez.admin.system.controller;
+
+import com.ez.admin.core.entity.ConstantR;
+import com.ez.admin.core.entity.R;
+import com.ez.admin.system.api.vo.MenuTreeVO;
+import com.ez.admin.system.service.SysMenuService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 菜单控制器
+ * <p>
+ * 提供菜单相关的 REST API 接口，供其他服务通过 Feign 远程调用。
+ * 所有接口统一返回 {@link R} 格式。
+ * </p>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/system/menu")
+@RequiredArgsConstructor
+@Tag(name = "菜单管理", description = "菜单相关接口（供内部服务调用）")
+public class MenuController {
+
+    private static final ConstantR ROUTER_TREE_REFRESHED = ConstantR.ok("菜单树已重建");
+
+    private final SysMenuService menuService;
+
+    /**
+     * 查询角色组合的路由菜单树
+     * <p>
+     * 前端根据当前用户的角色渲染侧边栏和动态路由时使用。
+     * 菜单树常驻内存，相同角色组合的裁剪结果会被缓存；已停用或已删除的角色会被忽略。
+     * </p>
+     *
+     * @param roleIds 角色ID列表
+     * @return 路由菜单树（目录和菜单，不含按钮）
+     */
+    @GetMapping("/router-tree")
+    @Operation(summary = "查询路由菜单树", description = "根据角色ID列表查询裁剪后的路由菜单树")
+    public R<List<MenuTreeVO>> getRouterTree(
+            @Parameter(description = "角色ID列表", required = true)
+            @RequestParam("roleIds") List<Long> roleIds) {
+        List<MenuTreeVO> tree = menuService.getRouterTree(roleIds);
+        log.debug("查询路由菜单树成功: roleIds={}, 顶级菜单数量={}", roleIds, tree.size());
+        return R.ok(tree);
+    }
+
+    /**
+     * 全量重建路由菜单树
+     * <p>
+     * 菜单和角色授权经本服务写入时菜单树会自动增量更新；
+     * 直接改库或在其他实例上变更后，调用此接口同步本实例。
+     * </p>
+     *
+     * @return 操作结果
+     */
+    @PostMapping("/router-tree/refresh")
+    @Operation(summary = "重建路由菜单树", description = "从数据库全量重新加载菜单及角色授权，重建内存菜单树")
+    public R<Void> refreshRouterTree() {
+        menuService.refreshRouterTree();
+        log.info("路由菜单树已全量重建");
+        return ROUTER_TREE_REFRESHED;
+    }
+}
@@ -1,17 +1,27 @@
 package com.ez.admin.system.controller;
 
 import com.ez.admin.core.entity.R;
+import com.ez.admin.core.entity.StreamingR;
 import com.ez.admin.system.api.vo.RolePermissionVO;
 import com.ez.admin.system.entity.SysRole;
 import com.ez.admin.system.service.SysRoleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -30,31 +40,93 @@ import java.util.stream.Collectors;
 @Tag(name = "角色管理", description = "角色相关接口（供内部服务调用）")
 public class RoleController {
 
+    /**
+     * NDJSON 行分隔符
+     */
+    private static final int NDJSON_LINE_SEPARATOR = '\n';
+
     private final SysRoleService roleService;
+    private final ObjectMapper objectMapper;
 
     /**
      * 查询所有角色的权限列表
      * <p>
-     * 此接口供 IAM 服务在启动时调用，用于初始化角色-权限缓存。
+     * 此接口供 IAM 服务在启动及刷新缓存时调用，用于初始化角色-权限缓存。
      * 实现步骤：
      * <ol>
-     *   <li>查询所有角色及其关联的菜单权限</li>
-     *   <li>提取每个角色的权限标识（menu_perm）列表</li>
-     *   <li>返回角色权限列表</li>
+     *   <li>根据角色、菜单及关系表的聚合值计算内容版本（ETag）</li>
+     *   <li>请求头 If-None-Match 与 ETag 一致时直接返回 304，不查询明细、不传输数据</li>
+     *   <li>否则通过数据库游标逐个角色读取其权限标识（menu_perm）列表，直接序列化到响应的 data 数组</li>
+     *   <li>响应头中携带 ETag</li>
      * </ol>
+     * 接口契约为 {@code R<List<RolePermissionVO>>}，实际返回 {@link StreamingR}：服务端不聚合完整列表，
+     * 逐个元素写入响应流。
+     * 游标读取中途失败时，响应尾部的 code 为失败状态码，调用方按普通 R 处理即可。
+     * </p>
+     * <p>
+     * ETag 先于明细数据计算：两者之间若有数据变更，调用方拿到的是较旧的 ETag，
+     * 下一次条件请求会因不匹配而重新下载，不会漏掉变更。
      * </p>
      *
-     * @return 所有角色及其权限标识列表
+     * @param webRequest 当前请求（用于 ETag 条件判断）
+     * @return 所有角色及其权限标识列表；数据未变化时返回 null（响应状态 304）
      */
     @GetMapping("/permissions")
-    @Operation(summary = "查询所有角色权限", description = "获取所有角色及其关联的权限标识列表")
-    public R<List<RolePermissionVO>> getAllRolePermissions() {
-        log.info("收到查询所有角色权限请求");
+    @Operation(summary = "查询所有角色权限", description = "获取所有角色及其关联的权限标识列表，支持 If-None-Match 条件请求")
+    public R<List<RolePermissionVO>> getAllRolePermissions(WebRequest webRequest) {
+        String eTag = roleService.getRolePermissionsETag();
+        if (webRequest.checkNotModified(eTag)) {
+            log.debug("角色权限未变化，返回 304: eTag={}", eTag);
+            return null;
+        }
+
+        log.info("收到查询所有角色权限请求: eTag={}", eTag);
+
+        return StreamingR.of(RolePermissionVO.class, roleService::streamAllRolePermissions);
+    }
+
+    /**
+     * 流式导出所有角色的权限列表（NDJSON）
+     * <p>
+     * 与 {@link #getAllRolePermissions(WebRequest)} 数据相同，但不经过 R 包装、不在内存中聚合：
+     * 数据库游标每交付一个角色就序列化为一行 JSON 写入响应流，
+     * 服务端内存占用与角色、菜单数量无关，调用方也可以边读边处理。
+     * </p>
+     * <p>
+     * 同样支持 If-None-Match 条件请求。输出中途失败时响应已提交，无法再改写状态码，
+     * 连接会以不完整的分块结束，调用方读取时会收到 IO 异常，应视为本次导出失败。
+     * </p>
+     *
+     * @param webRequest 当前请求（用于 ETag 条件判断）
+     * @param response   响应，逐行写入 NDJSON
+     * @throws IOException 写响应失败
+     */
+    @GetMapping(value = "/permissions/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "流式导出所有角色权限", description = "以 NDJSON 逐行输出所有角色及其权限标识列表，支持 If-None-Match 条件请求")
+    public void streamAllRolePermissions(WebRequest webRequest, HttpServletResponse response) throws IOException {
+        String eTag = roleService.getRolePermissionsETag();
+        if (webRequest.checkNotModified(eTag)) {
+            log.debug("角色权限未变化，返回 304: eTag={}", eTag);
+            return;
+        }
+
+        log.info("收到流式导出所有角色权限请求");
 
-        List<RolePermissionVO> rolePermissions = roleService.getAllRolePermissions();
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        ObjectWriter writer = objectMapper.writerFor(RolePermissionVO.class);
+        OutputStream out = response.getOutputStream();
 
-        log.info("查询所有角色权限成功: 角色数量={}", rolePermissions.size());
+        int count = roleService.streamAllRolePermissions(rolePermission -> {
+            try {
+                out.write(writer.writeValueAsBytes(rolePermission));
+                out.write(NDJSON_LINE_SEPARATOR);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        out.flush();
 
-        return R.ok(rolePermissions);
+        log.info("流式导出所有角色权限成功: 角色数量={}, eTag={}", count, eTag);
     }
 }
@@ -1,7 +1,10 @@
 package com.ez.admin.system.controller;
 
 import com.ez.admin.core.entity.R;
+import com.ez.admin.core.enums.BusinessErrorCode;
+import com.ez.admin.core.exception.BusinessException;
 import com.ez.admin.system.api.dto.UserAuthenticationRequestDTO;
+import com.ez.admin.system.api.feign.SystemUserFeignClient;
 import com.ez.admin.system.api.vo.UserAuthenticationVO;
 import com.ez.admin.system.api.vo.UserRoleVO;
 import com.ez.admin.system.entity.SysRole;
@@ -18,6 +21,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -54,7 +58,7 @@ public class UserController {
      *
      * @param requestDTO 用户认证请求，包含用户名和密码
      * @return 用户认证信息，包含用户基本信息和加密密码
-     * @throws IllegalArgumentException 用户不存在或已被禁用
+     * @throws BusinessException 用户不存在（{@link BusinessErrorCode#USER_PASSWORD_ERROR}）或已被禁用（{@link BusinessErrorCode#USER_DISABLED}）
      */
     @PostMapping("/authenticate")
     @Operation(summary = "用户认证", description = "根据用户名查询用户认证信息")
@@ -68,13 +72,13 @@ public class UserController {
         // 检查用户是否存在
         if (sysUser == null) {
             log.warn("用户认证失败: username={}, 原因=用户不存在", username);
-            throw new IllegalArgumentException("用户名或密码错误");
+            throw new BusinessException(BusinessErrorCode.USER_PASSWORD_ERROR);
         }
 
         // 检查用户状态是否正常（0-禁用，1-正常）
         if (sysUser.getStatus() == null || sysUser.getStatus() != 1) {
             log.warn("用户认证失败: username={}, userId={}, 原因=用户已被禁用", username, sysUser.getUserId());
-            throw new IllegalArgumentException("用户已被禁用");
+            throw new BusinessException(BusinessErrorCode.USER_DISABLED);
         }
 
         // 转换为响应对象
@@ -128,4 +132,26 @@ public class UserController {
 
         return R.ok(responseVO);
     }
+
+    /**
+     * 批量查询用户角色信息
+     * <p>
+     * 供 IAM 服务在缓存预热、角色变更、审计等批量场景调用，一次请求替代 N 次 {@link #getUserRoles(Long)}。
+     * 单次最多 {@value SystemUserFeignClient#USER_ROLES_BATCH_MAX_SIZE} 个用户，超出时调用方需自行分批。
+     * </p>
+     *
+     * @param userIds 用户ID列表
+     * @return 用户ID -> 用户角色信息，没有角色的用户返回空列表
+     */
+    @PostMapping("/roles/batch")
+    @Operation(summary = "批量查询用户角色", description = "根据用户ID列表批量查询用户关联的角色列表")
+    public R<Map<Long, UserRoleVO>> getUserRolesBatch(@RequestBody List<Long> userIds) {
+        log.info("收到批量查询用户角色请求: 用户数量={}", userIds.size());
+
+        Map<Long, UserRoleVO> userRoles = userRoleRelationService.getUserRolesBatch(userIds);
+
+        log.info("批量查询用户角色成功: 用户数量={}", userRoles.size());
+
+        return R.ok(userRoles);
+    }
 }
@@ -0,0 +1,32 @@
+package com.ez.admin.system.datascope;
+
+/**
+ * 用户的数据范围（多个角色合并后的结果）
+ * <p>
+ * 可见的数据为以下条件的并集：
+ * <ul>
+ *   <li>{@code all} 为 true：全部数据，不做过滤</li>
+ *   <li>{@code selfUserId} 不为 null：本人的数据</li>
+ *   <li>{@code deptIds}：属于这些部门的数据（升序、去重）</li>
+ * </ul>
+ * 两者都为空时不可见任何数据。实例会被缓存并在多个查询间共享，{@code deptIds} 不可修改。
+ * </p>
+ *
+ * @param all        是否全部数据
+ * @param selfUserId 本人用户ID，不含本人数据时为 null
+ * @param deptIds    可见的部门ID
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public record DataScope(boolean all, Long selfUserId, Long[] deptIds) {
+
+    /**
+     * 全部数据
+     */
+    public static final DataScope ALL = new DataScope(true, null, new Long[0]);
+
+    /**
+     * 不可见任何数据
+     */
+    public static final DataScope NONE = new DataScope(false, null, new Long[0]);
+}
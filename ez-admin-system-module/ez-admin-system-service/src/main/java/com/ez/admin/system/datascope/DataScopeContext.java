@@ -0,0 +1,85 @@
+package com.ez.admin.system.datascope;
+
+import java.util.function.Supplier;
+
+/**
+ * 数据范围上下文
+ * <p>
+ * 基于 ThreadLocal 保存当前操作用户ID，{@link DataScopeInnerInterceptor} 据此过滤查询：
+ * <ul>
+ *   <li>有当前用户：按该用户的数据范围过滤</li>
+ *   <li>没有当前用户：按数据范围过滤的表查不到任何数据（失败即关闭），避免漏传用户时越权返回全部数据</li>
+ *   <li>在 {@link #ignore(Supplier)} 内执行：不过滤，用于登录认证、解析数据范围本身的查询、完整性校验和系统任务，
+ *       必须显式声明</li>
+ * </ul>
+ * 请求结束时必须调用 {@link #clear()}，避免线程复用导致用户串用。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public final class DataScopeContext {
+
+    private static final ThreadLocal<Long> USER_ID = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> IGNORED = new ThreadLocal<>();
+
+    private DataScopeContext() {
+    }
+
+    /**
+     * 获取需要按数据范围过滤的当前用户ID
+     *
+     * @return 当前用户ID；没有当前用户或处于忽略状态时返回 null
+     */
+    public static Long currentUserId() {
+        return isIgnored() ? null : USER_ID.get();
+    }
+
+    /**
+     * 是否处于不做数据范围过滤的状态
+     *
+     * @return 在 {@link #ignore(Supplier)} 内执行时返回 true
+     */
+    public static boolean isIgnored() {
+        return IGNORED.get() != null;
+    }
+
+    /**
+     * 设置当前用户ID
+     *
+     * @param userId 用户ID
+     */
+    public static void set(Long userId) {
+        USER_ID.set(userId);
+    }
+
+    /**
+     * 清除当前用户ID
+     */
+    public static void clear() {
+        USER_ID.remove();
+        IGNORED.remove();
+    }
+
+    /**
+     * 在不做数据范围过滤的状态下执行
+     * <p>
+     * 可嵌套，退出时恢复之前的状态。
+     * </p>
+     *
+     * @param action 要执行的操作
+     * @param <T>    返回值类型
+     * @return 操作的返回值
+     */
+    public static <T> T ignore(Supplier<T> action) {
+        Boolean previous = IGNORED.get();
+        IGNORED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                IGNORED.remove();
+            }
+        }
+    }
+}
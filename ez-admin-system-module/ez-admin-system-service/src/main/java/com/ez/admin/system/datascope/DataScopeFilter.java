@@ -0,0 +1,71 @@
+package com.ez.admin.system.datascope;
+
+import com.ez.admin.core.auth.InternalCallAuthenticator;
+import com.ez.admin.core.constant.HttpHeaderConstants;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 数据范围过滤器
+ * <p>
+ * 经 {@link InternalCallAuthenticator} 认证的内部调用携带 {@value HttpHeaderConstants#USER_ID} 时，
+ * 将其放入 {@link DataScopeContext}，本次请求内的查询和修改按该用户的数据范围过滤；
+ * 请求头缺失、格式非法或调用方未通过认证时没有当前用户，按数据范围过滤的表查不到、也改不到数据。
+ * 该请求头由 IAM 服务的 Feign 请求拦截器根据登录用户写入。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Slf4j
+public class DataScopeFilter extends OncePerRequestFilter {
+
+    private final InternalCallAuthenticator internalCallAuthenticator;
+
+    /**
+     * @param internalCallAuthenticator 内部调用认证器，认证通过才读取用户ID请求头
+     */
+    public DataScopeFilter(InternalCallAuthenticator internalCallAuthenticator) {
+        this.internalCallAuthenticator = internalCallAuthenticator;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Long userId = resolveUserId(request);
+        if (userId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        DataScopeContext.set(userId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DataScopeContext.clear();
+        }
+    }
+
+    private Long resolveUserId(HttpServletRequest request) {
+        String userId = request.getHeader(HttpHeaderConstants.USER_ID);
+        if (userId == null) {
+            return null;
+        }
+        if (!internalCallAuthenticator.isAuthenticated(request)) {
+            log.warn("忽略未通过内部调用认证的用户ID请求头: uri={}", request.getRequestURI());
+            return null;
+        }
+        try {
+            return Long.valueOf(userId.trim());
+        } catch (NumberFormatException e) {
+            log.warn("忽略非法的用户ID请求头: {}={}", HttpHeaderConstants.USER_ID, userId);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.ez.admin.system.datascope;
+
+import com.baomidou.mybatisplus.core.plugins.InterceptorIgnoreHelper;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.extension.plugins.inner.BaseMultiTableInnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import com.ez.admin.system.config.DataScopeProperties;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.expression.operators.relational.ParenthesedExpressionList;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.delete.Delete;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.update.Update;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.type.ArrayTypeHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.StringUtils;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 数据范围 SQL 拦截器
+ * <p>
+ * 按当前用户（{@link DataScopeContext}）的数据范围改写查询、修改和删除语句中配置为按部门归属的表，追加数据范围条件：
+ * <pre>
+ * 多个部门： t.dept_id = ANY(?::bigint[])
+ * 单个部门： t.dept_id = ?
+ * 含本人：   (t.dept_id = ANY(?::bigint[]) OR t.user_id = ?)
+ * 无可见数据：1 = 0
+ * </pre>
+ * 部门ID以一个数组参数绑定，SQL 文本与用户、部门数量无关，数据库可以复用同一执行计划；
+ * 部门集合由 {@link DataScopeResolver} 预先计算并缓存，查询时不再访问角色、部门表。
+ * </p>
+ * <p>
+ * 以下情况不改写：处于 {@link DataScopeContext#ignore} 中、用户拥有全部数据范围、
+ * Mapper 方法标注了 {@code @InterceptorIgnore(dataPermission = "true")}。
+ * 没有当前用户时按 {@link DataScope#NONE} 改写（{@code 1 = 0}），不需要过滤的查询必须显式声明上述忽略方式。
+ * 修改和删除（含逻辑删除）只约束目标表，范围之外的行不受影响，影响行数为 0；
+ * 新增不做改写，由服务在写入前校验归属。查询中的 WITH 子句无法可靠改写，遇到时拒绝执行，避免绕过数据范围。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public class DataScopeInnerInterceptor extends BaseMultiTableInnerInterceptor implements InnerInterceptor {
+
+    /**
+     * 部门ID数组参数占位标记，改写完成后替换为 {@code ANY(?::bigint[])}
+     */
+    private static final String DEPTS_MARKER = "__ez_data_scope_depts__";
+
+    /**
+     * 单个部门ID参数占位标记，替换为 {@code ?}
+     */
+    private static final String DEPT_MARKER = "__ez_data_scope_dept__";
+
+    /**
+     * 本人用户ID参数占位标记，替换为 {@code ?}
+     */
+    private static final String USER_MARKER = "__ez_data_scope_user__";
+
+    /**
+     * 当前正在改写的语句对应的数据范围（JSqlParser 回调无法直接传参）
+     */
+    private static final ThreadLocal<DataScope> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, DataScopeProperties.Table> tables;
+    private final ObjectProvider<DataScopeResolver> resolver;
+
+    /**
+     * @param properties 数据范围配置
+     * @param resolver   数据范围解析器（延迟获取：解析器依赖的 Mapper 又依赖本拦截器所在的 SqlSessionFactory）
+     */
+    public DataScopeInnerInterceptor(DataScopeProperties properties, ObjectProvider<DataScopeResolver> resolver) {
+        this.tables = new HashMap<>();
+        properties.getTables().forEach((table, columns) -> tables.put(normalize(table), columns));
+        this.resolver = resolver;
+    }
+
+    @Override
+    public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+                            ResultHandler resultHandler, BoundSql boundSql) {
+        rewrite(ms, boundSql);
+    }
+
+    @Override
+    public void beforePrepare(StatementHandler sh, Connection connection, Integer transactionTimeout) {
+        PluginUtils.MPStatementHandler mpSh = PluginUtils.mpStatementHandler(sh);
+        MappedStatement ms = mpSh.mappedStatement();
+        SqlCommandType commandType = ms.getSqlCommandType();
+        if (commandType == SqlCommandType.UPDATE || commandType == SqlCommandType.DELETE) {
+            rewrite(ms, mpSh.boundSql());
+        }
+    }
+
+    /**
+     * 按当前用户的数据范围改写语句，不需要过滤时保持原样
+     */
+    private void rewrite(MappedStatement ms, BoundSql boundSql) {
+        if (DataScopeContext.isIgnored() || InterceptorIgnoreHelper.willIgnoreDataPermission(ms.getId())) {
+            return;
+        }
+        Long userId = DataScopeContext.currentUserId();
+        DataScope scope = userId != null ? resolver.getObject().resolve(userId) : DataScope.NONE;
+        if (scope.all()) {
+            return;
+        }
+
+        PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
+        String sql;
+        CURRENT.set(scope);
+        try {
+            sql = parserSingle(mpBs.sql(), ms.getId());
+        } finally {
+            CURRENT.remove();
+        }
+        bindMarkers(ms.getConfiguration(), boundSql, mpBs, sql, scope);
+    }
+
+    @Override
+    protected void processSelect(Select select, int index, String sql, Object obj) {
+        if (select.getWithItemsList() != null && !select.getWithItemsList().isEmpty()) {
+            throw new IllegalStateException("数据范围过滤不支持 WITH 子句: " + obj);
+        }
+        processSelectBody(select, (String) obj);
+    }
+
+    @Override
+    protected void processUpdate(Update update, int index, String sql, Object obj) {
+        Expression where = andExpression(update.getTable(), update.getWhere(), (String) obj);
+        if (where != null) {
+            update.setWhere(where);
+        }
+    }
+
+    @Override
+    protected void processDelete(Delete delete, int index, String sql, Object obj) {
+        Expression where = andExpression(delete.getTable(), delete.getWhere(), (String) obj);
+        if (where != null) {
+            delete.setWhere(where);
+        }
+    }
+
+    @Override
+    public Expression buildTableExpression(Table table, Expression where, String whereSegment) {
+        DataScope scope = CURRENT.get();
+        DataScopeProperties.Table columns = tables.get(normalize(table.getName()));
+        if (scope == null || columns == null) {
+            return null;
+        }
+
+        Expression deptCondition = null;
+        if (scope.deptIds().length > 0) {
+            String marker = scope.deptIds().length == 1 ? DEPT_MARKER : DEPTS_MARKER;
+            deptCondition = new EqualsTo(column(table, columns.getDeptColumn()), new Column(marker));
+        }
+        Expression selfCondition = null;
+        if (scope.selfUserId() != null && StringUtils.hasText(columns.getUserColumn())) {
+            selfCondition = new EqualsTo(column(table, columns.getUserColumn()), new Column(USER_MARKER));
+        }
+
+        if (deptCondition == null && selfCondition == null) {
+            return new EqualsTo(new LongValue(1), new LongValue(0));
+        }
+        if (deptCondition == null) {
+            return selfCondition;
+        }
+        if (selfCondition == null) {
+            return deptCondition;
+        }
+        return new ParenthesedExpressionList<>(new OrExpression(deptCondition, selfCondition));
+    }
+
+    /**
+     * 把改写后 SQL 中的占位标记替换为 JDBC 参数，并在对应位置插入参数映射
+     * <p>
+     * 参数映射按 {@code ?} 在 SQL 中出现的顺序绑定，因此按标记之前的 {@code ?} 个数确定插入位置；
+     * 引号内的内容不计数。同一张表在语句中出现多次时，每次出现各绑定一个参数。
+     * </p>
+     */
+    private void bindMarkers(Configuration configuration, BoundSql boundSql, PluginUtils.MPBoundSql mpBs,
+                             String sql, DataScope scope) {
+        List<ParameterMapping> mappings = new ArrayList<>(mpBs.parameterMappings());
+        StringBuilder rewritten = new StringBuilder(sql.length() + 32);
+        int placeholders = 0;
+        char quote = 0;
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (quote != 0 || c == '\'' || c == '"') {
+                if (quote == 0) {
+                    quote = c;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                rewritten.append(c);
+                i++;
+            } else if (c == '?') {
+                placeholders++;
+                rewritten.append(c);
+                i++;
+            } else if (sql.startsWith(DEPTS_MARKER, i)) {
+                rewritten.append("ANY(?::bigint[])");
+                mappings.add(placeholders++, new ParameterMapping.Builder(configuration, DEPTS_MARKER, new ArrayTypeHandler()).build());
+                i += DEPTS_MARKER.length();
+            } else if (sql.startsWith(DEPT_MARKER, i)) {
+                rewritten.append('?');
+                mappings.add(placeholders++, new ParameterMapping.Builder(configuration, DEPT_MARKER, Long.class).build());
+                i += DEPT_MARKER.length();
+            } else if (sql.startsWith(USER_MARKER, i)) {
+                rewritten.append('?');
+                mappings.add(placeholders++, new ParameterMapping.Builder(configuration, USER_MARKER, Long.class).build());
+                i += USER_MARKER.length();
+            } else {
+                rewritten.append(c);
+                i++;
+            }
+        }
+
+        boundSql.setAdditionalParameter(DEPTS_MARKER, scope.deptIds());
+        if (scope.deptIds().length > 0) {
+            boundSql.setAdditionalParameter(DEPT_MARKER, scope.deptIds()[0]);
+        }
+        boundSql.setAdditionalParameter(USER_MARKER, scope.selfUserId());
+        mpBs.sql(rewritten.toString());
+        mpBs.parameterMappings(mappings);
+    }
+
+    private static Column column(Table table, String name) {
+        return table.getAlias() != null
+                ? new Column(new Table(table.getAlias().getName()), name)
+                : new Column(table, name);
+    }
+
+    private static String normalize(String tableName) {
+        return tableName.replace("\"", "").replace("`", "").toLowerCase(Locale.ROOT);
+    }
+}
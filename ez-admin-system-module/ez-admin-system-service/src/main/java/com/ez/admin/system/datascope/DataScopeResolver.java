@@ -0,0 +1,186 @@
+package com.ez.admin.system.datascope;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.ez.admin.system.config.DataScopeProperties;
+import com.ez.admin.system.dept.DeptIndexEngine;
+import com.ez.admin.system.dept.DeptSubtreeIndex;
+import com.ez.admin.system.entity.SysRole;
+import com.ez.admin.system.entity.SysRoleDeptRelation;
+import com.ez.admin.system.entity.SysUser;
+import com.ez.admin.system.mapper.SysRoleDeptRelationMapper;
+import com.ez.admin.system.mapper.SysRoleMapper;
+import com.ez.admin.system.mapper.SysUserMapper;
+import com.ez.admin.system.mapper.SysUserRoleRelationMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 用户数据范围解析器
+ * <p>
+ * 按用户的全部正常角色合并数据范围：任一角色为全部数据则不过滤，其余角色可见的部门取并集。
+ * “本部门及以下”通过 {@link DeptSubtreeIndex} 在内存中展开，不查询部门表。
+ * </p>
+ * <p>
+ * 解析结果按用户缓存 {@code ez.data-scope.cache-ttl}，查询时直接使用预先算好的部门ID数组。
+ * 部门树重建后（{@link DeptIndexEngine} 切换了索引实例）缓存自动失效；
+ * 用户角色、角色（数据范围、状态）和角色自定义部门的写操作提交后，由对应服务调用
+ * {@link #onUserRolesChanged(Long)} / {@link #onRolesChanged()} 立即失效。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DataScopeResolver {
+
+    /**
+     * 角色状态：正常
+     */
+    private static final int ROLE_STATUS_NORMAL = 1;
+
+    private final DataScopeProperties properties;
+    private final DeptIndexEngine deptIndexEngine;
+    private final SysUserMapper sysUserMapper;
+    private final SysUserRoleRelationMapper sysUserRoleRelationMapper;
+    private final SysRoleMapper sysRoleMapper;
+    private final SysRoleDeptRelationMapper sysRoleDeptRelationMapper;
+
+    private final Map<Long, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 获取用户的数据范围
+     *
+     * @param userId 用户ID
+     * @return 数据范围
+     */
+    public DataScope resolve(Long userId) {
+        DeptSubtreeIndex deptIndex = deptIndexEngine.current();
+        long now = System.nanoTime();
+        Entry entry = cache.get(userId);
+        if (entry != null && entry.deptIndex() == deptIndex && now - entry.expiresAtNanos() < 0) {
+            return entry.scope();
+        }
+
+        DataScope scope = DataScopeContext.ignore(() -> load(userId, deptIndex));
+        if (cache.size() >= properties.getCacheMaxUsers()) {
+            cache.clear();
+        }
+        cache.put(userId, new Entry(scope, deptIndex, now + properties.getCacheTtl().toNanos()));
+        return scope;
+    }
+
+    /**
+     * 用户的角色分配变更后调用
+     * <p>
+     * 失效该用户的数据范围缓存。当前线程处于事务中时在事务提交后执行，
+     * 避免提交前的并发查询把旧数据重新写入缓存。
+     * </p>
+     *
+     * @param userId 用户ID
+     */
+    public void onUserRolesChanged(Long userId) {
+        afterCommit(() -> evict(userId));
+    }
+
+    /**
+     * 角色的数据范围、状态或自定义部门变更（或角色删除）后调用
+     * <p>
+     * 无法确定受影响的用户，失效全部缓存。当前线程处于事务中时在事务提交后执行。
+     * </p>
+     */
+    public void onRolesChanged() {
+        afterCommit(this::evictAll);
+    }
+
+    /**
+     * 失效单个用户的数据范围缓存
+     *
+     * @param userId 用户ID
+     */
+    public void evict(Long userId) {
+        cache.remove(userId);
+    }
+
+    /**
+     * 失效全部数据范围缓存
+     */
+    public void evictAll() {
+        cache.clear();
+    }
+
+    /**
+     * 事务提交后执行，没有事务时立即执行
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private DataScope load(Long userId, DeptSubtreeIndex deptIndex) {
+        SysUser user = sysUserMapper.selectById(userId);
+        if (user == null) {
+            log.warn("数据范围解析失败，用户不存在: userId={}", userId);
+            return DataScope.NONE;
+        }
+
+        List<Long> roleIds = sysUserRoleRelationMapper.selectRoleIdsByUserId(userId);
+        List<SysRole> roles = roleIds.isEmpty() ? List.of() : sysRoleMapper.selectList(new LambdaQueryWrapper<SysRole>()
+                .select(SysRole::getRoleId, SysRole::getDataScope)
+                .in(SysRole::getRoleId, roleIds)
+                .eq(SysRole::getStatus, ROLE_STATUS_NORMAL));
+
+        // 没有正常角色的用户只能看到本人数据
+        boolean self = roles.isEmpty();
+        TreeSet<Long> deptIds = new TreeSet<>();
+        List<Long> customRoleIds = new ArrayList<>();
+        for (SysRole role : roles) {
+            switch (DataScopeType.of(role.getDataScope())) {
+                case ALL -> {
+                    log.debug("数据范围解析完成: userId={}, 全部数据", userId);
+                    return DataScope.ALL;
+                }
+                case CUSTOM -> customRoleIds.add(role.getRoleId());
+                case DEPT_AND_CHILD -> {
+                    for (long deptId : deptIndex.subtreeIds(user.getDeptId())) {
+                        deptIds.add(deptId);
+                    }
+                }
+                case DEPT -> {
+                    if (user.getDeptId() != null) {
+                        deptIds.add(user.getDeptId());
+                    }
+                }
+                case SELF -> self = true;
+            }
+        }
+        if (!customRoleIds.isEmpty()) {
+            sysRoleDeptRelationMapper.selectList(new LambdaQueryWrapper<SysRoleDeptRelation>()
+                            .select(SysRoleDeptRelation::getDeptId)
+                            .in(SysRoleDeptRelation::getRoleId, customRoleIds))
+                    .forEach(relation -> deptIds.add(relation.getDeptId()));
+        }
+
+        log.debug("数据范围解析完成: userId={}, 本人={}, 部门数量={}", userId, self, deptIds.size());
+        return new DataScope(false, self ? userId : null, deptIds.toArray(Long[]::new));
+    }
+
+    private record Entry(DataScope scope, DeptSubtreeIndex deptIndex, long expiresAtNanos) {
+    }
+}
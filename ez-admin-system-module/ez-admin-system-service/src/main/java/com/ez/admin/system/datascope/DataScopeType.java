@@ -0,0 +1,51 @@
+package com.ez.admin.system.datascope;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 角色数据范围
+ * <p>
+ * 对应 {@code ez_admin_sys_role.data_scope}。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Getter
+@AllArgsConstructor
+public enum DataScopeType {
+
+    SELF(1, "仅本人数据权限"),
+    DEPT(2, "本部门数据权限"),
+    DEPT_AND_CHILD(3, "本部门及以下数据权限"),
+    CUSTOM(4, "自定义数据权限"),
+    ALL(5, "全部数据权限");
+
+    /**
+     * 数据范围值
+     */
+    private final Integer code;
+
+    /**
+     * 描述
+     */
+    private final String description;
+
+    /**
+     * 根据数据范围值获取枚举
+     *
+     * @param code 数据范围值
+     * @return 数据范围，未知值按最严格的 {@link #SELF} 处理
+     */
+    public static DataScopeType of(Integer code) {
+        if (code != null) {
+            for (DataScopeType type : values()) {
+                if (type.code.equals(code)) {
+                    return type;
+                }
+            }
+        }
+        return SELF;
+    }
+}
@@ -0,0 +1,96 @@
+package com.ez.admin.system.dept;
+
+import com.ez.admin.system.datascope.DataScopeContext;
+import com.ez.admin.system.entity.SysDept;
+import com.ez.admin.system.mapper.SysDeptMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * 部门子树索引引擎
+ * <p>
+ * 首次使用时加载全部未删除的部门，构建 {@link DeptSubtreeIndex}；
+ * 之后祖先判断、子树查询都在内存中完成，不再使用 {@code ancestors LIKE} 扫描。
+ * </p>
+ * <p>
+ * 部门新增、移动、删除后由 {@code SysDeptService} 调用 {@link #onDeptChanged()}：任何一个部门变化都会使其后的先序编号整体平移，
+ * 无法局部修补，因此在内存中全量重建（部门数量通常在千级以内，重建为毫秒级）；处于事务中时推迟到提交之后重建。
+ * 其他服务实例不会感知本实例的变更，需要时调用 {@link #refresh()}。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeptIndexEngine {
+
+    private final SysDeptMapper sysDeptMapper;
+
+    /**
+     * 当前索引，首次使用前为 null
+     */
+    private volatile DeptSubtreeIndex index;
+
+    /**
+     * 获取当前部门子树索引
+     *
+     * @return 部门子树索引（不可变，可在请求内多次使用）
+     */
+    public DeptSubtreeIndex current() {
+        DeptSubtreeIndex current = index;
+        if (current == null) {
+            synchronized (this) {
+                if (index == null) {
+                    refresh();
+                }
+                current = index;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 全量重建部门子树索引
+     * <p>
+     * 索引必须覆盖全部部门，加载时不受当前用户的数据范围限制。
+     * </p>
+     */
+    public synchronized void refresh() {
+        List<SysDept> depts = DataScopeContext.ignore(() -> sysDeptMapper.selectList(null));
+        DeptSubtreeIndex rebuilt = DeptSubtreeIndex.build(depts);
+        index = rebuilt;
+        log.info("部门子树索引构建完成: 部门数量={}", rebuilt.size());
+    }
+
+    /**
+     * 部门新增、移动或删除后调用
+     * <p>
+     * 尚未加载时不做处理，首次使用时会全量加载。当前线程处于事务中时在事务提交后重建。
+     * </p>
+     */
+    public void onDeptChanged() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuildIfLoaded();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                rebuildIfLoaded();
+            }
+        });
+    }
+
+    private synchronized void rebuildIfLoaded() {
+        if (index != null) {
+            refresh();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.ez.admin.system.dept;
+
+import com.ez.admin.system.entity.SysDept;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 部门子树索引
+ * <p>
+ * 对部门树做一次先序遍历（Euler tour），为每个部门分配区间 [enter, exit]：
+ * enter 为先序编号，exit 为其子树中最后一个部门的先序编号。由此：
+ * <ul>
+ *   <li>A 是 D 的祖先（或 D 本身）当且仅当 enter(A) &lt;= enter(D) &lt;= exit(A)，O(1) 判断</li>
+ *   <li>A 的子树恰好是先序序列中连续的一段 [enter(A), exit(A)]，直接按区间截取部门ID</li>
+ * </ul>
+ * 同级部门按 deptSort、deptId 升序遍历。索引不可变，部门变化时由 {@link DeptIndexEngine} 整体重建。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+public final class DeptSubtreeIndex {
+
+    /**
+     * 顶级部门的父级部门ID
+     */
+    static final long ROOT_ID = 0L;
+
+    private static final Comparator<SysDept> DEPT_ORDER = Comparator
+            .comparing(SysDept::getDeptSort, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(SysDept::getDeptId);
+
+    /**
+     * 部门ID -> 先序编号
+     */
+    private final Map<Long, Integer> enter;
+
+    /**
+     * 先序编号 -> 子树最后一个部门的先序编号
+     */
+    private final int[] exit;
+
+    /**
+     * 先序编号 -> 部门ID
+     */
+    private final long[] order;
+
+    private DeptSubtreeIndex(Map<Long, Integer> enter, int[] exit, long[] order) {
+        this.enter = enter;
+        this.exit = exit;
+        this.order = order;
+    }
+
+    /**
+     * 构建部门子树索引
+     * <p>
+     * 父级部门不存在的部门视为顶级部门；数据异常形成环时，环上的部门从任意一个节点断开，不会死循环。
+     * 使用显式栈遍历，与部门层级深度无关。
+     * </p>
+     *
+     * @param depts 全部（未删除的）部门
+     * @return 部门子树索引
+     */
+    static DeptSubtreeIndex build(Collection<SysDept> depts) {
+        Map<Long, SysDept> deptIndex = new HashMap<>(depts.size() * 2);
+        Map<Long, List<SysDept>> children = new HashMap<>(depts.size() * 2);
+        for (SysDept dept : depts) {
+            deptIndex.put(dept.getDeptId(), dept);
+            children.computeIfAbsent(parentIdOf(dept), parentId -> new ArrayList<>()).add(dept);
+        }
+        children.values().forEach(siblings -> siblings.sort(DEPT_ORDER));
+
+        List<SysDept> roots = new ArrayList<>();
+        for (SysDept dept : depts) {
+            if (!deptIndex.containsKey(parentIdOf(dept))) {
+                roots.add(dept);
+            }
+        }
+        roots.sort(DEPT_ORDER);
+
+        int size = deptIndex.size();
+        Map<Long, Integer> enter = new HashMap<>(size * 2);
+        long[] order = new long[size];
+        int[] parent = new int[size];
+        int next = 0;
+        Deque<SysDept> stack = new ArrayDeque<>();
+        Deque<Integer> parentStack = new ArrayDeque<>();
+
+        // 先从真正的顶级部门遍历，剩余未访问的部门只可能在环上，依次作为起点
+        List<SysDept> starts = new ArrayList<>(roots);
+        depts.stream().sorted(DEPT_ORDER).forEach(starts::add);
+        for (SysDept start : starts) {
+            if (enter.containsKey(start.getDeptId())) {
+                continue;
+            }
+            stack.push(start);
+            parentStack.push(-1);
+            while (!stack.isEmpty()) {
+                SysDept dept = stack.pop();
+                int parentNo = parentStack.pop();
+                if (enter.putIfAbsent(dept.getDeptId(), next) != null) {
+                    continue;
+                }
+                order[next] = dept.getDeptId();
+                parent[next] = parentNo;
+                List<SysDept> siblings = children.getOrDefault(dept.getDeptId(), List.of());
+                // 逆序入栈，出栈时按排序顺序访问
+                for (int i = siblings.size() - 1; i >= 0; i--) {
+                    stack.push(siblings.get(i));
+                    parentStack.push(next);
+                }
+                next++;
+            }
+        }
+
+        // 逆先序累加子树大小：子节点的编号总是大于父节点
+        int[] subtreeSize = new int[size];
+        for (int no = size - 1; no >= 0; no--) {
+            subtreeSize[no]++;
+            if (parent[no] >= 0) {
+                subtreeSize[parent[no]] += subtreeSize[no];
+            }
+        }
+        int[] exit = new int[size];
+        for (int no = 0; no < size; no++) {
+            exit[no] = no + subtreeSize[no] - 1;
+        }
+        return new DeptSubtreeIndex(enter, exit, order);
+    }
+
+    /**
+     * 部门是否在索引中
+     *
+     * @param deptId 部门ID
+     * @return 存在返回 true
+     */
+    public boolean contains(Long deptId) {
+        return deptId != null && enter.containsKey(deptId);
+    }
+
+    /**
+     * 判断 ancestorId 是否为 deptId 的祖先或其本身
+     *
+     * @param ancestorId 祖先部门ID
+     * @param deptId     部门ID
+     * @return 是祖先或同一部门返回 true；任一部门不存在返回 false
+     */
+    public boolean isAncestorOrSelf(Long ancestorId, Long deptId) {
+        Integer ancestorNo = ancestorId != null ? enter.get(ancestorId) : null;
+        Integer deptNo = deptId != null ? enter.get(deptId) : null;
+        return ancestorNo != null && deptNo != null && ancestorNo <= deptNo && deptNo <= exit[ancestorNo];
+    }
+
+    /**
+     * 获取部门子树（含本部门）的全部部门ID
+     * <p>
+     * 结果为先序序列中的连续一段，按先序（同级按排序）排列。
+     * </p>
+     *
+     * @param deptId 部门ID
+     * @return 子树部门ID，部门不存在时返回空数组
+     */
+    public long[] subtreeIds(Long deptId) {
+        Integer no = deptId != null ? enter.get(deptId) : null;
+        if (no == null) {
+            return new long[0];
+        }
+        return Arrays.copyOfRange(order, no, exit[no] + 1);
+    }
+
+    /**
+     * 获取部门子树（含本部门）的部门数量
+     *
+     * @param deptId 部门ID
+     * @return 子树部门数量，部门不存在时返回 0
+     */
+    public int subtreeSize(Long deptId) {
+        Integer no = deptId != null ? enter.get(deptId) : null;
+        return no != null ? exit[no] - no + 1 : 0;
+    }
+
+    /**
+     * 部门总数
+     *
+     * @return 部门总数
+     */
+    public int size() {
+        return order.length;
+    }
+
+    private static Long parentIdOf(SysDept dept) {
+        return dept.getParentId() != null ? dept.getParentId() : ROOT_ID;
+    }
+}
@@ -44,7 +44,7 @@ public class SysDept implements Serializable {
     private Integer deptSort;
 
     @TableField("ancestors")
-    @Schema(description = "祖级路径，格式：/1/2/")
+    @Schema(description = "祖级路径，格式：0/1/2（不含本部门）")
     private String ancestors;
 
     @TableField("parent_id")
@@ -2,6 +2,9 @@ package com.ez.admin.system.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.ez.admin.system.entity.SysDept;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * <p>
@@ -13,4 +16,32 @@ import com.ez.admin.system.entity.SysDept;
  */
 public interface SysDeptMapper extends BaseMapper<SysDept> {
 
+    /**
+     * 查询部门子树（含本部门）的全部部门ID
+     * <p>
+     * 基于祖级路径（ancestors）的前缀范围查询，可以使用 {@code ancestors COLLATE "C"} 索引，
+     * 不再需要 {@code LIKE '%/X/%'} 全表扫描。服务内部优先使用内存中的
+     * {@link com.ez.admin.system.dept.DeptSubtreeIndex}；部门移动时以此方法取得数据库中（事务内可见）的全部下级，
+     * 内存索引在事务提交后才会重建，不能用于同一事务中的写操作。
+     * </p>
+     *
+     * @param deptId 部门ID
+     * @return 子树部门ID列表，部门不存在时返回空列表
+     */
+    List<Long> selectSubtreeDeptIds(@Param("deptId") Long deptId);
+
+    /**
+     * 替换一组部门祖级路径的前缀
+     * <p>
+     * 部门移动后，其全部下级的 ancestors 由 oldPrefix 开头改为 newPrefix 开头。
+     * </p>
+     *
+     * @param deptIds   需要更新的部门ID
+     * @param oldPrefix 原路径前缀（移动部门原来的 ancestors/dept_id）
+     * @param newPrefix 新路径前缀（移动部门新的 ancestors/dept_id）
+     * @return 更新的行数
+     */
+    int updateAncestorsPrefix(@Param("deptIds") Long[] deptIds,
+                              @Param("oldPrefix") String oldPrefix,
+                              @Param("newPrefix") String newPrefix);
 }
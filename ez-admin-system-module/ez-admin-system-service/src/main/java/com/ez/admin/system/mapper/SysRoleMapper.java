@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.ez.admin.system.api.vo.RolePermissionVO;
 import com.ez.admin.system.entity.SysRole;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.util.List;
 
@@ -27,4 +28,26 @@ public interface SysRoleMapper extends BaseMapper<SysRole> {
      * @return 角色权限VO列表
      */
     List<RolePermissionVO> selectAllRolePermissions();
+
+    /**
+     * 以游标方式查询所有角色及其关联的权限标识列表
+     * <p>
+     * 与 {@link #selectAllRolePermissions()} 结果相同，但逐个角色交付，不在堆上聚合全部数据。
+     * 需在事务内遍历并关闭游标。
+     * </p>
+     *
+     * @return 角色权限游标
+     */
+    Cursor<RolePermissionVO> selectAllRolePermissionsCursor();
+
+    /**
+     * 查询角色权限数据的内容版本
+     * <p>
+     * 基于角色表、菜单表、角色菜单关系表的聚合值（最大更新时间、行数、主键和）生成，
+     * 数据未变化时版本不变，用于生成 ETag。
+     * </p>
+     *
+     * @return 内容版本字符串
+     */
+    String selectRolePermissionsVersion();
 }
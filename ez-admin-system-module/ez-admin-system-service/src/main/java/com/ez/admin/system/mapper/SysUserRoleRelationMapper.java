@@ -1,6 +1,7 @@
 package com.ez.admin.system.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.ez.admin.system.api.vo.UserRoleVO;
 import com.ez.admin.system.entity.SysUserRoleRelation;
 import org.apache.ibatis.annotations.Param;
 
@@ -26,4 +27,16 @@ public interface SysUserRoleRelationMapper extends BaseMapper<SysUserRoleRelatio
      * @return 角色ID列表
      */
     List<Long> selectRoleIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * 根据用户ID数组批量查询用户角色
+     * <p>
+     * 使用 {@code user_id = ANY(?::bigint[])} 单参数绑定，SQL 文本与批量大小无关，
+     * 可以被数据库复用执行计划。没有（未删除）角色的用户不会出现在结果中。
+     * </p>
+     *
+     * @param userIds 用户ID数组
+     * @return 用户角色列表，每个用户一条
+     */
+    List<UserRoleVO> selectUserRolesByUserIds(@Param("userIds") Long[] userIds);
 }
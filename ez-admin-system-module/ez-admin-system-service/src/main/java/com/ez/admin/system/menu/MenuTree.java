@@ -0,0 +1,257 @@
+package com.ez.admin.system.menu;
+
+import com.ez.admin.system.api.vo.MenuTreeVO;
+import com.ez.admin.system.entity.SysMenu;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 菜单树快照
+ * <p>
+ * 快照不可变：菜单或角色授权变更时，由 {@link MenuTreeEngine} 基于当前快照派生新快照后整体替换，
+ * 读取方无需加锁。快照包含：
+ * <ul>
+ *   <li>菜单索引：菜单ID -> 菜单（仅正常状态的菜单）</li>
+ *   <li>子节点索引：父级菜单ID -> 子菜单列表，按 menuSort、menuId 升序，顶级菜单的父级ID为 {@value #ROOT_ID}</li>
+ *   <li>角色授权：角色ID -> 菜单ID集合</li>
+ *   <li>裁剪结果缓存：排序去重后的角色ID列表 -> 路由菜单树</li>
+ * </ul>
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+final class MenuTree {
+
+    /**
+     * 顶级菜单的父级菜单ID
+     */
+    static final long ROOT_ID = 0L;
+
+    /**
+     * 菜单类型：按钮（不出现在路由菜单树中）
+     */
+    private static final int MENU_TYPE_BUTTON = 3;
+
+    private static final Comparator<SysMenu> MENU_ORDER = Comparator
+            .comparing(SysMenu::getMenuSort, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(SysMenu::getMenuId);
+
+    private final Map<Long, SysMenu> menus;
+    private final Map<Long, List<SysMenu>> children;
+    private final Map<Long, Set<Long>> roleMenuIds;
+    private final Map<List<Long>, List<MenuTreeVO>> prunedTrees;
+    private final int maxCachedRoleSets;
+
+    private MenuTree(Map<Long, SysMenu> menus,
+                     Map<Long, List<SysMenu>> children,
+                     Map<Long, Set<Long>> roleMenuIds,
+                     Map<List<Long>, List<MenuTreeVO>> prunedTrees,
+                     int maxCachedRoleSets) {
+        this.menus = menus;
+        this.children = children;
+        this.roleMenuIds = roleMenuIds;
+        this.prunedTrees = prunedTrees;
+        this.maxCachedRoleSets = maxCachedRoleSets;
+    }
+
+    /**
+     * 构建菜单树快照
+     * <p>
+     * 一次遍历同时建立菜单索引和子节点索引，再逐个父节点对子菜单排序。
+     * </p>
+     *
+     * @param menus             正常状态的菜单
+     * @param roleMenuIds       角色ID -> 菜单ID集合
+     * @param maxCachedRoleSets 最多缓存的角色组合数，超出后新组合每次现算
+     * @return 菜单树快照
+     */
+    static MenuTree build(Collection<SysMenu> menus, Map<Long, Set<Long>> roleMenuIds, int maxCachedRoleSets) {
+        Map<Long, SysMenu> menuIndex = new HashMap<>(menus.size() * 2);
+        Map<Long, List<SysMenu>> childIndex = new HashMap<>();
+        for (SysMenu menu : menus) {
+            menuIndex.put(menu.getMenuId(), menu);
+            childIndex.computeIfAbsent(parentIdOf(menu), parentId -> new ArrayList<>()).add(menu);
+        }
+        childIndex.replaceAll((parentId, siblings) -> sorted(siblings));
+        return new MenuTree(menuIndex, childIndex, Map.copyOf(roleMenuIds), new ConcurrentHashMap<>(), maxCachedRoleSets);
+    }
+
+    /**
+     * 派生新增或修改了一个菜单后的快照
+     * <p>
+     * 只重排原父节点和新父节点的子菜单列表，其余子节点列表与当前快照共享。
+     * 任何菜单变化都可能改变祖先的可见性，裁剪结果缓存全部失效。
+     * </p>
+     *
+     * @param menu 正常状态的菜单
+     * @return 新快照
+     */
+    MenuTree withMenu(SysMenu menu) {
+        Map<Long, SysMenu> menuIndex = new HashMap<>(menus);
+        Map<Long, List<SysMenu>> childIndex = new HashMap<>(children);
+        SysMenu previous = menuIndex.put(menu.getMenuId(), menu);
+        if (previous != null) {
+            detach(childIndex, previous);
+        }
+        List<SysMenu> siblings = new ArrayList<>(childIndex.getOrDefault(parentIdOf(menu), List.of()));
+        siblings.add(menu);
+        childIndex.put(parentIdOf(menu), sorted(siblings));
+        return new MenuTree(menuIndex, childIndex, roleMenuIds, new ConcurrentHashMap<>(), maxCachedRoleSets);
+    }
+
+    /**
+     * 派生移除了一个菜单（删除或停用）后的快照
+     * <p>
+     * 子菜单保留在索引中，但从顶级菜单已无法到达，不会出现在路由菜单树中。
+     * </p>
+     *
+     * @param menuId 菜单ID
+     * @return 新快照；菜单不在快照中时返回当前快照
+     */
+    MenuTree withoutMenu(Long menuId) {
+        if (!menus.containsKey(menuId)) {
+            return this;
+        }
+        Map<Long, SysMenu> menuIndex = new HashMap<>(menus);
+        Map<Long, List<SysMenu>> childIndex = new HashMap<>(children);
+        detach(childIndex, menuIndex.remove(menuId));
+        return new MenuTree(menuIndex, childIndex, roleMenuIds, new ConcurrentHashMap<>(), maxCachedRoleSets);
+    }
+
+    /**
+     * 派生替换了一个角色授权后的快照
+     * <p>
+     * 不包含该角色的角色组合，其裁剪结果不受影响，缓存保留到新快照。
+     * </p>
+     *
+     * @param roleId  角色ID
+     * @param menuIds 角色当前的菜单ID集合
+     * @return 新快照
+     */
+    MenuTree withRoleMenus(Long roleId, Set<Long> menuIds) {
+        Map<Long, Set<Long>> grants = new HashMap<>(roleMenuIds);
+        if (menuIds.isEmpty()) {
+            grants.remove(roleId);
+        } else {
+            grants.put(roleId, Set.copyOf(menuIds));
+        }
+        Map<List<Long>, List<MenuTreeVO>> retained = new ConcurrentHashMap<>();
+        prunedTrees.forEach((roleKey, tree) -> {
+            if (!roleKey.contains(roleId)) {
+                retained.put(roleKey, tree);
+            }
+        });
+        return new MenuTree(menus, children, Map.copyOf(grants), retained, maxCachedRoleSets);
+    }
+
+    /**
+     * 获取角色组合的路由菜单树
+     *
+     * @param roleKey 排序去重后的角色ID列表
+     * @return 路由菜单树（不可修改）
+     */
+    List<MenuTreeVO> routerTree(List<Long> roleKey) {
+        List<MenuTreeVO> cached = prunedTrees.get(roleKey);
+        if (cached != null) {
+            return cached;
+        }
+        List<MenuTreeVO> tree = prune(roleKey);
+        if (prunedTrees.size() < maxCachedRoleSets) {
+            prunedTrees.putIfAbsent(roleKey, tree);
+        }
+        return tree;
+    }
+
+    int menuCount() {
+        return menus.size();
+    }
+
+    int roleCount() {
+        return roleMenuIds.size();
+    }
+
+    /**
+     * 按角色授权裁剪菜单树
+     * <p>
+     * 授权菜单及其所有祖先可见（只授权了按钮时，按钮所在的菜单和目录也可见）；
+     * 向上标记遇到已可见的节点即停止，每个菜单最多标记一次。
+     * </p>
+     */
+    private List<MenuTreeVO> prune(List<Long> roleKey) {
+        Set<Long> visible = new HashSet<>();
+        for (Long roleId : roleKey) {
+            for (Long menuId : roleMenuIds.getOrDefault(roleId, Set.of())) {
+                SysMenu menu = menus.get(menuId);
+                while (menu != null && visible.add(menu.getMenuId())) {
+                    menu = menus.get(parentIdOf(menu));
+                }
+            }
+        }
+        return toTree(ROOT_ID, visible);
+    }
+
+    private List<MenuTreeVO> toTree(Long parentId, Set<Long> visible) {
+        List<SysMenu> siblings = children.get(parentId);
+        if (siblings == null) {
+            return List.of();
+        }
+        List<MenuTreeVO> nodes = new ArrayList<>(siblings.size());
+        for (SysMenu menu : siblings) {
+            if (!visible.contains(menu.getMenuId()) || isButton(menu)) {
+                continue;
+            }
+            nodes.add(MenuTreeVO.builder()
+                    .menuId(menu.getMenuId())
+                    .parentId(parentIdOf(menu))
+                    .menuName(menu.getMenuName())
+                    .menuIcon(menu.getMenuIcon())
+                    .menuLabel(menu.getMenuLabel())
+                    .menuSort(menu.getMenuSort())
+                    .menuType(menu.getMenuType())
+                    .routePath(menu.getRoutePath())
+                    .routeName(menu.getRouteName())
+                    .componentPath(menu.getComponentPath())
+                    .children(toTree(menu.getMenuId(), visible))
+                    .build());
+        }
+        return List.copyOf(nodes);
+    }
+
+    private static void detach(Map<Long, List<SysMenu>> childIndex, SysMenu menu) {
+        Long parentId = parentIdOf(menu);
+        List<SysMenu> siblings = childIndex.get(parentId);
+        if (siblings == null) {
+            return;
+        }
+        List<SysMenu> remaining = siblings.stream()
+                .filter(sibling -> !sibling.getMenuId().equals(menu.getMenuId()))
+                .toList();
+        if (remaining.isEmpty()) {
+            childIndex.remove(parentId);
+        } else {
+            childIndex.put(parentId, remaining);
+        }
+    }
+
+    private static List<SysMenu> sorted(List<SysMenu> siblings) {
+        siblings.sort(MENU_ORDER);
+        return List.copyOf(siblings);
+    }
+
+    private static Long parentIdOf(SysMenu menu) {
+        return menu.getParentId() != null ? menu.getParentId() : ROOT_ID;
+    }
+
+    private static boolean isButton(SysMenu menu) {
+        return menu.getMenuType() != null && menu.getMenuType() == MENU_TYPE_BUTTON;
+    }
+}
@@ -0,0 +1,187 @@
+package com.ez.admin.system.menu;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.ez.admin.system.api.vo.MenuTreeVO;
+import com.ez.admin.system.entity.SysMenu;
+import com.ez.admin.system.entity.SysRoleMenuRelation;
+import com.ez.admin.system.mapper.SysMenuMapper;
+import com.ez.admin.system.mapper.SysRoleMenuRelationMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 内存菜单树引擎
+ * <p>
+ * 首次使用时一次性加载全部正常状态的菜单和角色菜单关系，在内存中建立 {@link MenuTree} 快照，
+ * 之后按角色组合裁剪出路由菜单树并缓存，查询不再访问数据库。
+ * </p>
+ * <p>
+ * 菜单或角色授权变更后由写入方（{@code SysMenuService} / {@code SysRoleMenuRelationService}）调用
+ * {@link #onMenuChanged(Long)} / {@link #onRoleMenusChanged(Long)}，只重新读取变更的那一个菜单或角色，
+ * 在当前快照上增量派生新快照；处于事务中时推迟到提交之后执行，回滚的变更不会进入快照。
+ * 其他服务实例不会感知本实例的变更，需要时通过 {@code POST /api/v1/system/menu/router-tree/refresh} 全量重建。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MenuTreeEngine {
+
+    /**
+     * 最多缓存的角色组合数
+     */
+    private static final int MAX_CACHED_ROLE_SETS = 1024;
+
+    /**
+     * 菜单状态：正常
+     */
+    private static final int MENU_STATUS_NORMAL = 1;
+
+    private final SysMenuMapper sysMenuMapper;
+    private final SysRoleMenuRelationMapper sysRoleMenuRelationMapper;
+
+    /**
+     * 当前快照，首次使用前为 null
+     */
+    private volatile MenuTree snapshot;
+
+    /**
+     * 获取角色组合的路由菜单树
+     * <p>
+     * 包含角色授权的目录、菜单及其所有上级，不含按钮；同级菜单按 menuSort 升序。
+     * 相同角色组合（与顺序无关）共享同一份缓存结果，返回值不可修改。
+     * </p>
+     *
+     * @param roleIds 角色ID列表
+     * @return 路由菜单树，没有角色时返回空列表
+     */
+    public List<MenuTreeVO> getRouterTree(Collection<Long> roleIds) {
+        if (roleIds == null || roleIds.isEmpty()) {
+            return List.of();
+        }
+        List<Long> roleKey = roleIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toList();
+        return current().routerTree(roleKey);
+    }
+
+    /**
+     * 全量重建菜单树
+     */
+    public synchronized void refresh() {
+        List<SysMenu> menus = sysMenuMapper.selectList(new LambdaQueryWrapper<SysMenu>()
+                .eq(SysMenu::getStatus, MENU_STATUS_NORMAL));
+
+        Map<Long, Set<Long>> roleMenuIds = new HashMap<>();
+        for (SysRoleMenuRelation relation : sysRoleMenuRelationMapper.selectList(null)) {
+            roleMenuIds.computeIfAbsent(relation.getRoleId(), roleId -> new HashSet<>()).add(relation.getMenuId());
+        }
+
+        MenuTree tree = MenuTree.build(menus, roleMenuIds, MAX_CACHED_ROLE_SETS);
+        snapshot = tree;
+        log.info("菜单树构建完成: 菜单数量={}, 角色数量={}", tree.menuCount(), tree.roleCount());
+    }
+
+    /**
+     * 菜单新增、修改、删除或停用后调用
+     * <p>
+     * 重新读取该菜单：仍为正常状态时替换（或新增）到快照中，否则从快照中移除。
+     * 当前线程处于事务中时在事务提交后执行。
+     * </p>
+     *
+     * @param menuId 菜单ID
+     */
+    public void onMenuChanged(Long menuId) {
+        afterCommit(() -> reloadMenu(menuId));
+    }
+
+    /**
+     * 角色的菜单授权变更（或角色删除）后调用
+     * <p>
+     * 重新读取该角色的菜单ID集合，只失效包含该角色的角色组合缓存。
+     * 当前线程处于事务中时在事务提交后执行。
+     * </p>
+     *
+     * @param roleId 角色ID
+     */
+    public void onRoleMenusChanged(Long roleId) {
+        afterCommit(() -> reloadRoleMenus(roleId));
+    }
+
+    private synchronized void reloadMenu(Long menuId) {
+        MenuTree current = snapshot;
+        if (current == null) {
+            // 尚未加载，首次使用时全量加载即可
+            return;
+        }
+        SysMenu menu = sysMenuMapper.selectById(menuId);
+        if (menu != null && Objects.equals(menu.getStatus(), MENU_STATUS_NORMAL)) {
+            snapshot = current.withMenu(menu);
+            log.debug("菜单树增量更新: menuId={}, parentId={}", menuId, menu.getParentId());
+        } else {
+            snapshot = current.withoutMenu(menuId);
+            log.debug("菜单树增量移除: menuId={}", menuId);
+        }
+    }
+
+    private synchronized void reloadRoleMenus(Long roleId) {
+        MenuTree current = snapshot;
+        if (current == null) {
+            return;
+        }
+        Set<Long> menuIds = sysRoleMenuRelationMapper.selectList(new LambdaQueryWrapper<SysRoleMenuRelation>()
+                        .select(SysRoleMenuRelation::getMenuId)
+                        .eq(SysRoleMenuRelation::getRoleId, roleId))
+                .stream()
+                .map(SysRoleMenuRelation::getMenuId)
+                .collect(Collectors.toSet());
+        snapshot = current.withRoleMenus(roleId, menuIds);
+        log.debug("角色菜单授权增量更新: roleId={}, 菜单数量={}", roleId, menuIds.size());
+    }
+
+    /**
+     * 事务提交后执行，没有事务时立即执行
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private MenuTree current() {
+        MenuTree current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+}
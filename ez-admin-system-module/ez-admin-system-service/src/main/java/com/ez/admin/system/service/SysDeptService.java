@@ -1,19 +1,199 @@
 package com.ez.admin.system.service;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.ez.admin.core.enums.BusinessErrorCode;
+import com.ez.admin.core.exception.BusinessException;
+import com.ez.admin.system.datascope.DataScopeContext;
+import com.ez.admin.system.dept.DeptIndexEngine;
 import com.ez.admin.system.entity.SysDept;
+import com.ez.admin.system.entity.SysUser;
 import com.ez.admin.system.mapper.SysDeptMapper;
+import com.ez.admin.system.mapper.SysUserMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
 
 /**
  * <p>
  * 部门信息表 服务类
  * </p>
+ * <p>
+ * 部门的写操作统一经过本类：维护祖级路径（ancestors），写入后通知 {@link DeptIndexEngine} 重建子树索引。
+ * </p>
+ * <p>
+ * 修改、删除受当前用户的数据范围约束（范围之外的部门视为不存在）；新增和移动时上级部门同样必须在数据范围内。
+ * 下级路径同步等维护完整性的写入不受数据范围限制。
+ * </p>
  *
  * @author ez-admin
  * @since 2026-01-21
  */
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class SysDeptService extends ServiceImpl<SysDeptMapper, SysDept> {
 
+    /**
+     * 顶级部门的上级ID及祖级路径
+     */
+    private static final long ROOT_PARENT_ID = 0L;
+    private static final String ROOT_ANCESTORS = "0";
+
+    /**
+     * 祖级路径分隔符
+     */
+    private static final String ANCESTORS_SEPARATOR = "/";
+
+    private final DeptIndexEngine deptIndexEngine;
+    private final SysUserMapper sysUserMapper;
+
+    /**
+     * 判断部门是否为另一部门的上级（或同一部门）
+     *
+     * @param ancestorId 上级部门ID
+     * @param deptId     部门ID
+     * @return 是上级或同一部门返回 true
+     */
+    public boolean isAncestorOrSelf(Long ancestorId, Long deptId) {
+        return deptIndexEngine.current().isAncestorOrSelf(ancestorId, deptId);
+    }
+
+    /**
+     * 查询部门及其全部下级部门的ID
+     *
+     * @param deptId 部门ID
+     * @return 子树部门ID，部门不存在时返回空数组
+     */
+    public long[] getSubtreeDeptIds(Long deptId) {
+        return deptIndexEngine.current().subtreeIds(deptId);
+    }
+
+    /**
+     * 新增部门
+     * <p>
+     * 祖级路径按上级部门生成，调用方无需填写。
+     * </p>
+     *
+     * @param dept 部门，parentId 为空或 0 时为顶级部门
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void createDept(SysDept dept) {
+        dept.setAncestors(ancestorsUnder(dept.getParentId()));
+        if (dept.getParentId() == null) {
+            dept.setParentId(ROOT_PARENT_ID);
+        }
+        save(dept);
+        deptIndexEngine.onDeptChanged();
+        log.info("新增部门: deptId={}, parentId={}", dept.getDeptId(), dept.getParentId());
+    }
+
+    /**
+     * 修改部门
+     * <p>
+     * 上级部门变化时视为移动：重新生成本部门的祖级路径，并同步改写全部下级的路径前缀。
+     * 不能移动到自身或自身的下级之下。
+     * </p>
+     *
+     * @param dept 部门，deptId 必填；parentId 为空表示不移动
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void updateDept(SysDept dept) {
+        SysDept existing = getById(dept.getDeptId());
+        if (existing == null) {
+            throw new BusinessException(BusinessErrorCode.DATA_NOT_FOUND);
+        }
+
+        boolean moved = dept.getParentId() != null && !Objects.equals(dept.getParentId(), existing.getParentId());
+        if (moved) {
+            move(existing, dept);
+        } else {
+            // 祖级路径只由移动维护
+            dept.setAncestors(null);
+        }
+        if (!updateById(dept)) {
+            throw new BusinessException(BusinessErrorCode.DATA_NOT_FOUND);
+        }
+        deptIndexEngine.onDeptChanged();
+        log.info("修改部门: deptId={}, 是否移动={}", dept.getDeptId(), moved);
+    }
+
+    /**
+     * 删除部门
+     *
+     * @param deptId 部门ID
+     * @throws BusinessException 部门下存在子部门或用户
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void deleteDept(Long deptId) {
+        // 完整性校验必须看到全部下级部门和用户，不受当前用户的数据范围限制
+        boolean hasChildren = DataScopeContext.ignore(() ->
+                getBaseMapper().exists(new LambdaQueryWrapper<SysDept>().eq(SysDept::getParentId, deptId)));
+        if (hasChildren) {
+            throw new BusinessException(BusinessErrorCode.DEPT_HAS_CHILDREN);
+        }
+        boolean hasUsers = DataScopeContext.ignore(() ->
+                sysUserMapper.exists(new LambdaQueryWrapper<SysUser>().eq(SysUser::getDeptId, deptId)));
+        if (hasUsers) {
+            throw new BusinessException(BusinessErrorCode.DEPT_HAS_USERS);
+        }
+        if (!removeById(deptId)) {
+            throw new BusinessException(BusinessErrorCode.DATA_NOT_FOUND);
+        }
+        deptIndexEngine.onDeptChanged();
+        log.info("删除部门: deptId={}", deptId);
+    }
+
+    /**
+     * 移动部门：生成新的祖级路径，改写全部下级的路径前缀
+     * <p>
+     * 下级部门从数据库中按路径范围查询（{@link SysDeptMapper#selectSubtreeDeptIds(Long)}），
+     * 而不是内存索引：索引在事务提交后才重建，同一事务中连续移动时会过期。
+     * </p>
+     */
+    private void move(SysDept existing, SysDept dept) {
+        Long deptId = existing.getDeptId();
+        Long parentId = dept.getParentId();
+        // 子树含本部门
+        List<Long> subtreeIds = DataScopeContext.ignore(() -> getBaseMapper().selectSubtreeDeptIds(deptId));
+        if (subtreeIds.contains(parentId)) {
+            throw new BusinessException(BusinessErrorCode.BAD_REQUEST, "不能将部门移动到自身或下级部门之下");
+        }
+
+        String ancestors = ancestorsUnder(parentId);
+        dept.setAncestors(ancestors);
+
+        List<Long> descendantIds = subtreeIds.stream()
+                .filter(id -> !Objects.equals(id, deptId))
+                .toList();
+        if (!descendantIds.isEmpty()) {
+            // 下级路径必须全部同步，不受当前用户的数据范围限制
+            int updated = DataScopeContext.ignore(() -> getBaseMapper().updateAncestorsPrefix(
+                    descendantIds.toArray(Long[]::new),
+                    existing.getAncestors() + ANCESTORS_SEPARATOR + deptId,
+                    ancestors + ANCESTORS_SEPARATOR + deptId));
+            log.debug("部门移动，同步下级祖级路径: deptId={}, 下级数量={}, 更新行数={}", deptId, descendantIds.size(), updated);
+        }
+    }
+
+    /**
+     * 生成指定上级部门下的祖级路径
+     * <p>
+     * 上级部门按当前用户的数据范围查询，不能在范围之外的部门下新增或移入部门。
+     * </p>
+     */
+    private String ancestorsUnder(Long parentId) {
+        if (parentId == null || parentId == ROOT_PARENT_ID) {
+            return ROOT_ANCESTORS;
+        }
+        SysDept parent = getById(parentId);
+        if (parent == null) {
+            throw new BusinessException(BusinessErrorCode.DATA_NOT_FOUND, "上级部门不存在");
+        }
+        return parent.getAncestors() + ANCESTORS_SEPARATOR + parent.getDeptId();
+    }
 }
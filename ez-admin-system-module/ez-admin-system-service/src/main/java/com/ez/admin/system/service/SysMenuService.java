@@ -1,19 +1,136 @@
 package com.ez.admin.system.service;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.ez.admin.core.enums.BusinessErrorCode;
+import com.ez.admin.core.exception.BusinessException;
+import com.ez.admin.system.api.vo.MenuTreeVO;
 import com.ez.admin.system.entity.SysMenu;
+import com.ez.admin.system.entity.SysRole;
 import com.ez.admin.system.mapper.SysMenuMapper;
+import com.ez.admin.system.mapper.SysRoleMapper;
+import com.ez.admin.system.menu.MenuTreeEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
 
 /**
  * <p>
  * 菜单信息表 服务类
  * </p>
+ * <p>
+ * 菜单的写操作统一经过本类，写入后通知 {@link MenuTreeEngine} 增量更新内存菜单树。
+ * </p>
  *
  * @author ez-admin
  * @since 2026-01-21
  */
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class SysMenuService extends ServiceImpl<SysMenuMapper, SysMenu> {
 
+    /**
+     * 角色状态：正常
+     */
+    private static final int ROLE_STATUS_NORMAL = 1;
+
+    private final MenuTreeEngine menuTreeEngine;
+    private final SysRoleMapper sysRoleMapper;
+
+    /**
+     * 查询角色组合的路由菜单树
+     * <p>
+     * 先过滤掉已停用或已删除的角色，再由 {@link MenuTreeEngine} 在内存中按角色裁剪并缓存。
+     * </p>
+     *
+     * @param roleIds 角色ID列表
+     * @return 路由菜单树
+     */
+    public List<MenuTreeVO> getRouterTree(List<Long> roleIds) {
+        log.debug("查询路由菜单树: roleIds={}", roleIds);
+        List<Long> activeRoleIds = activeRoleIds(roleIds);
+        if (activeRoleIds.size() < roleIds.size()) {
+            log.debug("忽略已停用或已删除的角色: 请求={}, 有效={}", roleIds, activeRoleIds);
+        }
+        return menuTreeEngine.getRouterTree(activeRoleIds);
+    }
+
+    /**
+     * 新增菜单
+     *
+     * @param menu 菜单
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void createMenu(SysMenu menu) {
+        save(menu);
+        menuTreeEngine.onMenuChanged(menu.getMenuId());
+        log.info("新增菜单: menuId={}, menuName={}", menu.getMenuId(), menu.getMenuName());
+    }
+
+    /**
+     * 修改菜单（含启用 / 停用）
+     *
+     * @param menu 菜单，menuId 必填
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void updateMenu(SysMenu menu) {
+        if (!updateById(menu)) {
+            throw new BusinessException(BusinessErrorCode.DATA_NOT_FOUND);
+        }
+        menuTreeEngine.onMenuChanged(menu.getMenuId());
+        log.info("修改菜单: menuId={}", menu.getMenuId());
+    }
+
+    /**
+     * 删除菜单
+     *
+     * @param menuId 菜单ID
+     * @throws BusinessException 菜单下存在子菜单
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void deleteMenu(Long menuId) {
+        if (getBaseMapper().exists(new LambdaQueryWrapper<SysMenu>().eq(SysMenu::getParentId, menuId))) {
+            throw new BusinessException(BusinessErrorCode.MENU_HAS_CHILDREN);
+        }
+        if (!removeById(menuId)) {
+            throw new BusinessException(BusinessErrorCode.DATA_NOT_FOUND);
+        }
+        menuTreeEngine.onMenuChanged(menuId);
+        log.info("删除菜单: menuId={}", menuId);
+    }
+
+    /**
+     * 全量重建内存菜单树
+     * <p>
+     * 用于其他服务实例或直接改库后同步本实例的菜单树。
+     * </p>
+     */
+    public void refreshRouterTree() {
+        menuTreeEngine.refresh();
+    }
+
+    /**
+     * 过滤出正常状态的角色（逻辑删除的角色由 MyBatis-Plus 自动排除）
+     */
+    private List<Long> activeRoleIds(List<Long> roleIds) {
+        List<Long> distinctIds = roleIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+        return sysRoleMapper.selectList(new LambdaQueryWrapper<SysRole>()
+                        .select(SysRole::getRoleId)
+                        .in(SysRole::getRoleId, distinctIds)
+                        .eq(SysRole::getStatus, ROLE_STATUS_NORMAL))
+                .stream()
+                .map(SysRole::getRoleId)
+                .toList();
+    }
 }
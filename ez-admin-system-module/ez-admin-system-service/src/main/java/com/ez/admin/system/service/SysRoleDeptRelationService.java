@@ -1,19 +1,64 @@
 package com.ez.admin.system.service;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.ez.admin.system.datascope.DataScopeResolver;
 import com.ez.admin.system.entity.SysRoleDeptRelation;
 import com.ez.admin.system.mapper.SysRoleDeptRelationMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * <p>
  * 角色部门关联表 服务类
  * </p>
+ * <p>
+ * 角色自定义数据范围（部门集合）的写操作统一经过本类，写入后通知 {@link DataScopeResolver} 失效数据范围缓存。
+ * </p>
  *
  * @author ez-admin
  * @since 2026-01-21
  */
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class SysRoleDeptRelationService extends ServiceImpl<SysRoleDeptRelationMapper, SysRoleDeptRelation> {
 
+    private final ObjectProvider<DataScopeResolver> dataScopeResolver;
+
+    /**
+     * 覆盖角色的自定义数据范围部门
+     * <p>
+     * 删除角色原有的全部部门后写入新的部门集合，传入空集合即清空。
+     * </p>
+     *
+     * @param roleId  角色ID
+     * @param deptIds 部门ID集合
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void assignRoleDepts(Long roleId, Collection<Long> deptIds) {
+        remove(new LambdaQueryWrapper<SysRoleDeptRelation>().eq(SysRoleDeptRelation::getRoleId, roleId));
+        List<SysRoleDeptRelation> relations = deptIds == null ? List.of() : deptIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(deptId -> {
+                    SysRoleDeptRelation relation = new SysRoleDeptRelation();
+                    relation.setRoleId(roleId);
+                    relation.setDeptId(deptId);
+                    return relation;
+                })
+                .toList();
+        if (!relations.isEmpty()) {
+            saveBatch(relations);
+        }
+        dataScopeResolver.ifAvailable(DataScopeResolver::onRolesChanged);
+        log.info("角色数据范围部门已更新: roleId={}, 部门数量={}", roleId, relations.size());
+    }
 }
@@ -1,19 +1,63 @@
 package com.ez.admin.system.service;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.ez.admin.system.entity.SysRoleMenuRelation;
 import com.ez.admin.system.mapper.SysRoleMenuRelationMapper;
+import com.ez.admin.system.menu.MenuTreeEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * <p>
  * 角色菜单关联表 服务类
  * </p>
+ * <p>
+ * 角色菜单授权的写操作统一经过本类，写入后通知 {@link MenuTreeEngine} 增量更新内存菜单树。
+ * </p>
  *
  * @author ez-admin
  * @since 2026-01-21
  */
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class SysRoleMenuRelationService extends ServiceImpl<SysRoleMenuRelationMapper, SysRoleMenuRelation> {
 
+    private final MenuTreeEngine menuTreeEngine;
+
+    /**
+     * 覆盖角色的菜单授权
+     * <p>
+     * 删除角色原有的全部授权后写入新的菜单集合，传入空集合即清空授权。
+     * </p>
+     *
+     * @param roleId  角色ID
+     * @param menuIds 菜单ID集合
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void assignRoleMenus(Long roleId, Collection<Long> menuIds) {
+        remove(new LambdaQueryWrapper<SysRoleMenuRelation>().eq(SysRoleMenuRelation::getRoleId, roleId));
+        List<SysRoleMenuRelation> relations = menuIds == null ? List.of() : menuIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(menuId -> {
+                    SysRoleMenuRelation relation = new SysRoleMenuRelation();
+                    relation.setRoleId(roleId);
+                    relation.setMenuId(menuId);
+                    return relation;
+                })
+                .toList();
+        if (!relations.isEmpty()) {
+            saveBatch(relations);
+        }
+        menuTreeEngine.onRoleMenusChanged(roleId);
+        log.info("角色菜单授权已更新: roleId={}, 菜单数量={}", roleId, relations.size());
+    }
 }
@@ -1,19 +1,33 @@
 package com.ez.admin.system.service;
 
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.ez.admin.core.enums.BusinessErrorCode;
+import com.ez.admin.core.exception.BusinessException;
 import com.ez.admin.system.api.vo.RolePermissionVO;
+import com.ez.admin.system.datascope.DataScopeResolver;
 import com.ez.admin.system.entity.SysRole;
 import com.ez.admin.system.mapper.SysRoleMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * <p>
  * 角色信息表 服务类
  * </p>
+ * <p>
+ * 角色的修改、删除经过本类，写入后通知 {@link DataScopeResolver} 失效数据范围缓存（角色的数据范围和状态参与解析）。
+ * </p>
  *
  * @author ez-admin
  * @since 2026-01-21
@@ -24,6 +38,37 @@ import java.util.List;
 public class SysRoleService extends ServiceImpl<SysRoleMapper, SysRole> {
 
     private final SysRoleMapper sysRoleMapper;
+    private final ObjectProvider<DataScopeResolver> dataScopeResolver;
+
+    /**
+     * 修改角色
+     *
+     * @param role 角色，roleId 必填
+     * @throws BusinessException 角色不存在
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void updateRole(SysRole role) {
+        if (!updateById(role)) {
+            throw new BusinessException(BusinessErrorCode.DATA_NOT_FOUND);
+        }
+        dataScopeResolver.ifAvailable(DataScopeResolver::onRolesChanged);
+        log.info("修改角色: roleId={}", role.getRoleId());
+    }
+
+    /**
+     * 删除角色
+     *
+     * @param roleId 角色ID
+     * @throws BusinessException 角色不存在
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void deleteRole(Long roleId) {
+        if (!removeById(roleId)) {
+            throw new BusinessException(BusinessErrorCode.DATA_NOT_FOUND);
+        }
+        dataScopeResolver.ifAvailable(DataScopeResolver::onRolesChanged);
+        log.info("删除角色: roleId={}", roleId);
+    }
 
     /**
      * 查询所有角色及其关联的权限标识列表
@@ -37,4 +82,44 @@ public class SysRoleService extends ServiceImpl<SysRoleMapper, SysRole> {
         log.debug("查询所有角色及其权限标识列表");
         return sysRoleMapper.selectAllRolePermissions();
     }
+
+    /**
+     * 逐个角色遍历所有角色及其权限标识列表
+     * <p>
+     * 基于 MyBatis 游标，角色按 role_id 顺序逐个交给 consumer，内存占用与角色总数无关。
+     * 游标需要在只读事务内保持数据库连接，consumer 执行期间（如写响应流）连接不会释放。
+     * </p>
+     *
+     * @param consumer 角色权限消费者
+     * @return 遍历的角色数量
+     */
+    @Transactional(readOnly = true)
+    public int streamAllRolePermissions(Consumer<RolePermissionVO> consumer) {
+        log.debug("游标遍历所有角色及其权限标识列表");
+        int count = 0;
+        try (Cursor<RolePermissionVO> cursor = sysRoleMapper.selectAllRolePermissionsCursor()) {
+            for (RolePermissionVO rolePermission : cursor) {
+                consumer.accept(rolePermission);
+                count++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+
+    /**
+     * 计算所有角色权限数据的 ETag
+     * <p>
+     * 对 {@link SysRoleMapper#selectRolePermissionsVersion()} 返回的内容版本取 MD5，
+     * 数据未变化时 ETag 保持不变，调用方可据此发起条件请求。
+     * </p>
+     *
+     * @return 带双引号的强 ETag，如 "5d41402abc4b2a76b9719d911017c592"
+     */
+    public String getRolePermissionsETag() {
+        String version = sysRoleMapper.selectRolePermissionsVersion();
+        log.debug("角色权限内容版本: {}", version);
+        return "\"" + DigestUtils.md5DigestAsHex(String.valueOf(version).getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
 }
@@ -1,18 +1,34 @@
 package com.ez.admin.system.service;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.ez.admin.core.enums.BusinessErrorCode;
+import com.ez.admin.core.exception.BusinessException;
+import com.ez.admin.system.api.feign.SystemUserFeignClient;
+import com.ez.admin.system.api.vo.UserRoleVO;
+import com.ez.admin.system.datascope.DataScopeResolver;
 import com.ez.admin.system.entity.SysUserRoleRelation;
 import com.ez.admin.system.mapper.SysUserRoleRelationMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * <p>
  * 用户角色关联表 服务类
  * </p>
+ * <p>
+ * 用户角色分配的写操作统一经过本类，写入后通知 {@link DataScopeResolver} 失效该用户的数据范围缓存。
+ * </p>
  *
  * @author ez-admin
  * @since 2026-01-21
@@ -22,12 +38,48 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SysUserRoleRelationService extends ServiceImpl<SysUserRoleRelationMapper, SysUserRoleRelation> {
 
+    /**
+     * 批量查询时单条 SQL 绑定的最大用户数
+     */
+    private static final int QUERY_CHUNK_SIZE = 500;
+
     private final SysUserRoleRelationMapper sysUserRoleRelationMapper;
+    private final ObjectProvider<DataScopeResolver> dataScopeResolver;
+
+    /**
+     * 覆盖用户的角色分配
+     * <p>
+     * 删除用户原有的全部角色后写入新的角色集合，传入空集合即清空角色。
+     * </p>
+     *
+     * @param userId  用户ID
+     * @param roleIds 角色ID集合
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void assignUserRoles(Long userId, Collection<Long> roleIds) {
+        remove(new LambdaQueryWrapper<SysUserRoleRelation>().eq(SysUserRoleRelation::getUserId, userId));
+        List<SysUserRoleRelation> relations = roleIds == null ? List.of() : roleIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(roleId -> {
+                    SysUserRoleRelation relation = new SysUserRoleRelation();
+                    relation.setUserId(userId);
+                    relation.setRoleId(roleId);
+                    return relation;
+                })
+                .toList();
+        if (!relations.isEmpty()) {
+            saveBatch(relations);
+        }
+        dataScopeResolver.ifAvailable(resolver -> resolver.onUserRolesChanged(userId));
+        log.info("用户角色分配已更新: userId={}, 角色数量={}", userId, relations.size());
+    }
 
     /**
      * 根据用户ID查询角色ID列表
      * <p>
      * 供 IAM 服务在用户登录时调用，用于缓存用户-角色关系。
+     * 只返回未删除的角色。
      * </p>
      *
      * @param userId 用户ID
@@ -37,4 +89,51 @@ public class SysUserRoleRelationService extends ServiceImpl<SysUserRoleRelationM
         log.debug("查询用户角色列表: userId={}", userId);
         return sysUserRoleRelationMapper.selectRoleIdsByUserId(userId);
     }
+
+    /**
+     * 批量查询用户角色信息
+     * <p>
+     * 用户ID去重后按 {@value #QUERY_CHUNK_SIZE} 个一组分片查询，每片一条 SQL；
+     * 单次请求的用户数不能超过 {@value SystemUserFeignClient#USER_ROLES_BATCH_MAX_SIZE}。
+     * 没有角色的用户也会返回，角色列表为空；只返回未删除的角色。
+     * </p>
+     *
+     * @param userIds 用户ID列表
+     * @return 用户ID -> 用户角色信息（按请求中的用户ID顺序）
+     * @throws BusinessException 用户数超过单次上限（{@link BusinessErrorCode#BAD_REQUEST}）
+     */
+    public Map<Long, UserRoleVO> getUserRolesBatch(List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> distinctIds = userIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (distinctIds.size() > SystemUserFeignClient.USER_ROLES_BATCH_MAX_SIZE) {
+            throw new BusinessException(BusinessErrorCode.BAD_REQUEST, "单次最多查询 "
+                    + SystemUserFeignClient.USER_ROLES_BATCH_MAX_SIZE + " 个用户的角色");
+        }
+        log.debug("批量查询用户角色列表: 用户数量={}", distinctIds.size());
+
+        Map<Long, UserRoleVO> found = new HashMap<>(distinctIds.size() * 2);
+        for (int from = 0; from < distinctIds.size(); from += QUERY_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + QUERY_CHUNK_SIZE, distinctIds.size()));
+            for (UserRoleVO userRole : sysUserRoleRelationMapper.selectUserRolesByUserIds(chunk.toArray(Long[]::new))) {
+                found.put(userRole.getUserId(), userRole);
+            }
+        }
+
+        // 按请求顺序输出，没有角色的用户补空列表
+        Map<Long, UserRoleVO> result = new LinkedHashMap<>(distinctIds.size() * 2);
+        for (Long userId : distinctIds) {
+            UserRoleVO userRole = found.get(userId);
+            result.put(userId, userRole != null ? userRole : UserRoleVO.builder()
+                    .userId(userId)
+                    .roleIds(List.of())
+                    .roleLabels(List.of())
+                    .build());
+        }
+        return result;
+    }
 }
@@ -2,6 +2,7 @@ package com.ez.admin.system.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.ez.admin.system.datascope.DataScopeContext;
 import com.ez.admin.system.entity.SysUser;
 import com.ez.admin.system.mapper.SysUserMapper;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +28,7 @@ public class SysUserService extends ServiceImpl<SysUserMapper, SysUser> {
      *   <li>用户名匹配</li>
      *   <li>未删除（is_deleted = 0）</li>
      * </ul>
+     * 用于登录认证，此时还没有操作用户，查询不受数据范围限制。
      * </p>
      *
      * @param username 用户名
@@ -39,6 +41,6 @@ public class SysUserService extends ServiceImpl<SysUserMapper, SysUser> {
         queryWrapper.eq(SysUser::getUsername, username);
         // MyBatis-Plus 的 @TableLogic 注解会自动处理 is_deleted 条件
 
-        return baseMapper.selectOne(queryWrapper);
+        return DataScopeContext.ignore(() -> baseMapper.selectOne(queryWrapper));
     }
 }
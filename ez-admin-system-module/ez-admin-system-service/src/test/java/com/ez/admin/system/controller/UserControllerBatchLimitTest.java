@@ -0,0 +1,98 @@
+package com.ez.admin.system.controller;
+
+import com.ez.admin.core.enums.BusinessErrorCode;
+import com.ez.admin.core.exception.ExceptionLogLimiter;
+import com.ez.admin.core.exception.GlobalExceptionHandler;
+import com.ez.admin.system.api.feign.SystemUserFeignClient;
+import com.ez.admin.system.api.vo.UserRoleVO;
+import com.ez.admin.system.datascope.DataScopeResolver;
+import com.ez.admin.system.mapper.SysUserRoleRelationMapper;
+import com.ez.admin.system.service.SysRoleService;
+import com.ez.admin.system.service.SysUserRoleRelationService;
+import com.ez.admin.system.service.SysUserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+/**
+ * 批量查询用户角色的单次上限测试
+ * <p>
+ * 经全局异常处理器返回，确认超出 {@value SystemUserFeignClient#USER_ROLES_BATCH_MAX_SIZE} 个用户的请求
+ * 得到 {@link BusinessErrorCode#BAD_REQUEST}（而不是系统内部错误），且不会查询数据库。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+class UserControllerBatchLimitTest {
+
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+    private SysUserRoleRelationMapper userRoleRelationMapper;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        userRoleRelationMapper = mock(SysUserRoleRelationMapper.class);
+        when(userRoleRelationMapper.selectUserRolesByUserIds(any())).thenReturn(List.of(
+                UserRoleVO.builder().userId(1L).roleIds(List.of(10L)).roleLabels(List.of("admin")).build()));
+
+        SysUserRoleRelationService userRoleRelationService = new SysUserRoleRelationService(userRoleRelationMapper,
+                new StaticListableBeanFactory().getBeanProvider(DataScopeResolver.class));
+        UserController controller = new UserController(mock(SysUserService.class),
+                userRoleRelationService, mock(SysRoleService.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler(
+                        new ExceptionLogLimiter(Duration.ofMinutes(1), 5, 1000, null)))
+                .setMessageConverters(new JacksonJsonHttpMessageConverter(MAPPER))
+                .build();
+    }
+
+    @Test
+    void oversizedBatchIsRejectedAsBadRequest() throws Exception {
+        List<Long> userIds = LongStream.rangeClosed(1, SystemUserFeignClient.USER_ROLES_BATCH_MAX_SIZE + 1)
+                .boxed()
+                .toList();
+
+        mockMvc.perform(post("/api/v1/system/user/roles/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MAPPER.writeValueAsString(userIds)))
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.code").value(BusinessErrorCode.BAD_REQUEST.getCode()))
+                .andExpect(jsonPath("$.message").value("单次最多查询 "
+                        + SystemUserFeignClient.USER_ROLES_BATCH_MAX_SIZE + " 个用户的角色"));
+
+        verify(userRoleRelationMapper, never()).selectUserRolesByUserIds(any());
+    }
+
+    @Test
+    void batchAtLimitIsQueried() throws Exception {
+        List<Long> userIds = LongStream.rangeClosed(1, SystemUserFeignClient.USER_ROLES_BATCH_MAX_SIZE)
+                .boxed()
+                .toList();
+
+        mockMvc.perform(post("/api/v1/system/user/roles/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MAPPER.writeValueAsString(userIds)))
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data['1'].roleIds[0]").value(10))
+                .andExpect(jsonPath("$.data['2'].roleIds").isEmpty());
+    }
+}
@@ -0,0 +1,57 @@
+package com.ez.admin.system.datascope;
+
+import com.ez.admin.core.auth.InternalCallAuthenticator;
+import com.ez.admin.core.constant.HttpHeaderConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 数据范围过滤器测试
+ * <p>
+ * 确认只有携带正确内部调用凭证的请求才能通过 {@value HttpHeaderConstants#USER_ID} 指定当前用户，
+ * 只带内部调用标记的请求无法冒充用户。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+class DataScopeFilterTest {
+
+    private static final String SECRET = "test-internal-secret";
+
+    private final DataScopeFilter filter = new DataScopeFilter(new InternalCallAuthenticator(SECRET));
+
+    @Test
+    void authenticatedInternalCallSetsCurrentUser() throws Exception {
+        assertThat(currentUserFor(request(SECRET))).isEqualTo(7L);
+        assertThat(DataScopeContext.currentUserId()).isNull();
+    }
+
+    @Test
+    void internalFlagWithoutValidTokenIsIgnored() throws Exception {
+        assertThat(currentUserFor(request(null))).isNull();
+        assertThat(currentUserFor(request("forged"))).isNull();
+    }
+
+    private Long currentUserFor(MockHttpServletRequest request) throws Exception {
+        AtomicReference<Long> captured = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> captured.set(DataScopeContext.currentUserId()));
+        return captured.get();
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/system/user/roles");
+        request.addHeader(HttpHeaderConstants.INTERNAL_CALL, "true");
+        request.addHeader(HttpHeaderConstants.USER_ID, "7");
+        if (token != null) {
+            request.addHeader(HttpHeaderConstants.INTERNAL_TOKEN, token);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,122 @@
+package com.ez.admin.system.datascope;
+
+import com.ez.admin.system.config.DataScopeProperties;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.RoutingStatementHandler;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 数据范围 SQL 拦截器测试
+ * <p>
+ * 覆盖修改、删除语句按当前用户的数据范围追加条件（参数插入到正确位置），
+ * 没有当前用户时改不到任何行，以及不按部门归属的表、忽略状态和新增语句保持原样。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+class DataScopeInnerInterceptorTest {
+
+    private static final long USER_ID = 7L;
+
+    private final Configuration configuration = new Configuration();
+    private DataScopeInnerInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        DataScopeProperties properties = new DataScopeProperties();
+        DataScopeProperties.Table userTable = new DataScopeProperties.Table();
+        userTable.setUserColumn("user_id");
+        properties.getTables().put("ez_admin_sys_user", userTable);
+        properties.getTables().put("ez_admin_sys_dept", new DataScopeProperties.Table());
+
+        DataScopeResolver resolver = mock(DataScopeResolver.class);
+        when(resolver.resolve(USER_ID)).thenReturn(new DataScope(false, null, new Long[]{1L, 2L}));
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("dataScopeResolver", resolver);
+        interceptor = new DataScopeInnerInterceptor(properties, beanFactory.getBeanProvider(DataScopeResolver.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        DataScopeContext.clear();
+    }
+
+    @Test
+    void updateIsRestrictedToUserScope() {
+        DataScopeContext.set(USER_ID);
+        StatementHandler handler = handler(SqlCommandType.UPDATE,
+                "UPDATE ez_admin_sys_user SET nick_name = ? WHERE user_id = ? AND is_deleted = 0", "nickName", "userId");
+
+        interceptor.beforePrepare(handler, null, null);
+
+        BoundSql boundSql = handler.getBoundSql();
+        assertThat(boundSql.getSql()).endsWith("AND ez_admin_sys_user.dept_id = ANY(?::bigint[])");
+        assertThat(boundSql.getParameterMappings()).extracting(ParameterMapping::getProperty)
+                .hasSize(3)
+                .startsWith("nickName", "userId");
+        assertThat((Long[]) boundSql.getAdditionalParameter(boundSql.getParameterMappings().get(2).getProperty()))
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    void deleteWithoutCurrentUserMatchesNothing() {
+        StatementHandler handler = handler(SqlCommandType.DELETE,
+                "DELETE FROM ez_admin_sys_dept WHERE dept_id = ?", "deptId");
+
+        interceptor.beforePrepare(handler, null, null);
+
+        assertThat(handler.getBoundSql().getSql()).endsWith("AND 1 = 0");
+    }
+
+    @Test
+    void unscopedTablesIgnoredStatementsAndInsertsAreUnchanged() {
+        DataScopeContext.set(USER_ID);
+        String roleUpdate = "UPDATE ez_admin_sys_role SET data_scope = ? WHERE role_id = ?";
+        StatementHandler roleHandler = handler(SqlCommandType.UPDATE, roleUpdate, "dataScope", "roleId");
+        interceptor.beforePrepare(roleHandler, null, null);
+        assertThat(roleHandler.getBoundSql().getSql()).isEqualTo(roleUpdate);
+
+        String deptUpdate = "UPDATE ez_admin_sys_dept SET ancestors = ? WHERE dept_id = ?";
+        StatementHandler ignoredHandler = handler(SqlCommandType.UPDATE, deptUpdate, "ancestors", "deptId");
+        DataScopeContext.ignore(() -> {
+            interceptor.beforePrepare(ignoredHandler, null, null);
+            return null;
+        });
+        assertThat(ignoredHandler.getBoundSql().getSql()).isEqualTo(deptUpdate);
+
+        String insert = "INSERT INTO ez_admin_sys_dept (dept_id, dept_name) VALUES (?, ?)";
+        StatementHandler insertHandler = handler(SqlCommandType.INSERT, insert, "deptId", "deptName");
+        interceptor.beforePrepare(insertHandler, null, null);
+        assertThat(insertHandler.getBoundSql().getSql()).isEqualTo(insert);
+    }
+
+    private StatementHandler handler(SqlCommandType commandType, String sql, String... properties) {
+        List<ParameterMapping> mappings = Arrays.stream(properties)
+                .map(property -> new ParameterMapping.Builder(configuration, property, Object.class).build())
+                .toList();
+        MappedStatement ms = new MappedStatement.Builder(configuration,
+                "com.ez.fixture.ProbeMapper." + commandType.name().toLowerCase(),
+                new StaticSqlSource(configuration, sql, mappings), commandType).build();
+        BoundSql boundSql = new BoundSql(configuration, sql, mappings, null);
+        return new RoutingStatementHandler(mock(Executor.class), ms, null, RowBounds.DEFAULT, null, boundSql);
+    }
+}
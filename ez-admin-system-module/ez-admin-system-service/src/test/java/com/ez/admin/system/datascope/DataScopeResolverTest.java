@@ -0,0 +1,86 @@
+package com.ez.admin.system.datascope;
+
+import com.ez.admin.system.config.DataScopeProperties;
+import com.ez.admin.system.dept.DeptIndexEngine;
+import com.ez.admin.system.entity.SysUser;
+import com.ez.admin.system.mapper.SysRoleDeptRelationMapper;
+import com.ez.admin.system.mapper.SysRoleMapper;
+import com.ez.admin.system.mapper.SysUserMapper;
+import com.ez.admin.system.mapper.SysUserRoleRelationMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 用户数据范围解析器测试
+ * <p>
+ * 覆盖解析结果的缓存，以及角色相关的写操作在事务提交之后（而不是之前）失效缓存。
+ * </p>
+ *
+ * @author ez-admin
+ * @since 2026-01-22
+ */
+class DataScopeResolverTest {
+
+    private static final long USER_ID = 7L;
+
+    private SysUserMapper sysUserMapper;
+    private DataScopeResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        sysUserMapper = mock(SysUserMapper.class);
+        SysUser user = new SysUser();
+        user.setUserId(USER_ID);
+        when(sysUserMapper.selectById(USER_ID)).thenReturn(user);
+        SysUserRoleRelationMapper sysUserRoleRelationMapper = mock(SysUserRoleRelationMapper.class);
+        when(sysUserRoleRelationMapper.selectRoleIdsByUserId(USER_ID)).thenReturn(List.of());
+
+        resolver = new DataScopeResolver(new DataScopeProperties(), mock(DeptIndexEngine.class), sysUserMapper,
+                sysUserRoleRelationMapper, mock(SysRoleMapper.class), mock(SysRoleDeptRelationMapper.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void userRolesChangeEvictsAfterCommit() {
+        resolver.resolve(USER_ID);
+        resolver.resolve(USER_ID);
+        verify(sysUserMapper, times(1)).selectById(USER_ID);
+
+        TransactionSynchronizationManager.initSynchronization();
+        resolver.onUserRolesChanged(USER_ID);
+        // 提交之前仍使用缓存
+        resolver.resolve(USER_ID);
+        verify(sysUserMapper, times(1)).selectById(USER_ID);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        resolver.resolve(USER_ID);
+        verify(sysUserMapper, times(2)).selectById(USER_ID);
+    }
+
+    @Test
+    void rolesChangeOutsideTransactionEvictsImmediately() {
+        resolver.resolve(USER_ID);
+
+        resolver.onRolesChanged();
+        resolver.resolve(USER_ID);
+
+        verify(sysUserMapper, times(2)).selectById(USER_ID);
+    }
+}
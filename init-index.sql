@@ -0,0 +1,13 @@
+-- =============================================
+-- Ez-Admin 查询索引初始化脚本
+-- 数据库: PostgreSQL
+-- 说明: 业务查询依赖的附加索引，可重复执行
+-- =============================================
+
+-- =============================================
+-- 1. 部门祖级路径索引 (ez_admin_sys_dept.ancestors)
+-- 按字节序（COLLATE "C"）建立 B-Tree 索引，部门子树查询
+-- 以 ancestors 前缀范围 [P, P || '0') 过滤，可走索引范围扫描（见 SysDeptMapper.selectSubtreeDeptIds）
+-- =============================================
+CREATE INDEX IF NOT EXISTS idx_ez_admin_sys_dept_ancestors
+    ON ez_admin_sys_dept (ancestors COLLATE "C");